@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.model.algorithm.CohortDataAlgorithm;
+import com.muzima.api.model.algorithm.ObservationAlgorithm;
+import com.muzima.api.model.algorithm.PatientAlgorithm;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.util.StreamUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the streaming deserialization of the algorithms against the json path based reading the algorithms
+ * used to do, where every field lookup parses the whole document again and every nested object is turned back
+ * into string to be parsed by the child algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AlgorithmBenchmark {
+
+    private static final String JSON_ROOT = "/com/muzima/api/service/json/";
+
+    @Param({"1000"})
+    private int cohortSize;
+
+    private String patientJson;
+    private String observationJson;
+    private String cohortDataJson;
+
+    private PatientAlgorithm patientAlgorithm;
+    private ObservationAlgorithm observationAlgorithm;
+    private CohortDataAlgorithm cohortDataAlgorithm;
+
+    @Setup
+    public void setUp() throws IOException {
+        patientJson = readResource("patient/TestariusKunguPaul.json");
+        observationJson = readResource("observation/coded_observation.json");
+        cohortDataJson = createCohortData(patientJson, cohortSize);
+        patientAlgorithm = new PatientAlgorithm();
+        observationAlgorithm = new ObservationAlgorithm();
+        cohortDataAlgorithm = new CohortDataAlgorithm();
+    }
+
+    @Benchmark
+    public Searchable jsonPathPatient() throws IOException {
+        return JsonPathReader.readPatient(patientJson);
+    }
+
+    @Benchmark
+    public Searchable streamingPatient() throws IOException {
+        return patientAlgorithm.deserialize(patientJson);
+    }
+
+    @Benchmark
+    public Searchable jsonPathObservation() throws IOException {
+        return JsonPathReader.readObservation(observationJson);
+    }
+
+    @Benchmark
+    public Searchable streamingObservation() throws IOException {
+        return observationAlgorithm.deserialize(observationJson);
+    }
+
+    @Benchmark
+    public Searchable jsonPathCohortData() throws IOException {
+        return JsonPathReader.readCohortData(cohortDataJson);
+    }
+
+    @Benchmark
+    public Searchable streamingCohortData() throws IOException {
+        return cohortDataAlgorithm.deserialize(cohortDataJson);
+    }
+
+    /**
+     * Create static cohort data document with the same patient repeated as every member of the cohort.
+     */
+    static String createCohortData(final String patientJson, final int size) {
+        String cohortJson = "{\"uuid\":\"0ca78602-737f-408d-8ced-386ad12367db\",\"name\":\"Benchmark Cohort\"}";
+        StringBuilder builder = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(",");
+            }
+            builder.append("{\"cohort\":").append(cohortJson).append(",\"patient\":").append(patientJson).append("}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    static String readResource(final String name) throws IOException {
+        InputStreamReader reader = new InputStreamReader(
+                AlgorithmBenchmark.class.getResourceAsStream(JSON_ROOT + name), "UTF-8");
+        try {
+            return StreamUtil.readAsString(reader);
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the micro benchmarks. Run them with:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java [-Dexec.args="AlgorithmBenchmark"]
+ * </pre>
+ * The optional argument is a regular expression selecting the benchmarks to run.
+ */
+public class BenchmarkRunner {
+
+    public static void main(final String[] args) throws RunnerException {
+        String include = "com\\.muzima\\.api\\..*Benchmark.*";
+        if (args.length > 0) {
+            include = args[0];
+        }
+        Options options = new OptionsBuilder()
+                .include(include)
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+        new Runner(options).run();
+    }
+}
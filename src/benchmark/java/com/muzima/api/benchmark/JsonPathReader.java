@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortData;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Concept;
+import com.muzima.api.model.ConceptName;
+import com.muzima.api.model.ConceptType;
+import com.muzima.api.model.Encounter;
+import com.muzima.api.model.EncounterType;
+import com.muzima.api.model.Location;
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.api.model.PatientIdentifier;
+import com.muzima.api.model.PatientIdentifierType;
+import com.muzima.api.model.Person;
+import com.muzima.api.model.PersonAttribute;
+import com.muzima.api.model.PersonAttributeType;
+import com.muzima.api.model.PersonName;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.JsonUtils;
+
+import java.util.List;
+
+/**
+ * The json path based deserialization as it was done by the algorithms before they were moved to the streaming
+ * parser. Every field is read with its own json path expression and every nested object is turned back into
+ * string before it is handed to the next reader. Kept here only as the baseline for the benchmarks.
+ */
+final class JsonPathReader {
+
+    private JsonPathReader() {
+    }
+
+    static Patient readPatient(final String serialized) {
+        Patient patient = new Patient();
+        patient.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        patient.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
+        patient.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
+        patient.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
+        for (Object personNameObject : JsonUtils.readAsObjectList(serialized, "$['names']")) {
+            patient.addName(readPersonName(String.valueOf(personNameObject)));
+        }
+        for (Object identifierObject : JsonUtils.readAsObjectList(serialized, "$['identifiers']")) {
+            patient.addIdentifier(readPatientIdentifier(String.valueOf(identifierObject)));
+        }
+        for (Object attributeObject : JsonUtils.readAsObjectList(serialized, "$['attributes']")) {
+            patient.addattribute(readPersonAttribute(String.valueOf(attributeObject)));
+        }
+        return patient;
+    }
+
+    static Observation readObservation(final String serialized) {
+        Observation observation = new Observation();
+        observation.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        observation.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
+        observation.setObservationDatetime(JsonUtils.readAsDateTime(serialized, "$['obsDatetime']"));
+        observation.setValueText(JsonUtils.readAsString(serialized, "$['valueText']"));
+        observation.setValueNumeric(JsonUtils.readAsNumeric(serialized, "$['valueNumeric']"));
+        observation.setValueDatetime(JsonUtils.readAsDateTime(serialized, "$['valueDatetime']"));
+        Object valueCodedObject = JsonUtils.readAsObject(serialized, "$['valueCoded']");
+        observation.setValueCoded(readConcept(String.valueOf(valueCodedObject)));
+        Object encounterObject = JsonUtils.readAsObject(serialized, "$['encounter']");
+        observation.setEncounter(readEncounter(String.valueOf(encounterObject)));
+        Object conceptObject = JsonUtils.readAsObject(serialized, "$['concept']");
+        observation.setConcept(readConcept(String.valueOf(conceptObject)));
+        Object personObject = JsonUtils.readAsObject(serialized, "$['person']");
+        observation.setPerson(readPerson(String.valueOf(personObject)));
+        return observation;
+    }
+
+    static CohortData readCohortData(final String serialized) {
+        CohortData cohortData = new CohortData();
+        Cohort cohort = new Cohort();
+        List<Object> cohortObjects = JsonPath.read(serialized, "$['results'][*]['cohort']");
+        for (Object cohortObject : cohortObjects) {
+            cohort = readCohort(String.valueOf(cohortObject));
+            if (!StringUtil.isEmpty(cohort.getUuid()) && !StringUtil.isEmpty(cohort.getName())) {
+                break;
+            }
+        }
+        cohortData.setCohort(cohort);
+        List<Object> patientObjects = JsonPath.read(serialized, "$['results'][*]['patient']");
+        for (Object patientObject : patientObjects) {
+            Patient patient = readPatient(String.valueOf(patientObject));
+            cohortData.addCohortMember(new CohortMember(cohort, patient));
+            cohortData.addPatient(patient);
+        }
+        return cohortData;
+    }
+
+    private static Cohort readCohort(final String serialized) {
+        Cohort cohort = new Cohort();
+        cohort.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        cohort.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
+        cohort.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        cohort.setDynamic(JsonUtils.readAsBoolean(serialized, "$['dynamic']"));
+        return cohort;
+    }
+
+    private static Person readPerson(final String serialized) {
+        Person person = new Person();
+        person.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        person.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
+        person.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
+        for (Object personNameObject : JsonUtils.readAsObjectList(serialized, "$['names']")) {
+            person.addName(readPersonName(String.valueOf(personNameObject)));
+        }
+        return person;
+    }
+
+    private static PersonName readPersonName(final String serialized) {
+        PersonName personName = new PersonName();
+        personName.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        personName.setGivenName(JsonUtils.readAsString(serialized, "$['givenName']"));
+        personName.setMiddleName(JsonUtils.readAsString(serialized, "$['middleName']"));
+        personName.setFamilyName(JsonUtils.readAsString(serialized, "$['familyName']"));
+        personName.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
+        return personName;
+    }
+
+    private static PatientIdentifier readPatientIdentifier(final String serialized) {
+        PatientIdentifier patientIdentifier = new PatientIdentifier();
+        patientIdentifier.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        patientIdentifier.setIdentifier(JsonUtils.readAsString(serialized, "$['identifier']"));
+        patientIdentifier.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
+        String identifierTypeObject = String.valueOf(JsonUtils.readAsObject(serialized, "$['identifierType']"));
+        PatientIdentifierType identifierType = new PatientIdentifierType();
+        identifierType.setUuid(JsonUtils.readAsString(identifierTypeObject, "$['uuid']"));
+        identifierType.setName(JsonUtils.readAsString(identifierTypeObject, "$['name']"));
+        patientIdentifier.setIdentifierType(identifierType);
+        return patientIdentifier;
+    }
+
+    private static PersonAttribute readPersonAttribute(final String serialized) {
+        PersonAttribute personAttribute = new PersonAttribute();
+        personAttribute.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        personAttribute.setAttribute(JsonUtils.readAsString(serialized, "$['hydratedObject']"));
+        String attributeTypeObject = String.valueOf(JsonUtils.readAsObject(serialized, "$['attributeType']"));
+        PersonAttributeType attributeType = new PersonAttributeType();
+        attributeType.setUuid(JsonUtils.readAsString(attributeTypeObject, "$['uuid']"));
+        attributeType.setName(JsonUtils.readAsString(attributeTypeObject, "$['name']"));
+        personAttribute.setAttributeType(attributeType);
+        return personAttribute;
+    }
+
+    private static Concept readConcept(final String serialized) {
+        Concept concept = new Concept();
+        concept.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        concept.setUnit(JsonUtils.readAsString(serialized, "$['units']"));
+        concept.setPrecise(JsonUtils.readAsBoolean(serialized, "$['precise']"));
+        String conceptTypeObject = String.valueOf(JsonUtils.readAsObject(serialized, "$['datatype']"));
+        ConceptType conceptType = new ConceptType();
+        conceptType.setUuid(JsonUtils.readAsString(conceptTypeObject, "$['uuid']"));
+        conceptType.setName(JsonUtils.readAsString(conceptTypeObject, "$['name']"));
+        concept.setConceptType(conceptType);
+        for (Object conceptNameObject : JsonUtils.readAsObjectList(serialized, "$['names']")) {
+            String conceptNameString = String.valueOf(conceptNameObject);
+            ConceptName conceptName = new ConceptName();
+            conceptName.setUuid(JsonUtils.readAsString(conceptNameString, "$['uuid']"));
+            conceptName.setName(JsonUtils.readAsString(conceptNameString, "$['name']"));
+            conceptName.setPreferred(JsonUtils.readAsBoolean(conceptNameString, "$['localePreferred']"));
+            concept.addName(conceptName);
+        }
+        return concept;
+    }
+
+    private static Encounter readEncounter(final String serialized) {
+        Encounter encounter = new Encounter();
+        encounter.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
+        encounter.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
+        encounter.setEncounterDatetime(JsonUtils.readAsDateTime(serialized, "$['encounterDatetime']"));
+        encounter.setFormDataUuid(JsonUtils.readAsString(serialized, "$['formDataUuid']"));
+        encounter.setPatient(readPatient(String.valueOf(JsonUtils.readAsObject(serialized, "$['patient']"))));
+        encounter.setProvider(readPerson(String.valueOf(JsonUtils.readAsObject(serialized, "$['provider']"))));
+        String locationObject = String.valueOf(JsonUtils.readAsObject(serialized, "$['location']"));
+        Location location = new Location();
+        location.setUuid(JsonUtils.readAsString(locationObject, "$['uuid']"));
+        location.setName(JsonUtils.readAsString(locationObject, "$['name']"));
+        location.setId(JsonUtils.readAsInteger(locationObject, "$['id']"));
+        encounter.setLocation(location);
+        String encounterTypeObject = String.valueOf(JsonUtils.readAsObject(serialized, "$['encounterType']"));
+        EncounterType encounterType = new EncounterType();
+        encounterType.setUuid(JsonUtils.readAsString(encounterTypeObject, "$['uuid']"));
+        encounterType.setName(JsonUtils.readAsString(encounterTypeObject, "$['name']"));
+        encounter.setEncounterType(encounterType);
+        return encounter;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.muzima.api.config.Configuration;
+import com.muzima.api.model.Privilege;
+import com.muzima.api.model.Role;
+import com.muzima.api.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the per call cost of the authorization check done before every <code>@Authorization</code> method, reading
+ * the active user of the current thread directly and through the shared context, against creating a new context the
+ * way the check used to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorizationBenchmark {
+
+    private static final String[] PRIVILEGES = {"View Cohort Privilege"};
+
+    private Context context;
+
+    @Setup
+    public void setUp() throws Exception {
+        Privilege privilege = new Privilege();
+        privilege.setName("View Cohort Privilege");
+        Role role = new Role();
+        role.setName("Provider");
+        role.add(privilege);
+        User user = new User();
+        user.setUsername("admin");
+        user.setRoles(Arrays.asList(role));
+
+        Configuration configuration = new Configuration();
+        configuration.configure("admin", "test", "http://localhost:8080/openmrs");
+        UserContext userContext = new UserContext(user);
+        userContext.setConfiguration(configuration);
+
+        context = ContextFactory.getContext();
+        context.setUserContext(userContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.closeSession();
+    }
+
+    @Benchmark
+    public boolean currentUserAuthorization() {
+        return Context.isCurrentUserAuthorized(PRIVILEGES);
+    }
+
+    @Benchmark
+    public boolean sharedContextAuthorization() throws Exception {
+        return ContextFactory.getContext().isAuthorized(PRIVILEGES);
+    }
+
+    @Benchmark
+    public boolean createdContextAuthentication() throws Exception {
+        return ContextFactory.createContext().isAuthenticated();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.resolver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a request against a local https stub server using one ssl socket factory for every request, the way the
+ * resolvers share it now, against creating the ssl context for every request the way the resolvers used to do.
+ * The jvm only reuses keep-alive https connections created with the same socket factory, so the second benchmark
+ * pays for loading the key material and a full tls handshake on every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeepAliveBenchmark {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private static final byte[] RESPONSE = "{\"results\":[]}".getBytes();
+
+    private File keyStoreFile;
+
+    private HttpsServer server;
+
+    private ExecutorService executor;
+
+    private SSLSocketFactory socketFactory;
+
+    private URL url;
+
+    private final byte[] buffer = new byte[1024];
+
+    @Setup
+    public void setUp() throws Exception {
+        keyStoreFile = File.createTempFile("keep-alive", ".jks");
+        keyStoreFile.delete();
+        createKeyStore(keyStoreFile);
+
+        // small responses otherwise wait for the delayed ack of the client, hiding the cost being measured.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getByName("localhost"), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(createContext()));
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, RESPONSE.length);
+                OutputStream outputStream = exchange.getResponseBody();
+                outputStream.write(RESPONSE);
+                outputStream.close();
+            }
+        });
+        executor = Executors.newFixedThreadPool(2);
+        server.setExecutor(executor);
+        server.start();
+
+        socketFactory = createContext().getSocketFactory();
+        url = new URL("https://localhost:" + server.getAddress().getPort() + "/ws/rest/v1/muzima/obs");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+        keyStoreFile.delete();
+    }
+
+    @Benchmark
+    public int sharedSocketFactory() throws Exception {
+        return request(socketFactory);
+    }
+
+    @Benchmark
+    public int socketFactoryPerRequest() throws Exception {
+        return request(createContext().getSocketFactory());
+    }
+
+    private int request(final SSLSocketFactory socketFactory) throws IOException {
+        HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+        connection.setSSLSocketFactory(socketFactory);
+        connection.setRequestProperty("Authorization", "Basic YWRtaW46dGVzdA==");
+        InputStream inputStream = connection.getInputStream();
+        int length = 0;
+        try {
+            // read the whole response, otherwise the connection can't go back to the keep-alive cache.
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                length += read;
+            }
+        } finally {
+            inputStream.close();
+        }
+        return length;
+    }
+
+    /**
+     * Create the ssl context from the key store file, used by the server for its certificate and by the client to
+     * trust that certificate.
+     */
+    private SSLContext createContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        FileInputStream inputStream = new FileInputStream(keyStoreFile);
+        try {
+            keyStore.load(inputStream, PASSWORD);
+        } finally {
+            inputStream.close();
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+        TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    private static void createKeyStore(final File file) throws Exception {
+        String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "stub",
+                "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=localhost", "-ext", "san=dns:localhost,ip:127.0.0.1",
+                "-storetype", "JKS", "-keystore", file.getAbsolutePath(),
+                "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD))
+                .redirectErrorStream(true)
+                .start();
+        InputStream inputStream = process.getInputStream();
+        try {
+            while (inputStream.read() != -1) {
+                // drain the keytool output.
+            }
+        } finally {
+            inputStream.close();
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException("Unable to create the key store for the stub server.");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.service;
+
+import com.muzima.api.context.Context;
+import com.muzima.api.context.ContextFactory;
+import com.muzima.api.server.OpenmrsStubServer;
+import com.muzima.api.server.SyntheticDataSet;
+import com.muzima.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a full sync, from the download through the parsing to the indexing, against the embedded stub server
+ * instead of a real openmrs server. Every iteration syncs into an empty lucene repository, and prints the sync
+ * report together with the number of objects saved per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SyncBenchmark {
+
+    @Param({"5"})
+    private int cohortCount;
+
+    @Param({"200"})
+    private int patientsPerCohort;
+
+    @Param({"0", "50"})
+    private long latency;
+
+    @Param({"0"})
+    private long bandwidth;
+
+    private SyntheticDataSet dataSet;
+
+    private OpenmrsStubServer server;
+
+    private Context context;
+
+    private File repository;
+
+    private SyncReport report;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSet = new SyntheticDataSet(cohortCount, patientsPerCohort, 5, 4, 10);
+        server = new OpenmrsStubServer(dataSet);
+        server.setLatency(latency);
+        server.setBandwidth(bandwidth);
+        server.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Setup(Level.Iteration)
+    public void openRepository() throws Exception {
+        repository = new File(System.getProperty("java.io.tmpdir"), "muzima/" + UUID.randomUUID().toString());
+        ContextFactory.setProperty(Constants.LUCENE_DIRECTORY_PATH, repository.getAbsolutePath());
+        context = ContextFactory.createContext();
+        context.openSession();
+        context.authenticate("admin", "test", server.getUrl(), true, false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRepository() throws Exception {
+        if (report != null) {
+            int count = report.getCount(SyncReport.Stage.INDEX);
+            System.out.println(report + ", " + (count * 1000L / Math.max(report.getWallTime(), 1)) + " objects/s");
+        }
+        context.closeSession();
+        delete(repository);
+    }
+
+    @Benchmark
+    public SyncReport synchronize() throws Exception {
+        report = context.getSyncService().synchronize(dataSet.getCohortUuids(), dataSet.getConceptUuids());
+        return report;
+    }
+
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
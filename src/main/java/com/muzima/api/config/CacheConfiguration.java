@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.config;
+
+import com.muzima.api.model.Concept;
+import com.muzima.api.model.Form;
+import com.muzima.api.model.Location;
+import com.muzima.api.model.Provider;
+import com.muzima.api.model.User;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of the object cache used by the dao when getting object by the uuid. Only the object types enabled
+ * in this configuration will be cached, each of them in a cache holding at most the capacity number of objects.
+ * <p/>
+ * The cache of an object type is shared by every dao of the type, and every caller reads its own copy of the cached
+ * object. Only objects changed through the daos are removed from the cache, so only enable the cache for object types
+ * that are not changed in the lucene repository by other means.
+ */
+public class CacheConfiguration {
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private int capacity;
+
+    private final Set<Class<?>> enabledTypes;
+
+    public CacheConfiguration() {
+        this.capacity = DEFAULT_CAPACITY;
+        this.enabledTypes = new HashSet<Class<?>>();
+        // reference data which will be read over and over while rendering forms.
+        enabledTypes.add(Concept.class);
+        enabledTypes.add(Location.class);
+        enabledTypes.add(Provider.class);
+        enabledTypes.add(User.class);
+        enabledTypes.add(Form.class);
+    }
+
+    /**
+     * Get the maximum number of objects held in the cache of each object type.
+     *
+     * @return the maximum number of objects held in the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set the maximum number of objects held in the cache of each object type.
+     *
+     * @param capacity the maximum number of objects held in the cache.
+     */
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Check whether objects of the type should be cached.
+     *
+     * @param type the object type.
+     * @return true when objects of the type should be cached.
+     */
+    public boolean isEnabled(final Class<?> type) {
+        return capacity > 0 && enabledTypes.contains(type);
+    }
+
+    /**
+     * Enable or disable caching objects of the type.
+     *
+     * @param type    the object type.
+     * @param enabled whether objects of the type should be cached.
+     */
+    public void setEnabled(final Class<?> type, final boolean enabled) {
+        if (enabled) {
+            enabledTypes.add(type);
+        } else {
+            enabledTypes.remove(type);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.muzima.util.Constants;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TODO: move this to model because we need to persist it between use.
@@ -20,6 +21,8 @@ public class Configuration {
 
     private Map<String, String> registry;
 
+    private final AtomicInteger version = new AtomicInteger();
+
     public Configuration() {
         registry = new HashMap<String, String>();
     }
@@ -37,6 +40,16 @@ public class Configuration {
         setServer(server);
     }
 
+    /**
+     * Get the version of this configuration. The version changes every time the server or the credentials change,
+     * so anything computed from the configuration can be cached until the version changes.
+     *
+     * @return the version of this configuration.
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
     /**
      * Get the base url of the openmrs server.
      *
@@ -53,6 +66,7 @@ public class Configuration {
      */
     public void setServer(final String server) {
         registry.put(Constants.CONNECTION_SERVER, server);
+        version.incrementAndGet();
     }
 
     /**
@@ -71,6 +85,7 @@ public class Configuration {
      */
     public void setUsername(final String username) {
         registry.put(Constants.CONNECTION_USERNAME, username);
+        version.incrementAndGet();
     }
 
     /**
@@ -89,5 +104,6 @@ public class Configuration {
      */
     public void setPassword(final String password) {
         registry.put(Constants.CONNECTION_PASSWORD, password);
+        version.incrementAndGet();
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.config;
+
+/**
+ * Configuration of the chunked downloads. Large downloads will be split into chunks holding at most the chunk size
+ * number of patients and concepts, and the chunks will be downloaded by at most the thread count number of threads.
+ * Downloads needing one request per object, such as the numeric concept details, use the same thread count.
+ */
+public class DownloadConfiguration {
+
+    public static final int DEFAULT_PATIENT_CHUNK_SIZE = 100;
+
+    public static final int DEFAULT_CONCEPT_CHUNK_SIZE = 50;
+
+    public static final int DEFAULT_THREAD_COUNT = 4;
+
+    private int patientChunkSize;
+
+    private int conceptChunkSize;
+
+    private int threadCount;
+
+    public DownloadConfiguration() {
+        this.patientChunkSize = DEFAULT_PATIENT_CHUNK_SIZE;
+        this.conceptChunkSize = DEFAULT_CONCEPT_CHUNK_SIZE;
+        this.threadCount = DEFAULT_THREAD_COUNT;
+    }
+
+    /**
+     * Get the maximum number of patients requested in a single download request.
+     *
+     * @return the maximum number of patients in a single request.
+     */
+    public int getPatientChunkSize() {
+        return patientChunkSize;
+    }
+
+    /**
+     * Set the maximum number of patients requested in a single download request.
+     *
+     * @param patientChunkSize the maximum number of patients in a single request.
+     */
+    public void setPatientChunkSize(final int patientChunkSize) {
+        this.patientChunkSize = Math.max(patientChunkSize, 1);
+    }
+
+    /**
+     * Get the maximum number of concepts requested in a single download request.
+     *
+     * @return the maximum number of concepts in a single request.
+     */
+    public int getConceptChunkSize() {
+        return conceptChunkSize;
+    }
+
+    /**
+     * Set the maximum number of concepts requested in a single download request.
+     *
+     * @param conceptChunkSize the maximum number of concepts in a single request.
+     */
+    public void setConceptChunkSize(final int conceptChunkSize) {
+        this.conceptChunkSize = Math.max(conceptChunkSize, 1);
+    }
+
+    /**
+     * Get the maximum number of download requests running at the same time.
+     *
+     * @return the maximum number of concurrent download requests.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Set the maximum number of download requests running at the same time.
+     *
+     * @param threadCount the maximum number of concurrent download requests.
+     */
+    public void setThreadCount(final int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.config;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of the resources downloaded with conditional requests. The responses of the enabled resources will
+ * be kept on the disk, and downloading the same resource again will only transfer the response when the server has
+ * a newer version of it. No resource is enabled by default, enable them with the
+ * <code>Constants.HTTP_CACHE_RESOURCES</code> property of the <code>ContextFactory</code>.
+ * <p/>
+ * Enabling a resource only saves the transfer of unchanged responses: the cached response is still parsed and saved
+ * again, and every response of the enabled resources is written to the disk. The responses are written unencrypted
+ * under the lucene repository directory, so the conditional requests are not used while the lucene repository is
+ * encrypted. Only enable the resources of data which rarely change on the server, on slow or metered connections.
+ */
+public class HttpCacheConfiguration {
+
+    private final Set<String> enabledResources;
+
+    public HttpCacheConfiguration() {
+        this.enabledResources = new HashSet<String>();
+    }
+
+    /**
+     * Check whether the resource should be downloaded with conditional requests when the repository is not
+     * encrypted.
+     *
+     * @param resource the resource name.
+     * @return true when the resource should be downloaded with conditional requests.
+     */
+    public boolean isEnabled(final String resource) {
+        return enabledResources.contains(resource);
+    }
+
+    /**
+     * Enable or disable downloading the resource with conditional requests.
+     *
+     * @param resource the resource name.
+     * @param enabled  whether the resource should be downloaded with conditional requests.
+     */
+    public void setEnabled(final String resource, final boolean enabled) {
+        if (enabled) {
+            enabledResources.add(resource);
+        } else {
+            enabledResources.remove(resource);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.config;
+
+/**
+ * Configuration of the bulk writes. Objects will be written into the index in batches holding at most the batch size
+ * number of objects, each batch is saved with a single call to the search api.
+ */
+public class IngestConfiguration {
+
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private int batchSize;
+
+    public IngestConfiguration() {
+        this.batchSize = DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Get the maximum number of objects written into the index with a single call to the search api.
+     *
+     * @return the maximum number of objects in a single batch.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximum number of objects written into the index with a single call to the search api.
+     *
+     * @param batchSize the maximum number of objects in a single batch.
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+}
@@ -15,11 +15,13 @@ import com.muzima.api.model.User;
 import com.muzima.api.service.CohortService;
 import com.muzima.api.service.EncounterService;
 import com.muzima.api.service.FormService;
+import com.muzima.api.service.IngestService;
 import com.muzima.api.service.LastSyncTimeService;
 import com.muzima.api.service.LocationService;
 import com.muzima.api.service.MuzimaInterface;
 import com.muzima.api.service.ObservationService;
 import com.muzima.api.service.PatientService;
+import com.muzima.api.service.SyncService;
 import com.muzima.api.service.UserService;
 import com.muzima.search.api.context.ServiceContext;
 import com.muzima.search.api.exception.ServiceException;
@@ -31,6 +33,7 @@ import com.muzima.search.api.resource.Resource;
 import com.muzima.search.api.resource.ResourceConstants;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
+import com.muzima.util.TransferStatistics;
 import org.apache.lucene.queryParser.ParseException;
 
 import java.io.ByteArrayInputStream;
@@ -184,7 +187,7 @@ public class Context {
         return userContextHolder.get();
     }
 
-    private void setUserContext(final UserContext userContext) {
+    void setUserContext(final UserContext userContext) {
         userContextHolder.set(userContext);
     }
 
@@ -268,7 +271,31 @@ public class Context {
         return getUserContext().isAuthenticated();
     }
 
-    private Injector getInjector() throws IOException {
+    /**
+     * Check whether the active user of the current thread have at least one of the privileges. Unlike the other
+     * user related methods, this will not fail when there's no open session.
+     *
+     * @param privileges the names of the privileges.
+     * @return true when the current thread have active user with one of the privileges.
+     */
+    public boolean isAuthorized(final String[] privileges) {
+        return isCurrentUserAuthorized(privileges);
+    }
+
+    /**
+     * Check whether the active user of the current thread have at least one of the privileges, without a context.
+     * The active user is held per thread and not per context, so the check doesn't need to create or get a context.
+     *
+     * @param privileges the names of the privileges.
+     * @return true when the current thread have active user with one of the privileges.
+     * @see #isAuthorized(String[])
+     */
+    public static boolean isCurrentUserAuthorized(final String[] privileges) {
+        UserContext userContext = userContextHolder.get();
+        return userContext != null && userContext.hasAnyPrivilege(privileges);
+    }
+
+    Injector getInjector() throws IOException {
         if (injector == null)
             throw new IOException("Guice is not properly started. We need Guice to wire up the API.");
         return injector;
@@ -287,6 +314,16 @@ public class Context {
         return getInjector().getInstance(serviceClass);
     }
 
+    /**
+     * Get the number of bytes transferred by the requests made directly by the muzima-api.
+     *
+     * @return the transfer statistics.
+     * @throws IOException when the injector unable to find registered class.
+     */
+    public TransferStatistics getTransferStatistics() throws IOException {
+        return getInjector().getInstance(TransferStatistics.class);
+    }
+
     /**
      * Get the cohort service to perform operation related to the cohort object.
      *
@@ -366,4 +403,24 @@ public class Context {
     public LocationService getLocationService() throws IOException {
         return getService(LocationService.class);
     }
+
+    /**
+     * Get the sync service to download everything needed by the device in a single call.
+     *
+     * @return the sync service class.
+     * @throws IOException when the system unable to find the correct service object.
+     */
+    public SyncService getSyncService() throws IOException {
+        return getService(SyncService.class);
+    }
+
+    /**
+     * Get the ingest service to save large number of downloaded objects.
+     *
+     * @return the ingest service class.
+     * @throws IOException when the system unable to find the correct service object.
+     */
+    public IngestService getIngestService() throws IOException {
+        return getService(IngestService.class);
+    }
 }
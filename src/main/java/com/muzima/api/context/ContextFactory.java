@@ -31,6 +31,10 @@ public class ContextFactory {
 
     private static final List<Module> modules = new ArrayList<Module>();
 
+    private static volatile int configurationVersion;
+
+    private static volatile SharedContext sharedContext;
+
     static {
         // override this property to match the location of your resource configurations.
         String resourcePath = "../service/j2l/config.json";
@@ -42,7 +46,8 @@ public class ContextFactory {
         parameters.put(Constants.LUCENE_ENCRYPTION_KEY, "this-is-supposed-to-be-a-secure-key");
         parameters.put(Constants.LUCENE_DIRECTORY_PATH, lucenePath.toString());
         parameters.put(Constants.LUCENE_DEFAULT_FIELD, "uuid");
-        parameters.put(Constants.LUCENE_USE_ENCRYPTION, true);
+        // the repository was never encrypted before this property was applied, keep reading existing repositories.
+        parameters.put(Constants.LUCENE_USE_ENCRYPTION, false);
     }
 
     /**
@@ -51,8 +56,9 @@ public class ContextFactory {
      * @param property      the property name.
      * @param propertyValue the property value.
      */
-    public static void setProperty(final String property, final String propertyValue) {
+    public static synchronized void setProperty(final String property, final String propertyValue) {
         parameters.put(property, propertyValue);
+        configurationVersion++;
     }
 
     /**
@@ -76,7 +82,7 @@ public class ContextFactory {
      *
      * @return copy of the properties with the values from the context's properties as the default.
      */
-    public static Map<String, Object> getProperties() {
+    public static synchronized Map<String, Object> getProperties() {
         return new HashMap<String, Object>(parameters);
     }
 
@@ -86,8 +92,9 @@ public class ContextFactory {
      *
      * @param module the module to be registered.
      */
-    public static void registerModule(final Module module) {
+    public static synchronized void registerModule(final Module module) {
         modules.add(module);
+        configurationVersion++;
     }
 
     /**
@@ -96,6 +103,17 @@ public class ContextFactory {
      * * Constants.LUCENE_DIRECTORY_PATH
      * * Constants.LUCENE_DEFAULT_FIELD
      * * Constants.RESOURCE_CONFIGURATION_PATH
+     * <p/>
+     * The following optional properties change the default configuration of the muzima module:
+     * * Constants.CONNECTION_USE_GZIP: "true" to gzip the requests and responses.
+     * * Constants.CACHE_CAPACITY: the number of objects in the object cache of each type, "0" to disable it.
+     * * Constants.DOWNLOAD_PATIENT_CHUNK_SIZE and Constants.DOWNLOAD_CONCEPT_CHUNK_SIZE: the number of uuids in a
+     * single download request.
+     * * Constants.DOWNLOAD_THREAD_COUNT: the number of downloads running in parallel.
+     * * Constants.INGEST_BATCH_SIZE: the number of objects saved with a single call to the search api.
+     * * Constants.HTTP_CACHE_RESOURCES: comma separated names of the resources downloaded with conditional requests.
+     * The responses are not encrypted, so the conditional requests are not used when Constants.LUCENE_USE_ENCRYPTION
+     * is "true".
      *
      * @return a fresh context.
      * @throws IOException when creating context failed.
@@ -104,10 +122,89 @@ public class ContextFactory {
         MuzimaModule muzimaModule = new MuzimaModule();
         muzimaModule.setRepositoryPath(getProperty(Constants.LUCENE_DIRECTORY_PATH));
         muzimaModule.setEncryptionKey(getProperty(Constants.LUCENE_ENCRYPTION_KEY));
-        muzimaModule.setUseEncryption(false);
+        muzimaModule.setUseEncryption(Boolean.parseBoolean(getProperty(Constants.LUCENE_USE_ENCRYPTION)));
+        configureModule(muzimaModule);
         SslModule sslModule = new SslModule();
         SearchModule searchModule = new SearchModule();
         Injector injector = Guice.createInjector(muzimaModule, sslModule, searchModule);
         return new Context(injector);
     }
+
+    private static void configureModule(final MuzimaModule muzimaModule) {
+        muzimaModule.setUseGzip(Boolean.parseBoolean(getProperty(Constants.CONNECTION_USE_GZIP)));
+        Integer cacheCapacity = getIntegerProperty(Constants.CACHE_CAPACITY);
+        if (cacheCapacity != null) {
+            muzimaModule.setCacheCapacity(cacheCapacity);
+        }
+        Integer patientChunkSize = getIntegerProperty(Constants.DOWNLOAD_PATIENT_CHUNK_SIZE);
+        if (patientChunkSize != null) {
+            muzimaModule.setDownloadPatientChunkSize(patientChunkSize);
+        }
+        Integer conceptChunkSize = getIntegerProperty(Constants.DOWNLOAD_CONCEPT_CHUNK_SIZE);
+        if (conceptChunkSize != null) {
+            muzimaModule.setDownloadConceptChunkSize(conceptChunkSize);
+        }
+        Integer threadCount = getIntegerProperty(Constants.DOWNLOAD_THREAD_COUNT);
+        if (threadCount != null) {
+            muzimaModule.setDownloadThreadCount(threadCount);
+        }
+        Integer batchSize = getIntegerProperty(Constants.INGEST_BATCH_SIZE);
+        if (batchSize != null) {
+            muzimaModule.setIngestBatchSize(batchSize);
+        }
+        for (String resource : getProperty(Constants.HTTP_CACHE_RESOURCES).split(",")) {
+            if (!StringUtil.isEmpty(resource.trim())) {
+                muzimaModule.setHttpCacheEnabled(resource.trim(), true);
+            }
+        }
+    }
+
+    private static Integer getIntegerProperty(final String property) {
+        String propertyValue = getProperty(property);
+        if (StringUtil.isEmpty(propertyValue)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(propertyValue.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + property + ": " + propertyValue, e);
+        }
+    }
+
+    /**
+     * Get the context shared by every caller of this method. The shared context is created on the first call and
+     * re-created only after the properties or the modules of the factory are changed, so this is the cheap way to
+     * get a context for checking the active user of the current thread.
+     * <p/>
+     * The shared context's services are wired once and used by every thread, use <code>createContext</code> when
+     * a fresh context is needed.
+     *
+     * @return the shared context for the current properties of the factory.
+     * @throws Exception when creating context failed.
+     */
+    public static Context getContext() throws Exception {
+        SharedContext current = sharedContext;
+        if (current == null || current.version != configurationVersion) {
+            synchronized (ContextFactory.class) {
+                current = sharedContext;
+                if (current == null || current.version != configurationVersion) {
+                    current = new SharedContext(createContext(), configurationVersion);
+                    sharedContext = current;
+                }
+            }
+        }
+        return current.context;
+    }
+
+    private static class SharedContext {
+
+        private final Context context;
+
+        private final int version;
+
+        private SharedContext(final Context context, final int version) {
+            this.context = context;
+            this.version = version;
+        }
+    }
 }
@@ -11,6 +11,8 @@ package com.muzima.api.context;
 import com.muzima.api.config.Configuration;
 import com.muzima.api.exception.AuthenticationException;
 import com.muzima.api.model.Credential;
+import com.muzima.api.model.Privilege;
+import com.muzima.api.model.Role;
 import com.muzima.api.model.User;
 import com.muzima.api.service.UserService;
 import com.muzima.search.api.util.DigestUtil;
@@ -19,6 +21,9 @@ import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,15 +31,28 @@ import java.util.UUID;
  */
 class UserContext {
 
+    // openmrs' super user role, user with this role have all privileges.
+    private static final String SUPER_USER_ROLE = "System Developer";
+
     private User user;
 
     private Credential credential;
 
     private Configuration configuration;
 
+    private User privilegedUser;
+
+    private Set<String> privileges = Collections.emptySet();
+
+    private boolean superUser;
+
     UserContext() {
     }
 
+    UserContext(final User user) {
+        this.user = user;
+    }
+
     /**
      * Authenticate user using the username and password on the url.
      *
@@ -163,6 +181,57 @@ class UserContext {
         return user != null;
     }
 
+    /**
+     * Check whether the authenticated user have at least one of the privileges. The privileges of the user, directly
+     * assigned or through the roles, are collected once per authenticated user, so the check itself doesn't create
+     * any object.
+     *
+     * @param privilegeNames the names of the privileges.
+     * @return true when the user is authenticated and have one of the privileges or when no privilege is required.
+     */
+    public boolean hasAnyPrivilege(final String[] privilegeNames) {
+        if (user == null) {
+            return false;
+        }
+        if (user != privilegedUser) {
+            collectPrivileges(user);
+        }
+        if (superUser || privilegeNames.length == 0) {
+            return true;
+        }
+        for (String privilegeName : privilegeNames) {
+            if (privileges.contains(privilegeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectPrivileges(final User user) {
+        Set<String> collected = new HashSet<String>();
+        boolean collectedSuperUser = false;
+        if (user.getPrivileges() != null) {
+            for (Privilege privilege : user.getPrivileges()) {
+                collected.add(privilege.getName());
+            }
+        }
+        if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+                if (SUPER_USER_ROLE.equals(role.getName())) {
+                    collectedSuperUser = true;
+                }
+                if (role.getPrivileges() != null) {
+                    for (Privilege privilege : role.getPrivileges()) {
+                        collected.add(privilege.getName());
+                    }
+                }
+            }
+        }
+        privileges = collected;
+        superUser = collectedSuperUser;
+        privilegedUser = user;
+    }
+
     /**
      * Logs out the "active" (authenticated) user within this UserContext
      *
@@ -9,11 +9,29 @@ package com.muzima.api.dao;
 
 import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.CohortDataDaoImpl;
+import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
+import com.muzima.api.model.algorithm.CohortDataConsumer;
+
+import java.io.IOException;
+import java.util.Map;
 
 /**
  * TODO: Write brief description about the class here.
  */
 @ImplementedBy(CohortDataDaoImpl.class)
 public interface CohortDataDao extends OpenmrsDao<CohortData> {
+
+    /**
+     * Download the cohort data and hand each cohort member to the consumer while the response is being read, without
+     * holding the whole response or all of the patients in memory.
+     *
+     * @param resourceParams the parameters to be passed to search api to resolve the resource.
+     * @param resource       the name of the resource to be used to download the cohort data.
+     * @param consumer       the consumer of the cohort and the cohort members.
+     * @return the downloaded cohort or null when the response is not a cohort data.
+     * @throws IOException when the download failed or the consumer unable to process the cohort data.
+     */
+    Cohort download(final Map<String, String> resourceParams, final String resource,
+                    final CohortDataConsumer consumer) throws IOException;
 }
@@ -12,9 +12,22 @@ import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.ConceptDaoImpl;
 import com.muzima.api.model.Concept;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * TODO: Write brief description about the class here.
  */
 @ImplementedBy(ConceptDaoImpl.class)
 public interface ConceptDao extends OpenmrsDao<Concept> {
+
+    /**
+     * Get the datatype names of the concepts, for callers only interested in the type of the concepts.
+     *
+     * @param conceptUuids the uuids of the concepts.
+     * @return map of the concept uuid to the datatype name, concepts not in the local repository will not be mapped.
+     * @throws IOException when search api unable to process the resource.
+     */
+    Map<String, String> getDatatypes(final Collection<String> conceptUuids) throws IOException;
 }
@@ -11,6 +11,7 @@ package com.muzima.api.dao;
 import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.EncounterDaoImpl;
 import com.muzima.api.model.Encounter;
+import com.muzima.api.model.PagedIterable;
 
 import java.io.IOException;
 import java.util.List;
@@ -29,4 +30,12 @@ public interface EncounterDao extends OpenmrsDao<Encounter> {
      * @throws java.io.IOException when the search api unable to process the resource.
      */
     List<Encounter> getEncountersByPatientUuid(final String patientUuid) throws IOException;
+
+    /**
+     * Get encounters for particular patient, read lazily while iterating.
+     *
+     * @param patientUuid the patient uuid.
+     * @return the iterable over the encounters for the patient.
+     */
+    PagedIterable<Encounter> iterateEncountersByPatientUuid(final String patientUuid);
 }
@@ -10,8 +10,11 @@ package com.muzima.api.dao;
 import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.FormDataDaoImpl;
 import com.muzima.api.model.FormData;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 /**
@@ -35,6 +38,20 @@ public interface FormDataDao extends SearchableDao<FormData> {
     List<FormData> getAllFormData(final String patientUuid, final String userUuid, final String status,
                                   final Integer page, final Integer pageSize) throws IOException;
 
+    /**
+     * Get the page of form data at the position of the cursor. Empty patient uuid, user uuid or status will match
+     * every form data.
+     *
+     * @param patientUuid the patient uuid associated to this form data.
+     * @param userUuid    user's uuid associated to this form data.
+     * @param status      the status of this form data.
+     * @param cursor      the cursor of the page, create a new cursor for the first page.
+     * @return the objects of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     */
+    Page<FormData> getAllFormData(final String patientUuid, final String userUuid, final String status,
+                                  final PageCursor cursor) throws IOException;
+
     /**
      * Get the form data object using the uuid.
      *
@@ -44,8 +61,29 @@ public interface FormDataDao extends SearchableDao<FormData> {
      */
     FormData getFormDataByUuid(final String uuid) throws IOException;
 
+    /**
+     * Send the form data to the server with the payload held in the form data object. The payload is streamed into
+     * the request from the string held by the form data, without another copy of it, but the whole payload is in
+     * memory already because the form data object was read from the local repository with its payload.
+     *
+     * @param formData the form data.
+     * @return true when the form data successfully synced to the server.
+     * @throws IOException when the form data can't be sent to the server.
+     * @see #syncFormData(com.muzima.api.model.FormData, java.io.Reader)
+     */
     boolean syncFormData(final FormData formData) throws IOException;
 
+    /**
+     * Send the form data to the server, streaming the payload from the reader instead of the payload held in the
+     * form data object.
+     *
+     * @param formData the form data.
+     * @param payload  the reader of the payload of the form data.
+     * @return true when the form data successfully synced to the server.
+     * @throws IOException when the form data can't be sent to the server.
+     */
+    boolean syncFormData(final FormData formData, final Reader payload) throws IOException;
+
     /**
      * Get the FormData based on templateUUID.
      *
@@ -12,10 +12,20 @@ import com.muzima.api.dao.impl.LastSyncTimeDaoImpl;
 import com.muzima.api.model.LastSyncTime;
 
 import java.io.IOException;
+import java.util.List;
 
 @ImplementedBy(LastSyncTimeDaoImpl.class)
 public interface LastSyncTimeDao extends OpenmrsDao<LastSyncTime> {
     LastSyncTime getLastSyncTime(String apiName) throws IOException;
 
     LastSyncTime getLastSyncTime(String apiName, String paramSignature) throws IOException;
+
+    /**
+     * Get all the last sync times of the api with a single query, for callers looking up many param signatures.
+     *
+     * @param apiName the name of the api.
+     * @return the last sync times of the api, for any param signature.
+     * @throws IOException when search api unable to process the resource.
+     */
+    List<LastSyncTime> getLastSyncTimes(String apiName) throws IOException;
 }
@@ -10,9 +10,12 @@ package com.muzima.api.dao;
 import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.MemberDaoImpl;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * TODO: Write brief description about the class here.
@@ -40,6 +43,25 @@ public interface MemberDao extends SearchableDao<CohortMember> {
 
     Integer countByPatientUUID(final String patientUuid) throws IOException;
 
+    /**
+     * Get the uuids of all patients which are member of at least one cohort, read one page of cohort member objects at
+     * a time. The uuids are in lower case, matching them should ignore the case the same way the index does.
+     *
+     * @return set of the lower case uuids of all patients with cohort membership.
+     * @throws IOException when search api unable to process the resource.
+     */
+    Set<String> getPatientUuids() throws IOException;
+
     List<CohortMember> getByCohortUuid(final String cohortUuid, final Integer page,
                                        final Integer pageSize) throws IOException;
+
+    /**
+     * Get the page of members of the cohort at the position of the cursor, ordered by the patient uuid.
+     *
+     * @param cohortUuid the uuid of the cohort.
+     * @param cursor     the cursor of the page, create a new cursor for the first page.
+     * @return the members of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     */
+    Page<CohortMember> getByCohortUuid(final String cohortUuid, final PageCursor cursor) throws IOException;
 }
@@ -12,6 +12,7 @@ import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.ObservationDaoImpl;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Observation;
+import com.muzima.api.model.PagedIterable;
 
 import java.io.IOException;
 import java.util.List;
@@ -34,5 +35,22 @@ public interface ObservationDao extends OpenmrsDao<Observation> {
 
     List<Observation> get(final Concept concept) throws IOException;
 
+    /**
+     * Get observations for patient with matching uuid of the question, read lazily while iterating.
+     *
+     * @param patientUuid the uuid of the patient.
+     * @param conceptUuid the uuid of the question of the observations.
+     * @return the iterable over the observations for the patient with matching question.
+     */
+    PagedIterable<Observation> iterate(final String patientUuid, final String conceptUuid);
+
+    /**
+     * Get observations with the concept as the question, read lazily while iterating.
+     *
+     * @param concept the question of the observations.
+     * @return the iterable over the observations of the concept.
+     */
+    PagedIterable<Observation> iterate(final Concept concept);
+
     List<Observation> get(final String formDataUuid) throws IOException;
 }
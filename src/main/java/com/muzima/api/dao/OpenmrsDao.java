@@ -9,8 +9,11 @@
 package com.muzima.api.dao;
 
 import com.muzima.api.model.OpenmrsSearchable;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +41,16 @@ public interface OpenmrsDao<T extends OpenmrsSearchable> extends SearchableDao<T
      */
     T getByUuid(final String uuid) throws IOException;
 
+    /**
+     * Get the searchable objects for all of the uuids using a single query instead of a query per uuid. Objects
+     * which are not in the local repository will not be in the returned list.
+     *
+     * @param uuids the uuids of the searchable objects.
+     * @return the searchable objects found in the local repository, in no particular order.
+     * @throws java.io.IOException when search api unable to process the resource.
+     */
+    List<T> getByUuids(final Collection<String> uuids) throws IOException;
+
     /**
      * Count the number of cohort records in the local lucene repository.
      *
@@ -67,4 +80,45 @@ public interface OpenmrsDao<T extends OpenmrsSearchable> extends SearchableDao<T
      * @throws java.io.IOException
      */
     List<T> getByName(final String name, final Integer page, final Integer pageSize) throws IOException;
+
+    /**
+     * Get the page of searchable objects by the name of the searchable at the position of the cursor. Passing empty
+     * string will page through all registered searchable objects.
+     *
+     * @param name   the partial name of the searchable or empty string.
+     * @param cursor the cursor of the page, create a new cursor for the first page.
+     * @return the objects of the page and the cursor of the following page.
+     * @throws java.io.IOException
+     */
+    Page<T> getByName(final String name, final PageCursor cursor) throws IOException;
+
+    /**
+     * Get the number of get by uuid calls answered from the object cache. The cache and its counts are shared by
+     * every dao of the same object type.
+     *
+     * @return the number of get by uuid calls answered from the object cache.
+     */
+    long getCacheHitCount();
+
+    /**
+     * Get the number of get by uuid calls going to the lucene repository while the object cache is enabled.
+     *
+     * @return the number of get by uuid calls not answered from the object cache.
+     */
+    long getCacheMissCount();
+
+    /**
+     * Get the number of downloads of this dao actually sent to the server.
+     *
+     * @return the number of downloads sent to the server.
+     */
+    long getDownloadCount();
+
+    /**
+     * Get the number of downloads of this dao answered with the response of an identical download of the same user
+     * already in flight, possibly from another dao, instead of sending a new request to the server.
+     *
+     * @return the number of coalesced downloads.
+     */
+    long getCoalescedDownloadCount();
 }
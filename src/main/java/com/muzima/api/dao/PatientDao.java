@@ -59,6 +59,19 @@ public interface PatientDao extends OpenmrsDao<Patient> {
      */
     List<Patient> search(final String term, final String cohortUuid) throws ParseException, IOException;
 
+    /**
+     * Search for patients matching the term on name and identifier within the cohort.
+     *
+     * @param term       the term that should match.
+     * @param cohortUuid the cohort to search in
+     * @param page       the page number.
+     * @param pageSize   the number of elements in the page.
+     * @return patients with matching name or identifier within cohort, less or equals than the page size parameter.
+     * @throws IOException when search api unable to process the resource.
+     */
+    List<Patient> search(final String term, final String cohortUuid, final Integer page,
+                         final Integer pageSize) throws ParseException, IOException;
+
 
     List<Patient> search(final String term, final Integer page,
                          final Integer pageSize) throws ParseException, IOException;
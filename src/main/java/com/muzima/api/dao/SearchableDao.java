@@ -7,6 +7,10 @@
  */
 package com.muzima.api.dao;
 
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
+import com.muzima.api.model.PagedIterable;
+import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.model.object.Searchable;
 
 import java.io.IOException;
@@ -46,7 +50,8 @@ public interface SearchableDao<T extends Searchable> {
 
     /**
      * Update list of objects in the local repository. Use this save method when you want to update multiple objects
-     * at the same time.
+     * at the same time. The update deletes the saved objects with the same unique field before writing the objects,
+     * so objects which were never saved will be saved as well, in a single write.
      *
      * @param objects  the objects to be updated.
      * @param resource the resource descriptor used for updating.
@@ -54,6 +59,18 @@ public interface SearchableDao<T extends Searchable> {
      */
     void update(final List<T> objects, final String resource) throws IOException;
 
+    /**
+     * Save or replace list of objects in the local repository. Saved objects with the same unique field, as defined
+     * by the <code>field.unique</code> of the resource, will be replaced and the other objects will be saved, in a
+     * single write without reading the saved objects back. The resource must define the unique field. This is the
+     * same write as <code>update(List, String)</code>, named after what the caller wants done.
+     *
+     * @param objects  the objects to be saved or replaced.
+     * @param resource the resource descriptor used for saving.
+     * @throws IOException when search api unable to process the resource.
+     */
+    void upsert(final List<T> objects, final String resource) throws IOException;
+
     /**
      * Count total of searchable objects for a type.
      *
@@ -79,6 +96,24 @@ public interface SearchableDao<T extends Searchable> {
      */
     List<T> getAll(final Integer page, final Integer pageSize) throws IOException;
 
+    /**
+     * Get the page of searchable objects for a particular type at the position of the cursor. Unlike the page number,
+     * reading a page with the cursor costs the same no matter how deep the page is.
+     *
+     * @param cursor the cursor of the page, create a new cursor for the first page.
+     * @return the objects of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     */
+    Page<T> getAll(final PageCursor cursor) throws IOException;
+
+    /**
+     * Get all searchable objects for a particular type, read lazily one page at a time while iterating. Close the
+     * iterable when done.
+     *
+     * @return the iterable over all objects.
+     */
+    PagedIterable<T> iterateAll();
+
     /**
      * Delete the searchable object from the lucene repository.
      *
@@ -97,4 +132,25 @@ public interface SearchableDao<T extends Searchable> {
      * @throws IOException when search api unable to process the resource.
      */
     void delete(final List<T> objects, final String resource) throws IOException;
+
+    /**
+     * Delete all objects matching the filters from the local repository. The matching objects are deleted in
+     * batches, so the whole result is never held in memory at once. Every batch is the first page of the matching
+     * objects, read again after the previous batch was deleted.
+     *
+     * @param filters  the filters to select the objects to be deleted.
+     * @param resource the resource descriptor used for deleting.
+     * @throws IOException when search api unable to process the resource, or when the first page of the matching
+     *                     objects didn't change after deleting it, e.g. objects without the unique field of the
+     *                     resource can't be deleted.
+     */
+    void deleteByFilters(final List<Filter> filters, final String resource) throws IOException;
+
+    /**
+     * Delete all objects of the type from the local repository.
+     *
+     * @param resource the resource descriptor used for deleting.
+     * @throws IOException when search api unable to process the resource.
+     */
+    void deleteAll(final String resource) throws IOException;
 }
@@ -10,13 +10,23 @@ package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
 import com.muzima.api.dao.CohortDataDao;
+import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.model.Patient;
+import com.muzima.api.model.algorithm.CohortDataAlgorithm;
+import com.muzima.api.model.algorithm.CohortDataConsumer;
 import com.muzima.search.api.context.ServiceContext;
-import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.resolver.Resolver;
+import com.muzima.search.api.resource.Resource;
+import com.muzima.util.HttpUtils;
+import com.muzima.util.TransferStatistics;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +37,9 @@ public class CohortDataDaoImpl extends OpenmrsDaoImpl<CohortData> implements Coh
     @Inject
     private ServiceContext serviceContext;
 
+    @Inject
+    private TransferStatistics transferStatistics;
+
     protected CohortDataDaoImpl() {
         super(CohortData.class);
     }
@@ -38,19 +51,60 @@ public class CohortDataDaoImpl extends OpenmrsDaoImpl<CohortData> implements Coh
      */
     @Override
     public List<CohortData> download(final Map<String, String> resourceParams, final String resource) throws IOException {
-        CohortData consolidatedCohortData = new CohortData();
-        List<Patient> patients = consolidatedCohortData.getPatients();
-        List<CohortMember> members = consolidatedCohortData.getCohortMembers();
-        List<Searchable> searchableList = service.loadObjects(resourceParams, serviceContext.getResource(resource));
-        for (Searchable searchable : searchableList) {
-            CohortData cohortData = (CohortData) searchable;
-            consolidatedCohortData.setCohort(cohortData.getCohort());
-            patients.addAll(cohortData.getPatients());
-            members.addAll(cohortData.getCohortMembers());
+        final CohortData consolidatedCohortData = new CohortData();
+        final List<Patient> patients = consolidatedCohortData.getPatients();
+        final List<CohortMember> members = consolidatedCohortData.getCohortMembers();
+        Cohort cohort = download(resourceParams, resource, new CohortDataConsumer() {
+            @Override
+            public void consumeCohort(final Cohort cohort) {
+                consolidatedCohortData.setCohort(cohort);
+            }
+
+            @Override
+            public void consumeCohortMember(final CohortMember cohortMember) {
+                if (cohortMember.getPatient() != null) {
+                    patients.add(cohortMember.getPatient());
+                }
+                members.add(cohortMember);
+            }
+        });
+        if (cohort != null) {
+            consolidatedCohortData.setCohort(cohort);
         }
         return Arrays.asList(consolidatedCohortData);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.CohortDataDao#download(java.util.Map, String, CohortDataConsumer)
+     */
+    @Override
+    public Cohort download(final Map<String, String> resourceParams, final String resource,
+                           final CohortDataConsumer consumer) throws IOException {
+        Resource cohortDataResource = serviceContext.getResource(resource);
+        if (cohortDataResource == null) {
+            throw new IOException("Unable to find the resource: " + resource);
+        }
+        if (!(cohortDataResource.getAlgorithm() instanceof CohortDataAlgorithm)) {
+            throw new IOException("Resource " + resource + " is not a cohort data resource!");
+        }
+        CohortDataAlgorithm algorithm = (CohortDataAlgorithm) cohortDataResource.getAlgorithm();
+
+        Resolver resolver = cohortDataResource.getResolver();
+        HttpURLConnection connection = openConnection(new URL(resolver.resolve(resourceParams)));
+        try {
+            connection = resolver.authenticate(connection);
+            int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unable to download cohort data, server responded with: " + responseCode);
+            }
+            return algorithm.deserialize(HttpUtils.openInputStream(connection, transferStatistics), consumer);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -171,6 +225,30 @@ public class CohortDataDaoImpl extends OpenmrsDaoImpl<CohortData> implements Coh
                         "No actual cohort data object will be saved in the lucene's document repository.");
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getByName(String, com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<CohortData> getByName(final String name, final PageCursor cursor) throws IOException {
+        throw new IOException(
+                "Cohort data object is just place holder for download purpose! " +
+                        "No actual cohort data object will be saved in the lucene's document repository.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#getAll(com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<CohortData> getAll(final PageCursor cursor) throws IOException {
+        throw new IOException(
+                "Cohort data object is just place holder for download purpose! " +
+                        "No actual cohort data object will be saved in the lucene's document repository.");
+    }
+
     /**
      * {@inheritDoc}
      *
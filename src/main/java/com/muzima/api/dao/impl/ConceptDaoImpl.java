@@ -11,6 +11,11 @@ package com.muzima.api.dao.impl;
 import com.muzima.api.dao.ConceptDao;
 import com.muzima.api.model.Concept;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * TODO: Write brief description about the class here.
  */
@@ -19,4 +24,22 @@ public class ConceptDaoImpl extends OpenmrsDaoImpl<Concept> implements ConceptDa
     protected ConceptDaoImpl() {
         super(Concept.class);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.ConceptDao#getDatatypes(java.util.Collection)
+     */
+    @Override
+    public Map<String, String> getDatatypes(final Collection<String> conceptUuids) throws IOException {
+        Map<String, String> datatypes = new HashMap<String, String>();
+        for (Concept concept : getByUuids(conceptUuids)) {
+            String datatype = null;
+            if (concept.getConceptType() != null) {
+                datatype = concept.getConceptType().getName();
+            }
+            datatypes.put(concept.getUuid(), datatype);
+        }
+        return datatypes;
+    }
 }
@@ -61,4 +61,8 @@ public class CredentialDaoImpl extends SearchableDaoImpl<Credential> implements
         return credential;
     }
 
+    @Override
+    protected String getCursorKey(final Credential credential) {
+        return credential.getUuid();
+    }
 }
@@ -10,6 +10,7 @@ package com.muzima.api.dao.impl;
 
 import com.muzima.api.dao.EncounterDao;
 import com.muzima.api.model.Encounter;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
@@ -41,4 +42,11 @@ public class EncounterDaoImpl extends OpenmrsDaoImpl<Encounter> implements Encou
         }
         return service.getObjects(filters, daoClass);
     }
+
+    @Override
+    public PagedIterable<Encounter> iterateEncountersByPatientUuid(final String patientUuid) {
+        StringBuilder query = new StringBuilder();
+        appendTerm(query, "patientUuid", patientUuid);
+        return iterate(query.toString());
+    }
 }
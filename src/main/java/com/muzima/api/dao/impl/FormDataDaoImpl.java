@@ -15,12 +15,21 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.muzima.api.dao.FormDataDao;
 import com.muzima.api.model.FormData;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.model.resolver.SyncFormDataResolver;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+import com.muzima.util.HttpUtils;
+import com.muzima.util.JsonUtils;
+import com.muzima.util.TransferStatistics;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
@@ -42,6 +51,13 @@ public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements Form
     @Named("connection.timeout")
     private int timeout;
 
+    @Inject(optional = true)
+    @Named(Constants.CONNECTION_USE_GZIP)
+    private boolean gzip;
+
+    @Inject
+    private TransferStatistics transferStatistics;
+
     @Inject
     private SyncFormDataResolver resolver;
 
@@ -102,8 +118,30 @@ public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements Form
         return service.getObjects(filters, daoClass, page, pageSize);
     }
 
+    @Override
+    public Page<FormData> getAllFormData(final String patientUuid, final String userUuid, final String status,
+                                         final PageCursor cursor) throws IOException {
+        StringBuilder query = new StringBuilder();
+        appendTerm(query, "patientUuid", patientUuid);
+        appendTerm(query, "userUuid", userUuid);
+        appendTerm(query, "status", status);
+        return getPage(query.toString(), cursor);
+    }
+
+    @Override
+    protected String getCursorKey(final FormData formData) {
+        return formData.getUuid();
+    }
+
     @Override
     public boolean syncFormData(final FormData formData) throws IOException {
+        // the payload is the string held by the form data, the reader streams it into the request without a copy.
+        String payload = getPayloadBasedOnDiscriminator(formData);
+        return syncFormData(formData, payload == null ? null : new StringReader(payload));
+    }
+
+    @Override
+    public boolean syncFormData(final FormData formData, final Reader payload) throws IOException {
         boolean synced = false;
 
         String resourcePath = resolver.resolve(Collections.<String, String>emptyMap());
@@ -119,10 +157,12 @@ public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements Form
         connection = resolver.authenticate(connection);
 
         JsonFactory jsonFactory = new JsonFactory();
-        JsonGenerator jsonGenerator = jsonFactory.createGenerator(connection.getOutputStream(), JsonEncoding.UTF8);
+        JsonGenerator jsonGenerator = jsonFactory.createGenerator(
+                HttpUtils.openOutputStream(connection, gzip, transferStatistics), JsonEncoding.UTF8);
         jsonGenerator.writeStartObject();
         jsonGenerator.writeObjectField("dataSource", "Mobile Device");
-        jsonGenerator.writeObjectField("payload", getPayloadBasedOnDiscriminator(formData));
+        // stream the payload straight into the request body, a payload can be several megabytes.
+        JsonUtils.writeAsString(jsonGenerator, "payload", payload);
         jsonGenerator.writeObjectField("discriminator", formData.getDiscriminator());
         jsonGenerator.writeEndObject();
         jsonGenerator.close();
@@ -131,10 +171,29 @@ public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements Form
         if (responseCode == HttpURLConnection.HTTP_OK
                 || responseCode == HttpURLConnection.HTTP_CREATED) {
             synced = true;
+            discard(HttpUtils.openInputStream(connection, transferStatistics));
+        } else {
+            discard(connection.getErrorStream());
         }
         return synced;
     }
 
+    /**
+     * Read and close the response, so the connection can be reused for the next request.
+     */
+    private void discard(final InputStream inputStream) throws IOException {
+        if (inputStream != null) {
+            try {
+                byte[] buffer = new byte[1024];
+                while (inputStream.read(buffer) != -1) {
+                    // the response body is not used.
+                }
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+
     private String getPayloadBasedOnDiscriminator(FormData formData) {
         if ("xml-registration".equals(formData.getDiscriminator())
                 || "xml-encounter".equals(formData.getDiscriminator())) {
@@ -52,6 +52,13 @@ public class LastSyncTimeDaoImpl extends OpenmrsDaoImpl<LastSyncTime> implements
         return getRecentEntry(filters);
     }
 
+    @Override
+    public List<LastSyncTime> getLastSyncTimes(String apiName) throws IOException {
+        List<Filter> filters = new ArrayList<Filter>();
+        filters.add(FilterFactory.createFilter("apiName", apiName));
+        return service.getObjects(filters, daoClass);
+    }
+
     private LastSyncTime getRecentEntry(List<Filter> filters) throws IOException {
         LastSyncTime lastSyncTime = null;
         List<LastSyncTime> lastSyncTimes = service.getObjects(filters, daoClass);
@@ -11,18 +11,25 @@ package com.muzima.api.dao.impl;
 import com.muzima.api.dao.CredentialDao;
 import com.muzima.api.dao.MemberDao;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class MemberDaoImpl extends SearchableDaoImpl<CohortMember> implements MemberDao {
 
     private static final String TAG = CredentialDao.class.getSimpleName();
 
+    private static final int PATIENT_UUID_PAGE_SIZE = 500;
+
     protected MemberDaoImpl() {
         super(CohortMember.class);
     }
@@ -56,6 +63,28 @@ public class MemberDaoImpl extends SearchableDaoImpl<CohortMember> implements Me
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.MemberDao#getPatientUuids()
+     */
+    @Override
+    public Set<String> getPatientUuids() throws IOException {
+        Set<String> patientUuids = new HashSet<String>();
+        // only one page of members is held at a time, instead of every member with its patient.
+        PageCursor cursor = new PageCursor(PATIENT_UUID_PAGE_SIZE);
+        while (cursor != null) {
+            Page<CohortMember> page = getAll(cursor);
+            for (CohortMember cohortMember : page.getObjects()) {
+                if (cohortMember.getPatientUuid() != null) {
+                    patientUuids.add(cohortMember.getPatientUuid().toLowerCase(Locale.ENGLISH));
+                }
+            }
+            cursor = page.getNextCursor();
+        }
+        return patientUuids;
+    }
+
     /**
      * Get cohort by the name of the cohort. Passing empty string will returns all registered cohorts.
      *
@@ -82,4 +111,24 @@ public class MemberDaoImpl extends SearchableDaoImpl<CohortMember> implements Me
         }
         return service.getObjects(filters, daoClass, page, pageSize);
     }
+
+    @Override
+    public Page<CohortMember> getByCohortUuid(final String cohortUuid, final PageCursor cursor) throws IOException {
+        StringBuilder query = new StringBuilder();
+        if (!StringUtil.isEmpty(cohortUuid)) {
+            query.append("cohortUuid:\"").append(cohortUuid).append("\"");
+        }
+        return getPage(query.toString(), cursor);
+    }
+
+    @Override
+    protected String getCursorKeyField() {
+        return "patientUuid";
+    }
+
+    @Override
+    protected String getCursorKey(final CohortMember cohortMember) {
+        // the same patient can be a member of more than one cohort.
+        return cohortMember.getPatientUuid() + " " + cohortMember.getCohortUuid();
+    }
 }
@@ -11,6 +11,7 @@ package com.muzima.api.dao.impl;
 import com.muzima.api.dao.ObservationDao;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Observation;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
@@ -74,6 +75,23 @@ public class ObservationDaoImpl extends OpenmrsDaoImpl<Observation> implements O
         return service.getObjects(filters, daoClass);
     }
 
+    @Override
+    public PagedIterable<Observation> iterate(final String patientUuid, final String conceptUuid) {
+        StringBuilder query = new StringBuilder();
+        appendTerm(query, "patientUuid", patientUuid);
+        appendTerm(query, "conceptUuid", conceptUuid);
+        return iterate(query.toString());
+    }
+
+    @Override
+    public PagedIterable<Observation> iterate(final Concept concept) {
+        StringBuilder query = new StringBuilder();
+        if (concept != null) {
+            appendTerm(query, "conceptUuid", concept.getUuid());
+        }
+        return iterate(query.toString());
+    }
+
     @Override
     public List<Observation> get(String formDataUuid) throws IOException {
         List<Filter> filters = new ArrayList<Filter>();
@@ -9,24 +9,94 @@
 package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.muzima.api.config.Configuration;
+import com.muzima.api.config.HttpCacheConfiguration;
 import com.muzima.api.dao.OpenmrsDao;
 import com.muzima.api.model.OpenmrsSearchable;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
+import com.muzima.api.model.algorithm.BaseOpenmrsAlgorithm;
 import com.muzima.search.api.context.ServiceContext;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.resolver.Resolver;
+import com.muzima.search.api.resource.Resource;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+import com.muzima.util.HttpCache;
+import com.muzima.util.HttpUtils;
+import com.muzima.util.LruCache;
+import com.muzima.util.ObjectCache;
+import com.muzima.util.SingleFlight;
+import com.muzima.util.TransferStatistics;
+import org.apache.lucene.queryParser.ParseException;
+import org.apache.lucene.queryParser.QueryParser;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class OpenmrsDaoImpl<T extends OpenmrsSearchable> extends SearchableDaoImpl<T> implements OpenmrsDao<T> {
 
+    // keep the disjunction well below lucene's default limit of 1024 clauses per query.
+    private static final int MAXIMUM_UUIDS_PER_QUERY = 500;
+
+    // shared by every dao instance, services get their own dao instance. callers waiting for the same download get
+    // their own copy of the downloaded objects.
+    private static final SingleFlight<DownloadKey, List<Searchable>> downloads =
+            new SingleFlight<DownloadKey, List<Searchable>>();
+
     @Inject
     private ServiceContext serviceContext;
 
+    @Inject
+    private ObjectCache objectCache;
+
+    @Inject(optional = true)
+    private HttpCacheConfiguration httpCacheConfiguration;
+
+    @Inject(optional = true)
+    private HttpCache httpCache;
+
+    @Inject
+    private Configuration configuration;
+
+    @Inject
+    private TransferStatistics transferStatistics;
+
+    @Inject(optional = true)
+    @Named("connection.proxy")
+    private Proxy proxy;
+
+    @Inject
+    @Named("connection.timeout")
+    private int timeout;
+
+    @Inject(optional = true)
+    @Named(Constants.CONNECTION_USE_GZIP)
+    private boolean gzip;
+
+    @Inject(optional = true)
+    @Named("configuration.lucene.usingEncryption")
+    private boolean usingEncryption;
+
+    private final AtomicLong downloadCount = new AtomicLong();
+
+    private final AtomicLong coalescedDownloadCount = new AtomicLong();
+
     protected OpenmrsDaoImpl(final Class<T> daoClass) {
         super(daoClass);
     }
@@ -43,19 +113,430 @@ public abstract class OpenmrsDaoImpl<T extends OpenmrsSearchable> extends Search
     @SuppressWarnings("unchecked")
     public List<T> download(final Map<String, String> resourceParams, final String resource) throws IOException {
         List<T> list = new ArrayList<T>();
-        for (Searchable searchable : service.loadObjects(resourceParams, serviceContext.getResource(resource))) {
+        for (Searchable searchable : loadObjects(resourceParams, resource)) {
             list.add((T) searchable);
         }
         return list;
     }
 
+    /**
+     * Load the objects of the resource from the server. Identical loads of the same user running at the same time
+     * will share a single request, the caller running the request reads the objects while the response is streamed
+     * and every other caller gets its own copy of the objects. Resources enabled in the http cache configuration will
+     * be loaded with conditional requests, see {@link #loadResponse(java.util.Map, Resource)}.
+     *
+     * @param resourceParams the parameters to be passed to search object to filter the searchable object.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @return the objects loaded from the server.
+     * @throws IOException when search api unable to process the resource or the server didn't respond with the
+     *                     objects.
+     */
+    protected List<Searchable> loadObjects(final Map<String, String> resourceParams,
+                                           final String resource) throws IOException {
+        final Resource serviceResource = serviceContext.getResource(resource);
+        if (!isStreamable(serviceResource)) {
+            return service.loadObjects(resourceParams, serviceResource);
+        }
+        DownloadKey key = new DownloadKey(configuration.getServer(), configuration.getUsername(),
+                resource, resourceParams);
+        final boolean[] executed = new boolean[1];
+        List<Searchable> searchables;
+        try {
+            searchables = downloads.execute(key, new Callable<List<Searchable>>() {
+                @Override
+                public List<Searchable> call() throws Exception {
+                    executed[0] = true;
+                    return loadResponse(resourceParams, serviceResource);
+                }
+            });
+        } finally {
+            if (executed[0]) {
+                downloadCount.incrementAndGet();
+            } else {
+                coalescedDownloadCount.incrementAndGet();
+            }
+        }
+        if (executed[0]) {
+            return searchables;
+        }
+        return copyOf(searchables);
+    }
+
+    /**
+     * Copy the objects loaded by another caller, every caller can change its own objects.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Searchable> copyOf(final List<Searchable> searchables) throws IOException {
+        ArrayList<Searchable> copies = null;
+        byte[] bytes = objectCache.toBytes(new ArrayList<Searchable>(searchables));
+        if (bytes != null) {
+            copies = objectCache.fromBytes(bytes, ArrayList.class);
+        }
+        if (copies == null) {
+            throw new IOException("Unable to copy the downloaded objects of type: " + daoClass);
+        }
+        return copies;
+    }
+    private boolean isStreamable(final Resource resource) {
+        return resource != null && resource.getAlgorithm() instanceof BaseOpenmrsAlgorithm
+                && BaseOpenmrsAlgorithm.isSupportedRootNode(resource.getRootNode());
+    }
+
+    private boolean isConditional(final Resource resource) {
+        // the cached responses are not encrypted, don't keep them next to an encrypted repository.
+        return !usingEncryption && httpCache != null && httpCacheConfiguration != null
+                && httpCacheConfiguration.isEnabled(resource.getName());
+    }
+
+    /**
+     * Open a GET connection to the url with the configured proxy, timeout and compression. The caller still needs to
+     * authenticate the connection with the resolver of the resource.
+     *
+     * @param url the url of the resource.
+     * @return the connection, not connected yet.
+     * @throws IOException when the connection can't be opened.
+     */
+    protected HttpURLConnection openConnection(final URL url) throws IOException {
+        HttpURLConnection connection;
+        if (proxy != null) {
+            connection = (HttpURLConnection) url.openConnection(proxy);
+        } else {
+            connection = (HttpURLConnection) url.openConnection();
+        }
+        connection.setRequestMethod("GET");
+        connection.setConnectTimeout(timeout);
+        if (gzip) {
+            HttpUtils.acceptGzip(connection);
+        }
+        return connection;
+    }
+
+    /**
+     * Load the objects of the resource, the objects are read while the response is streamed. Resources enabled in the
+     * http cache configuration are loaded with a conditional request when the repository is not encrypted, the
+     * validators of the previous response for the same url are sent to the server, and the cached response will be
+     * read again when the server answers that the response has not been modified. The response of these resources is
+     * read in full before the objects are read, to be kept in the cache.
+     *
+     * @param resourceParams the parameters to be passed to search object to filter the searchable object.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @return the objects of the resource.
+     * @throws IOException when the request or reading the response failed, or the server responded with anything but
+     *                     the objects.
+     */
+    private List<Searchable> loadResponse(final Map<String, String> resourceParams,
+                                          final Resource resource) throws IOException {
+        Resolver resolver = resource.getResolver();
+        BaseOpenmrsAlgorithm algorithm = (BaseOpenmrsAlgorithm) resource.getAlgorithm();
+        URL url = new URL(resolver.resolve(resourceParams));
+        boolean conditional = isConditional(resource);
+        // different users can be authorized to see different objects from the same url.
+        String key = configuration.getUsername() + "@" + url;
+        HttpCache.Entry entry = conditional ? httpCache.get(key) : null;
+
+        HttpURLConnection connection = openConnection(url);
+        try {
+            if (entry != null) {
+                if (entry.getEtag() != null) {
+                    connection.setRequestProperty("If-None-Match", entry.getEtag());
+                }
+                if (entry.getLastModified() != null) {
+                    connection.setRequestProperty("If-Modified-Since", entry.getLastModified());
+                }
+            }
+            connection = resolver.authenticate(connection);
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+                transferStatistics.validated(true, entry.getBody().length);
+                return algorithm.deserialize(new ByteArrayInputStream(entry.getBody()), resource.getRootNode());
+            } else if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unable to download " + resource.getName() + ", server responded with: "
+                        + responseCode);
+            }
+            if (entry != null) {
+                transferStatistics.validated(false, 0);
+            }
+            InputStream inputStream = HttpUtils.openInputStream(connection, transferStatistics);
+            if (!conditional) {
+                try {
+                    return algorithm.deserialize(inputStream, resource.getRootNode());
+                } finally {
+                    inputStream.close();
+                }
+            }
+            byte[] body = HttpUtils.readFully(inputStream);
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+            if (etag != null || lastModified != null) {
+                httpCache.put(key, new HttpCache.Entry(etag, lastModified, body));
+            } else if (entry != null) {
+                httpCache.remove(key);
+            }
+            return algorithm.deserialize(new ByteArrayInputStream(body), resource.getRootNode());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
      * @see com.muzima.api.dao.OpenmrsDao#getByUuid(String)
      */
     public T getByUuid(final String uuid) throws IOException {
-        return service.getObject(uuid, daoClass);
+        LruCache<String, byte[]> cache = getCache();
+        if (cache == null) {
+            return service.getObject(uuid, daoClass);
+        }
+        T object = getCached(cache, uuid);
+        if (object == null) {
+            long modificationCount = cache.getModificationCount();
+            object = service.getObject(uuid, daoClass);
+            putCached(cache, object, modificationCount);
+        }
+        return object;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getByUuids(java.util.Collection)
+     */
+    @Override
+    public List<T> getByUuids(final Collection<String> uuids) throws IOException {
+        List<T> objects = new ArrayList<T>();
+        List<String> uncachedUuids = new ArrayList<String>();
+        LruCache<String, byte[]> cache = getCache();
+        for (String uuid : new LinkedHashSet<String>(uuids)) {
+            if (!StringUtil.isEmpty(uuid)) {
+                T object = null;
+                if (cache != null) {
+                    object = getCached(cache, uuid);
+                }
+                if (object == null) {
+                    uncachedUuids.add(uuid);
+                } else {
+                    objects.add(object);
+                }
+            }
+        }
+        for (int i = 0; i < uncachedUuids.size(); i += MAXIMUM_UUIDS_PER_QUERY) {
+            List<String> queryUuids =
+                    uncachedUuids.subList(i, Math.min(i + MAXIMUM_UUIDS_PER_QUERY, uncachedUuids.size()));
+            long modificationCount = cache == null ? 0 : cache.getModificationCount();
+            for (T object : getByUuidQuery(queryUuids)) {
+                objects.add(object);
+                if (cache != null) {
+                    putCached(cache, object, modificationCount);
+                }
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Get a new copy of the cached object, every caller can change its own copy.
+     */
+    private T getCached(final LruCache<String, byte[]> cache, final String uuid) {
+        byte[] bytes = cache.get(uuid);
+        return bytes == null ? null : objectCache.fromBytes(bytes, daoClass);
+    }
+
+    private void putCached(final LruCache<String, byte[]> cache, final T object, final long modificationCount) {
+        if (object != null && object.getUuid() != null) {
+            byte[] bytes = objectCache.toBytes(object);
+            if (bytes != null) {
+                cache.put(object.getUuid(), bytes, modificationCount);
+            }
+        }
+    }
+
+    private List<T> getByUuidQuery(final List<String> uuids) throws IOException {
+        StringBuilder query = new StringBuilder();
+        for (String uuid : uuids) {
+            if (query.length() > 0) {
+                query.append(" OR ");
+            }
+            query.append("uuid:\"").append(uuid).append("\"");
+        }
+        try {
+            return service.getObjects(query.toString(), daoClass);
+        } catch (ParseException e) {
+            throw new IOException("Unable to create query for the uuids: " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getCacheHitCount()
+     */
+    @Override
+    public long getCacheHitCount() {
+        LruCache<String, byte[]> cache = getCache();
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getCacheMissCount()
+     */
+    @Override
+    public long getCacheMissCount() {
+        LruCache<String, byte[]> cache = getCache();
+        return cache == null ? 0 : cache.getMissCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getDownloadCount()
+     */
+    @Override
+    public long getDownloadCount() {
+        return downloadCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getCoalescedDownloadCount()
+     */
+    @Override
+    public long getCoalescedDownloadCount() {
+        return coalescedDownloadCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#save(com.muzima.search.api.model.object.Searchable, String)
+     */
+    @Override
+    public void save(final T object, final String resource) throws IOException {
+        try {
+            super.save(object, resource);
+        } finally {
+            invalidate(object);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#save(java.util.List, String)
+     */
+    @Override
+    public void save(final List<T> objects, final String resource) throws IOException {
+        try {
+            super.save(objects, resource);
+        } finally {
+            invalidate(objects);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#update(com.muzima.search.api.model.object.Searchable, String)
+     */
+    @Override
+    public void update(final T object, final String resource) throws IOException {
+        try {
+            super.update(object, resource);
+        } finally {
+            invalidate(object);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#update(java.util.List, String)
+     */
+    @Override
+    public void update(final List<T> objects, final String resource) throws IOException {
+        try {
+            super.update(objects, resource);
+        } finally {
+            invalidate(objects);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#delete(com.muzima.search.api.model.object.Searchable, String)
+     */
+    @Override
+    public void delete(final T searchable, final String resource) throws IOException {
+        try {
+            super.delete(searchable, resource);
+        } finally {
+            invalidate(searchable);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.SearchableDao#delete(java.util.List, String)
+     */
+    @Override
+    public void delete(final List<T> objects, final String resource) throws IOException {
+        try {
+            super.delete(objects, resource);
+        } finally {
+            invalidate(objects);
+        }
+    }
+
+    /**
+     * Remove the object from the object cache. Call this after changing the object in the lucene repository without
+     * going through the save, update or delete methods of this dao.
+     *
+     * @param object the changed object.
+     */
+    protected void invalidate(final T object) {
+        LruCache<String, byte[]> cache = getCache();
+        if (cache != null && object != null) {
+            cache.remove(object.getUuid());
+        }
+    }
+
+    /**
+     * Remove the objects from the object cache.
+     *
+     * @param objects the changed objects.
+     */
+    protected void invalidate(final List<T> objects) {
+        LruCache<String, byte[]> cache = getCache();
+        if (cache != null) {
+            for (T object : objects) {
+                if (object != null) {
+                    cache.remove(object.getUuid());
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove every object from the object cache.
+     */
+    protected void invalidateAll() {
+        LruCache<String, byte[]> cache = getCache();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Get the object cache of the dao type, shared with the other dao instances of the same type.
+     */
+    private LruCache<String, byte[]> getCache() {
+        return objectCache == null ? null : objectCache.getCache(daoClass);
     }
 
     /**
@@ -101,4 +582,70 @@ public abstract class OpenmrsDaoImpl<T extends OpenmrsSearchable> extends Search
         }
         return service.getObjects(filters, daoClass, page, pageSize);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.OpenmrsDao#getByName(String, com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<T> getByName(final String name, final PageCursor cursor) throws IOException {
+        StringBuilder query = new StringBuilder();
+        if (!StringUtil.isEmpty(name)) {
+            query.append("name:").append(QueryParser.escape(name)).append("*");
+        }
+        return getPage(query.toString(), cursor);
+    }
+
+    @Override
+    protected String getCursorKey(final T object) {
+        return object.getUuid();
+    }
+
+    private static class DownloadKey {
+
+        private final String server;
+
+        private final String username;
+
+        private final String resource;
+
+        private final Map<String, String> resourceParams;
+
+        private DownloadKey(final String server, final String username, final String resource,
+                            final Map<String, String> resourceParams) {
+            this.server = server;
+            this.username = username;
+            this.resource = resource;
+            // copy the parameters, the caller can change the map after the download is started.
+            this.resourceParams = resourceParams == null
+                    ? new HashMap<String, String>() : new HashMap<String, String>(resourceParams);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof DownloadKey)) {
+                return false;
+            }
+            DownloadKey key = (DownloadKey) object;
+            return StringUtil.equals(server, key.server) && StringUtil.equals(username, key.username)
+                    && StringUtil.equals(resource, key.resource) && resourceParams.equals(key.resourceParams);
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = server == null ? 0 : server.hashCode();
+            hashCode = 31 * hashCode + (username == null ? 0 : username.hashCode());
+            hashCode = 31 * hashCode + (resource == null ? 0 : resource.hashCode());
+            return 31 * hashCode + resourceParams.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return username + "@" + server + " " + resource + " " + resourceParams;
+        }
+    }
 }
@@ -19,12 +19,21 @@ import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class PatientDaoImpl extends OpenmrsDaoImpl<Patient> implements PatientDao {
 
     private static final String TAG = PatientDao.class.getSimpleName();
 
+    // only indexed in the member documents holding the searchable patient name and identifier.
+    private static final String MEMBER_SEARCH_FIELD = "searchCohortUuid";
+
     protected PatientDaoImpl() {
         super(Patient.class);
     }
@@ -94,60 +103,148 @@ public class PatientDaoImpl extends OpenmrsDaoImpl<Patient> implements PatientDa
      */
     @Override
     public List<Patient> search(final String term) throws ParseException, IOException {
+        return service.getObjects(createSearchQuery(term), daoClass);
+    }
+
+    /**
+     * Search for patients matching the term on name and identifier within the cohort. The cohort member documents
+     * hold the name and the identifier of the patient, so the search is done with a single query on the cohort
+     * members instead of matching the members against the patients. The matched patients are read from the patient
+     * documents, the patient held by the member document can be older than the patient document.
+     *
+     * @param term       the term that should match.
+     * @param cohortUuid the cohort to search in.
+     * @return all patients with matching name or identifier within the cohort.
+     * @throws ParseException when query parser from lucene unable to parse the query string.
+     * @throws IOException    when search api unable to process the resource.
+     */
+    @Override
+    public List<Patient> search(final String term, final String cohortUuid) throws ParseException, IOException {
+        if (!isMemberSearchable(cohortUuid)) {
+            return searchMemberPatients(term, cohortUuid);
+        }
+        List<CohortMember> cohortMembers =
+                service.getObjects(createCohortSearchQuery(term, cohortUuid), CohortMember.class);
+        return getMemberPatients(cohortMembers);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.PatientDao#search(String, String, Integer, Integer)
+     */
+    @Override
+    public List<Patient> search(final String term, final String cohortUuid, final Integer page,
+                                final Integer pageSize) throws ParseException, IOException {
+        if (!isMemberSearchable(cohortUuid)) {
+            List<Patient> patients = searchMemberPatients(term, cohortUuid);
+            if (page == null || pageSize == null) {
+                return patients;
+            }
+            // pages of the search api start at 1.
+            int fromIndex = Math.min(Math.max(page - 1, 0) * pageSize, patients.size());
+            int toIndex = Math.min(fromIndex + pageSize, patients.size());
+            return new ArrayList<Patient>(patients.subList(fromIndex, toIndex));
+        }
+        List<CohortMember> cohortMembers =
+                service.getObjects(createCohortSearchQuery(term, cohortUuid), CohortMember.class, page, pageSize);
+        return getMemberPatients(cohortMembers);
+    }
+
+    @Override
+    public List<Patient> search(final String term, final Integer page, final Integer pageSize)
+            throws ParseException, IOException {
+        return service.getObjects(createSearchQuery(term), daoClass, page, pageSize);
+    }
+
+    private String createSearchQuery(final String term) {
+        StringBuilder query = new StringBuilder();
         if (!StringUtil.isEmpty(term)) {
             if (containsDigit(term)) {
-                StringBuilder query = new StringBuilder();
                 query.append("identifier:").append(term).append("*");
-                return service.getObjects(query.toString(), Patient.class);
             } else {
-                StringBuilder query = new StringBuilder();
                 query.append("givenName:").append(term).append("*").append(" OR ");
                 query.append("middleName:").append(term).append("*").append(" OR ");
                 query.append("familyName:").append(term).append("*");
-                return service.getObjects(query.toString(), Patient.class);
             }
         }
-        return service.getObjects(StringUtil.EMPTY, daoClass);
+        return query.toString();
     }
 
-    @Override
-    public List<Patient> search(String term, String cohortUuid) throws ParseException, IOException {
+    private String createCohortSearchQuery(final String term, final String cohortUuid) {
+        StringBuilder query = new StringBuilder();
+        query.append(MEMBER_SEARCH_FIELD).append(":\"").append(cohortUuid).append("\"");
+        String searchQuery = createSearchQuery(term);
+        if (!StringUtil.isEmpty(searchQuery)) {
+            query.append(" AND (").append(searchQuery).append(")");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Check whether the patient name and identifier are indexed in every member document of the cohort. Member
+     * documents written before those fields were added to the member resource don't have the search field either.
+     */
+    private boolean isMemberSearchable(final String cohortUuid) throws IOException {
+        if (StringUtil.isEmpty(cohortUuid)) {
+            return false;
+        }
+        List<Filter> memberFilters = new ArrayList<Filter>();
+        memberFilters.add(FilterFactory.createFilter("cohortUuid", cohortUuid));
+        List<Filter> searchableFilters = new ArrayList<Filter>();
+        searchableFilters.add(FilterFactory.createFilter(MEMBER_SEARCH_FIELD, cohortUuid));
+        return service.countObjects(memberFilters, CohortMember.class)
+                .equals(service.countObjects(searchableFilters, CohortMember.class));
+    }
+
+    /**
+     * Search the patient documents and keep the patients being a member of the cohort. Used for member documents
+     * without the patient name and identifier, or for the members of every cohort.
+     */
+    private List<Patient> searchMemberPatients(final String term, final String cohortUuid)
+            throws ParseException, IOException {
         List<Filter> filters = new ArrayList<Filter>();
         if (!StringUtil.isEmpty(cohortUuid)) {
-            Filter filter = FilterFactory.createFilter("cohortUuid", cohortUuid);
-            filters.add(filter);
+            filters.add(FilterFactory.createFilter("cohortUuid", cohortUuid));
+        }
+        Set<String> memberPatientUuids = new HashSet<String>();
+        for (CohortMember cohortMember : service.getObjects(filters, CohortMember.class)) {
+            if (cohortMember.getPatientUuid() != null) {
+                memberPatientUuids.add(cohortMember.getPatientUuid().toLowerCase(Locale.ENGLISH));
+            }
         }
-        List<CohortMember> cohortMembers = service.getObjects(filters, CohortMember.class);
-        List<Patient> patients = search(term);
         List<Patient> matchedPatients = new ArrayList<Patient>();
-        for (Patient patient : patients) {
-            for (CohortMember cohortMember : cohortMembers) {
-                if (cohortMember.getPatientUuid().equalsIgnoreCase(patient.getUuid())) {
-                    matchedPatients.add(patient);
-                    break;
-                }
+        for (Patient patient : search(term)) {
+            if (patient.getUuid() != null
+                    && memberPatientUuids.contains(patient.getUuid().toLowerCase(Locale.ENGLISH))) {
+                matchedPatients.add(patient);
             }
         }
         return matchedPatients;
     }
 
-    @Override
-    public List<Patient> search(final String term, final Integer page, final Integer pageSize)
-            throws ParseException, IOException {
-        if (!StringUtil.isEmpty(term)) {
-            if (containsDigit(term)) {
-                StringBuilder query = new StringBuilder();
-                query.append("identifier:").append(term).append("*");
-                return service.getObjects(query.toString(), Patient.class, page, pageSize);
-            } else {
-                StringBuilder query = new StringBuilder();
-                query.append("givenName:").append(term).append("*").append(" OR ");
-                query.append("middleName:").append(term).append("*").append(" OR ");
-                query.append("familyName:").append(term).append("*");
-                return service.getObjects(query.toString(), Patient.class, page, pageSize);
+    /**
+     * Get the current patient documents of the members, in the order of the members.
+     */
+    private List<Patient> getMemberPatients(final List<CohortMember> cohortMembers) throws IOException {
+        Set<String> patientUuids = new LinkedHashSet<String>();
+        for (CohortMember cohortMember : cohortMembers) {
+            if (!StringUtil.isEmpty(cohortMember.getPatientUuid())) {
+                patientUuids.add(cohortMember.getPatientUuid());
+            }
+        }
+        Map<String, Patient> patientsByUuid = new HashMap<String, Patient>();
+        for (Patient patient : getByUuids(patientUuids)) {
+            patientsByUuid.put(patient.getUuid().toLowerCase(Locale.ENGLISH), patient);
+        }
+        List<Patient> patients = new ArrayList<Patient>();
+        for (String patientUuid : patientUuids) {
+            Patient patient = patientsByUuid.get(patientUuid.toLowerCase(Locale.ENGLISH));
+            if (patient != null) {
+                patients.add(patient);
             }
         }
-        return service.getObjects(StringUtil.EMPTY, daoClass, page, pageSize);
+        return patients;
     }
 
     private boolean containsDigit(final String term) {
@@ -10,23 +10,43 @@ package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
 import com.muzima.api.dao.SearchableDao;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.search.api.context.ServiceContext;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.service.RestAssuredService;
+import com.muzima.search.api.util.StringUtil;
+import org.apache.lucene.queryParser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * TODO: Write brief description about the class here.
  */
 public abstract class SearchableDaoImpl<T extends Searchable> implements SearchableDao<T> {
 
+    private static final int FIRST_PAGE = 1;
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private static final int MINIMUM_SLICE_SIZE = 50;
+
+    private static final int MAXIMUM_PREFIX_LENGTH = 4;
+
+    private static final int ITERATE_PAGE_SIZE = 500;
+
     protected Logger logger;
 
     protected Class<T> daoClass;
@@ -86,6 +106,18 @@ public abstract class SearchableDaoImpl<T extends Searchable> implements Searcha
                 context.getResource(resource));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see SearchableDao#upsert(java.util.List, String)
+     */
+    @Override
+    public void upsert(final List<T> objects, final String resource) throws IOException {
+        // the update deletes the documents matching the unique field of each object before writing the object, the
+        // delete of an object which was never saved simply matches nothing.
+        update(objects, resource);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -116,6 +148,258 @@ public abstract class SearchableDaoImpl<T extends Searchable> implements Searcha
         return service.getObjects(new ArrayList<Filter>(), daoClass, page, pageSize);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see SearchableDao#getAll(com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<T> getAll(final PageCursor cursor) throws IOException {
+        return getPage(StringUtil.EMPTY, cursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SearchableDao#iterateAll()
+     */
+    @Override
+    public PagedIterable<T> iterateAll() {
+        return iterate(StringUtil.EMPTY);
+    }
+
+    /**
+     * Get the objects matching the query, read lazily with the page cursor while iterating.
+     *
+     * @param query the lucene query of the objects, empty string for all objects.
+     * @return the iterable over the objects matching the query.
+     */
+    protected PagedIterable<T> iterate(final String query) {
+        return new PagedIterable<T>(ITERATE_PAGE_SIZE) {
+            @Override
+            protected Page<T> getPage(final PageCursor cursor) throws IOException {
+                return SearchableDaoImpl.this.getPage(query, cursor);
+            }
+        };
+    }
+
+    /**
+     * Append the term query matching the value of the field, when the value is not empty.
+     *
+     * @param query the query to append the term to.
+     * @param field the name of the field.
+     * @param value the value of the field.
+     */
+    protected static void appendTerm(final StringBuilder query, final String field, final String value) {
+        if (!StringUtil.isEmpty(value)) {
+            if (query.length() > 0) {
+                query.append(" AND ");
+            }
+            query.append(field).append(":\"").append(value).append("\"");
+        }
+    }
+
+    /**
+     * Get the name of the field holding the key of the page cursor, see <code>getCursorKey</code>.
+     *
+     * @return the name of the key field.
+     */
+    protected String getCursorKeyField() {
+        return "uuid";
+    }
+
+    /**
+     * Get the key ordering the objects read with the page cursor. The key must start with the value of the key field,
+     * a uuid, and must be unique for the objects matching the query of the page.
+     *
+     * @param object the object.
+     * @return the key of the object.
+     */
+    protected abstract String getCursorKey(final T object);
+
+    /**
+     * Get the page of objects matching the query at the position of the cursor. Only the slice of the uuid space at
+     * the position, and the following slices until the page is full, will be searched. The objects with a key outside
+     * of the uuid slices are read from one more slice after the uuid slices, which is only searched when the objects
+     * read from the uuid slices didn't add up to the number of objects counted for the first page.
+     *
+     * @param query  the lucene query of the objects, empty string for all objects.
+     * @param cursor the cursor of the page.
+     * @return the objects of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     */
+    protected Page<T> getPage(final String query, final PageCursor cursor) throws IOException {
+        try {
+            int pageSize = cursor.getPageSize();
+            int prefixLength = cursor.getPrefixLength();
+            int remaining = cursor.getRemaining();
+            if (cursor.isFirst()) {
+                Integer count;
+                if (StringUtil.isEmpty(query)) {
+                    count = service.countObjects(new ArrayList<Filter>(), daoClass);
+                } else {
+                    count = service.countObjects(query, daoClass);
+                }
+                prefixLength = getPrefixLength(count, pageSize);
+                remaining = count;
+            }
+            // the only slice of a zero length prefix holds every object, the other slice is not needed.
+            int sliceCount = 1 << (4 * prefixLength);
+            int otherSlice = prefixLength > 0 ? sliceCount : -1;
+            int slice = cursor.getSlice();
+            String lastKey = cursor.getLastKey();
+            int offset = cursor.getOffset();
+            List<T> objects = new ArrayList<T>();
+            while (hasSlice(slice, sliceCount, otherSlice, remaining) && objects.size() < pageSize) {
+                List<T> sliceObjects;
+                if (slice == otherSlice) {
+                    sliceObjects = getOtherSlice(query, prefixLength);
+                } else {
+                    sliceObjects = getSlice(query, getPrefix(slice, prefixLength));
+                }
+                for (int i = offset; i < sliceObjects.size(); i++) {
+                    T object = sliceObjects.get(i);
+                    String key = getNormalizedKey(object);
+                    // the keys of the other slice are not unique, the position in the slice is kept instead.
+                    if (slice == otherSlice || lastKey == null || key.compareTo(lastKey) > 0) {
+                        if (objects.size() == pageSize) {
+                            PageCursor nextCursor;
+                            if (slice == otherSlice) {
+                                nextCursor = new PageCursor(pageSize, prefixLength, slice, null, i, remaining);
+                            } else {
+                                nextCursor = new PageCursor(pageSize, prefixLength, slice, lastKey, 0, remaining);
+                            }
+                            return new Page<T>(objects, nextCursor);
+                        }
+                        objects.add(object);
+                        lastKey = key;
+                        if (slice != otherSlice && remaining > 0) {
+                            remaining--;
+                        }
+                    }
+                }
+                slice++;
+                lastKey = null;
+                offset = 0;
+            }
+            PageCursor nextCursor = null;
+            if (hasSlice(slice, sliceCount, otherSlice, remaining)) {
+                nextCursor = new PageCursor(pageSize, prefixLength, slice, null, 0, remaining);
+            }
+            return new Page<T>(objects, nextCursor);
+        } catch (ParseException e) {
+            throw new IOException("Unable to create query for the page: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether the slice still needs to be searched. The other slice is skipped when every counted object has
+     * been read from the uuid slices, the remaining count is not changed while reading the other slice.
+     */
+    private static boolean hasSlice(final int slice, final int sliceCount, final int otherSlice, final int remaining) {
+        return slice < sliceCount || (slice == otherSlice && remaining != 0);
+    }
+
+    /**
+     * Get the number of uuid characters identifying a slice, so a slice holds a couple of pages on average.
+     */
+    private static int getPrefixLength(final int count, final int pageSize) {
+        int sliceSize = Math.max(pageSize * 2, MINIMUM_SLICE_SIZE);
+        int prefixLength = 0;
+        long sliceCount = 1;
+        while (count > sliceSize * sliceCount && prefixLength < MAXIMUM_PREFIX_LENGTH) {
+            prefixLength++;
+            sliceCount = sliceCount * HEX_DIGITS.length();
+        }
+        return prefixLength;
+    }
+
+    private static String getPrefix(final int slice, final int prefixLength) {
+        char[] prefix = new char[prefixLength];
+        int remaining = slice;
+        for (int i = prefixLength - 1; i >= 0; i--) {
+            prefix[i] = HEX_DIGITS.charAt(remaining % HEX_DIGITS.length());
+            remaining = remaining / HEX_DIGITS.length();
+        }
+        return new String(prefix);
+    }
+
+    /**
+     * Check whether the key belongs to one of the uuid slices, the key must start with a hexadecimal prefix.
+     */
+    private static boolean isInUuidSlices(final String key, final int prefixLength) {
+        if (key.length() < prefixLength) {
+            return false;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (HEX_DIGITS.indexOf(key.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getNormalizedKey(final T object) {
+        String key = getCursorKey(object);
+        return key == null ? StringUtil.EMPTY : key.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Get the objects with the key starting with the prefix, ordered by the key.
+     */
+    private List<T> getSlice(final String query, final String prefix) throws IOException, ParseException {
+        StringBuilder sliceQuery = new StringBuilder();
+        if (!StringUtil.isEmpty(query)) {
+            sliceQuery.append("(").append(query).append(")");
+        }
+        if (!StringUtil.isEmpty(prefix)) {
+            if (sliceQuery.length() > 0) {
+                sliceQuery.append(" AND ");
+            }
+            sliceQuery.append(getCursorKeyField()).append(":").append(prefix).append("*");
+        }
+        List<T> objects = new ArrayList<T>();
+        for (T object : getObjects(sliceQuery.toString())) {
+            // the key field can be split into more than one term, only the start of the key decides the slice.
+            if (getNormalizedKey(object).startsWith(prefix)) {
+                objects.add(object);
+            }
+        }
+        return sortByKey(objects);
+    }
+
+    /**
+     * Get the objects matching the query with a key outside of the uuid slices, null keys included, ordered by the
+     * key. This reads every object matching the query, so the slice is only searched when the uuid slices didn't hold
+     * every counted object.
+     */
+    private List<T> getOtherSlice(final String query, final int prefixLength) throws IOException, ParseException {
+        List<T> objects = new ArrayList<T>();
+        for (T object : getObjects(query)) {
+            if (!isInUuidSlices(getNormalizedKey(object), prefixLength)) {
+                objects.add(object);
+            }
+        }
+        return sortByKey(objects);
+    }
+
+    private List<T> getObjects(final String query) throws IOException, ParseException {
+        if (StringUtil.isEmpty(query)) {
+            return service.getObjects(new ArrayList<Filter>(), daoClass);
+        }
+        return service.getObjects(query, daoClass);
+    }
+
+    private List<T> sortByKey(final List<T> objects) {
+        Collections.sort(objects, new Comparator<T>() {
+            @Override
+            public int compare(final T object, final T otherObject) {
+                return getNormalizedKey(object).compareTo(getNormalizedKey(otherObject));
+            }
+        });
+        return objects;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -137,4 +421,47 @@ public abstract class SearchableDaoImpl<T extends Searchable> implements Searcha
                 Arrays.asList(objects.toArray(new Searchable[objects.size()])),
                 context.getResource(resource));
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SearchableDao#deleteByFilters(java.util.List, String)
+     */
+    @Override
+    public void deleteByFilters(final List<Filter> filters, final String resource) throws IOException {
+        // pages of the search api start at 1, the deleted objects are gone from the next first page.
+        List<T> objects = service.getObjects(filters, daoClass, FIRST_PAGE, DELETE_BATCH_SIZE);
+        while (!objects.isEmpty()) {
+            delete(objects, resource);
+            List<T> nextObjects = service.getObjects(filters, daoClass, FIRST_PAGE, DELETE_BATCH_SIZE);
+            // the delete matches on the unique field, objects without it are not deleted and the page stays the same.
+            if (isSamePage(objects, nextObjects)) {
+                throw new IOException("Unable to delete " + objects.size() + " " + daoClass.getSimpleName()
+                        + " using resource: " + resource);
+            }
+            objects = nextObjects;
+        }
+    }
+
+    private boolean isSamePage(final List<T> objects, final List<T> otherObjects) {
+        if (objects.size() != otherObjects.size()) {
+            return false;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            if (!getNormalizedKey(objects.get(i)).equals(getNormalizedKey(otherObjects.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SearchableDao#deleteAll(String)
+     */
+    @Override
+    public void deleteAll(final String resource) throws IOException {
+        deleteByFilters(new ArrayList<Filter>(), resource);
+    }
 }
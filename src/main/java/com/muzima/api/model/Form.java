@@ -8,6 +8,10 @@
 
 package com.muzima.api.model;
 
+import com.muzima.search.api.util.StringUtil;
+
+import java.util.Locale;
+
 /**
  * A form is a class to hold form reference in the server. Each form will have one to one connection with a
  * FormTemplate.
@@ -114,11 +118,18 @@ public class Form extends OpenmrsSearchable implements Comparable<Form> {
         this.retired = retired;
     }
 
+    /**
+     * Get the normalized name used to sort the forms. The name is not indexed, the forms are sorted in memory after
+     * they have been read.
+     *
+     * @return the lower case name of the form, or empty string when the form has no name.
+     */
+    public String getSortName() {
+        return getName() == null ? StringUtil.EMPTY : getName().toLowerCase(Locale.ENGLISH);
+    }
+
     @Override
     public int compareTo(Form form) {
-        if (this.getName() != null && form.getName() != null) {
-            return this.getName().toLowerCase().compareTo(form.getName().toLowerCase());
-        }
-        return 0;
+        return this.getSortName().compareTo(form.getSortName());
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model;
+
+import java.util.List;
+
+/**
+ * Page of saved objects read with a page cursor, together with the cursor of the following page.
+ *
+ * @see PageCursor
+ */
+public class Page<T> {
+
+    private final List<T> objects;
+
+    private final PageCursor nextCursor;
+
+    public Page(final List<T> objects, final PageCursor nextCursor) {
+        this.objects = objects;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the objects of the page, at most the page size of the cursor.
+     *
+     * @return the objects of the page.
+     */
+    public List<T> getObjects() {
+        return objects;
+    }
+
+    /**
+     * Get the cursor of the following page.
+     *
+     * @return the cursor of the following page, or null when this is the last page.
+     */
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
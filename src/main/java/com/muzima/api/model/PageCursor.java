@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model;
+
+import java.io.Serializable;
+
+/**
+ * Position in a list of saved objects, read one page at a time. Create the cursor with the page size for the first
+ * page and use the next cursor of every page to read the following page.
+ * <p/>
+ * The objects are ordered by their uuid, and the uuid space is split into slices sized to the number of objects
+ * when the first page is read. Every page is read from the slices following the position of the cursor, so reading a
+ * page costs the same no matter how deep the page is. Objects saved after the first page will show up when their
+ * uuid is after the position of the cursor. Objects without a uuid, or with a uuid outside of the hexadecimal
+ * alphabet, are read after all the other objects.
+ */
+public class PageCursor implements Serializable {
+
+    private final int pageSize;
+
+    private final int prefixLength;
+
+    private final int slice;
+
+    private final String lastKey;
+
+    private final int offset;
+
+    private final int remaining;
+
+    /**
+     * Create the cursor for the first page.
+     *
+     * @param pageSize the maximum number of objects in a page.
+     */
+    public PageCursor(final int pageSize) {
+        this(pageSize, -1, 0, null);
+    }
+
+    /**
+     * Create the cursor for the page after the position. This is used by the daos to create the next cursor.
+     *
+     * @param pageSize     the maximum number of objects in a page.
+     * @param prefixLength the number of uuid characters identifying a slice.
+     * @param slice        the index of the slice of the position.
+     * @param lastKey      the key of the last object read from the slice, or null for the start of the slice.
+     */
+    public PageCursor(final int pageSize, final int prefixLength, final int slice, final String lastKey) {
+        this(pageSize, prefixLength, slice, lastKey, 0, -1);
+    }
+
+    /**
+     * Create the cursor for the page after the position. This is used by the daos to create the next cursor.
+     *
+     * @param pageSize     the maximum number of objects in a page.
+     * @param prefixLength the number of uuid characters identifying a slice.
+     * @param slice        the index of the slice of the position.
+     * @param lastKey      the key of the last object read from the slice, or null for the start of the slice.
+     * @param offset       the number of objects read from a slice without unique keys.
+     * @param remaining    the number of objects not read yet, or negative number when not known.
+     */
+    public PageCursor(final int pageSize, final int prefixLength, final int slice, final String lastKey,
+                      final int offset, final int remaining) {
+        this.pageSize = Math.max(pageSize, 1);
+        this.prefixLength = prefixLength;
+        this.slice = slice;
+        this.lastKey = lastKey;
+        this.offset = offset;
+        this.remaining = remaining;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Get the number of uuid characters identifying a slice.
+     *
+     * @return the prefix length, or negative number when no page has been read yet.
+     */
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    public int getSlice() {
+        return slice;
+    }
+
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Get the number of objects already read from the slice of the position, used for the slice of the objects
+     * outside of the uuid slices where more than one object can have the same key.
+     *
+     * @return the number of objects read from the slice.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the number of objects not read yet, counted when the first page was read.
+     *
+     * @return the number of objects not read yet, or negative number when not known.
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Check whether this is the cursor of the first page.
+     *
+     * @return true when no page has been read with this cursor yet.
+     */
+    public boolean isFirst() {
+        return prefixLength < 0;
+    }
+}
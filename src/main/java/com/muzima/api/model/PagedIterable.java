@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Saved objects read lazily one page at a time while iterating, instead of building the list of all objects first.
+ * Only the objects of the current page are held by an iterator, so memory use doesn't grow with the number of objects.
+ * <p/>
+ * Every iterator starts from the first page. Close the iterable when done, iterators of a closed iterable don't read
+ * any more pages. Failure to read a page is thrown from the iterator as <code>IllegalStateException</code> with the
+ * <code>IOException</code> as the cause.
+ *
+ * @see PageCursor
+ */
+public abstract class PagedIterable<T> implements Iterable<T>, Closeable {
+
+    private final int pageSize;
+
+    private volatile boolean closed;
+
+    protected PagedIterable(final int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Read the page of objects at the position of the cursor.
+     *
+     * @param cursor the cursor of the page.
+     * @return the objects of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     */
+    protected abstract Page<T> getPage(final PageCursor cursor) throws IOException;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PagedIterator();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private class PagedIterator implements Iterator<T> {
+
+        private PageCursor cursor = new PageCursor(pageSize);
+
+        private Iterator<T> objects = Collections.<T>emptyList().iterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!closed && !objects.hasNext() && cursor != null) {
+                Page<T> page;
+                try {
+                    page = getPage(cursor);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to read the next page of objects.", e);
+                }
+                objects = page.getObjects().iterator();
+                cursor = page.getNextCursor();
+            }
+            if (closed) {
+                // release the objects of the current page.
+                objects = Collections.<T>emptyList().iterator();
+                cursor = null;
+            }
+            return objects.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return objects.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Use the service to delete the objects.");
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.muzima.search.api.util.StringUtil;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 
 public class Patient extends Person implements Comparable<Patient> {
 
@@ -113,12 +114,19 @@ public class Patient extends Person implements Comparable<Patient> {
         return getFamilyName() + ", " + getGivenName().substring(0, 1) + middleNameAbbr;
     }
 
+    /**
+     * Get the normalized display name used to sort the patients. The name is not indexed, the patients are sorted in
+     * memory after they have been read.
+     *
+     * @return the lower case display name of the patient.
+     */
+    public String getSortName() {
+        return getDisplayName().toLowerCase(Locale.ENGLISH);
+    }
+
     @Override
     public int compareTo(Patient patient) {
-        if (this.getDisplayName() != null && patient.getDisplayName() != null) {
-            return this.getDisplayName().toLowerCase().compareTo(patient.getDisplayName().toLowerCase());
-        }
-        return 0;
+        return this.getSortName().compareTo(patient.getSortName());
     }
 
     /**
@@ -8,9 +8,235 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.model.serialization.Algorithm;
+import com.muzima.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * Base class for the algorithms reading the openmrs json representation. The json will be read in a single pass
+ * using the streaming parser and composite algorithms will hand the same parser to their children, so nested
+ * objects are never turned back into string to be parsed again.
  */
 public abstract class BaseOpenmrsAlgorithm implements Algorithm {
+
+    private static final String NULL_JSON = "null";
+
+    public static final String OBJECT_ROOT_NODE = "$";
+
+    public static final String RESULTS_ROOT_NODE = "$['results']";
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private static final int MAXIMUM_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<StringWriter> buffers = new ThreadLocal<StringWriter>();
+
+    /**
+     * Implementation of this method will define how the object will be serialized from the String representation.
+     *
+     * @param serialized the string representation
+     * @return the concrete object
+     */
+    @Override
+    public Searchable deserialize(final String serialized) throws IOException {
+        JsonParser parser = JsonUtils.createParser(serialized);
+        try {
+            parser.nextToken();
+            return deserialize(parser);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Implementation of this method will define how the object will be read from the current token of the parser.
+     * When the parser is positioned on the start of a json object, the parser must be left on the matching end of
+     * the object. Any other value must be skipped and the object will be returned with the default values.
+     *
+     * @param parser the parser positioned on the json representation
+     * @return the concrete object
+     */
+    public abstract Searchable deserialize(final JsonParser parser) throws IOException;
+
+    /**
+     * Read all the objects under the root node of the json representation from the stream. Only the root node of a
+     * single object and the root node of the results array are supported.
+     *
+     * @param stream   the stream of the json representation.
+     * @param rootNode the root node of the objects.
+     * @return the concrete objects.
+     * @see #isSupportedRootNode(String)
+     */
+    public List<Searchable> deserialize(final InputStream stream, final String rootNode) throws IOException {
+        if (!isSupportedRootNode(rootNode)) {
+            throw new IOException("Unsupported root node: " + rootNode);
+        }
+        List<Searchable> searchables = new ArrayList<Searchable>();
+        JsonParser parser = JsonUtils.createParser(stream);
+        try {
+            parser.nextToken();
+            if (startObject(parser)) {
+                if (OBJECT_ROOT_NODE.equals(rootNode)) {
+                    searchables.add(deserialize(parser));
+                } else {
+                    String field;
+                    while ((field = nextField(parser)) != null) {
+                        if ("results".equals(field) && startArray(parser)) {
+                            while (nextElement(parser)) {
+                                if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                                    searchables.add(deserialize(parser));
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        } finally {
+            parser.close();
+        }
+        return searchables;
+    }
+
+    /**
+     * Check whether the objects under the root node can be read by {@link #deserialize(InputStream, String)}.
+     *
+     * @param rootNode the root node of the objects.
+     * @return true when the root node is supported.
+     */
+    public static boolean isSupportedRootNode(final String rootNode) {
+        return OBJECT_ROOT_NODE.equals(rootNode) || RESULTS_ROOT_NODE.equals(rootNode);
+    }
+
+    /**
+     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     *
+     * @param object the object
+     * @return the string representation
+     */
+    @Override
+    public String serialize(final Searchable object) throws IOException {
+        // take the buffer out while it's being used, serializing another object from the same thread in the middle
+        // of this call will get a new buffer instead.
+        StringWriter writer = buffers.get();
+        buffers.set(null);
+        if (writer == null) {
+            writer = new StringWriter(INITIAL_BUFFER_SIZE);
+        } else {
+            writer.getBuffer().setLength(0);
+        }
+        try {
+            JsonGenerator generator = JsonUtils.createGenerator(writer);
+            try {
+                serialize(object, generator);
+            } finally {
+                generator.close();
+            }
+            return writer.toString();
+        } finally {
+            if (writer.getBuffer().capacity() <= MAXIMUM_BUFFER_SIZE) {
+                buffers.set(writer);
+            }
+        }
+    }
+
+    /**
+     * Write the json representation of the object into the generator. Null object will be written as json null.
+     *
+     * @param object    the object
+     * @param generator the generator to write the json representation to
+     */
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
+        if (object == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartObject();
+            serializeFields(object, generator);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Implementation of this method will define how the fields of the object will be written into the generator.
+     *
+     * @param object    the object
+     * @param generator the generator positioned inside the json object of the object
+     */
+    protected abstract void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException;
+
+    /**
+     * Create the object with the default values, the same object which will be read from a json null value.
+     * Composite algorithms use this for the nested objects missing from the json representation.
+     *
+     * @return the concrete object with the default values.
+     */
+    public Searchable createEmpty() throws IOException {
+        return deserialize(NULL_JSON);
+    }
+
+    /**
+     * Check whether the parser is positioned on the start of a json object. Any other value will be skipped.
+     *
+     * @param parser the parser.
+     * @return true when the parser is positioned on the start of a json object.
+     */
+    protected static boolean startObject(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Move the parser to the value of the next field in the current json object.
+     *
+     * @param parser the parser.
+     * @return the name of the field or null when there's no more field in the current json object.
+     */
+    protected static String nextField(final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        return field;
+    }
+
+    /**
+     * Check whether the parser is positioned on the start of a json array. Any other value will be skipped.
+     *
+     * @param parser the parser.
+     * @return true when the parser is positioned on the start of a json array.
+     */
+    protected static boolean startArray(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Move the parser to the next element in the current json array.
+     *
+     * @param parser the parser.
+     * @return true when the parser is positioned on the next element, false at the end of the json array.
+     */
+    protected static boolean nextElement(final JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        return token != null && token != JsonToken.END_ARRAY;
+    }
 }
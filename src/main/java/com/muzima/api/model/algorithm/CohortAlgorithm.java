@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Cohort;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -22,33 +23,43 @@ public class CohortAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Cohort cohort = new Cohort();
-        cohort.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        cohort.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        cohort.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        cohort.setDynamic(JsonUtils.readAsBoolean(serialized, "$['dynamic']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    cohort.setUuid(JsonUtils.readAsString(parser));
+                } else if ("voided".equals(field)) {
+                    cohort.setVoided(JsonUtils.readAsBoolean(parser));
+                } else if ("name".equals(field)) {
+                    cohort.setName(JsonUtils.readAsString(parser));
+                } else if ("dynamic".equals(field)) {
+                    cohort.setDynamic(JsonUtils.readAsBoolean(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return cohort;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Cohort cohort = (Cohort) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", cohort.getUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", cohort.isVoided());
-        JsonUtils.writeAsString(jsonObject, "name", cohort.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "dynamic", cohort.isDynamic());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", cohort.getUuid());
+        JsonUtils.writeAsBoolean(generator, "voided", cohort.isVoided());
+        JsonUtils.writeAsString(generator, "name", cohort.getName());
+        JsonUtils.writeAsBoolean(generator, "dynamic", cohort.isDynamic());
     }
 }
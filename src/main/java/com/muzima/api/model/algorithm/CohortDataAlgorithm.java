@@ -7,18 +7,21 @@
  */
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
 import com.muzima.api.model.Patient;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -44,67 +47,201 @@ public class CohortDataAlgorithm extends BaseOpenmrsAlgorithm {
 
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
+     * Static cohort data comes as the list of cohort members under the "results" field, while dynamic cohort data
+     * comes as the cohort "definition" and the list of patient "members".
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
-        CohortData cohortData = new CohortData();
-        try {
-            processStaticCohortDataObject(cohortData, serialized);
-        } catch (InvalidPathException invalidStaticCohortException) {
-            try {
-                processDynamicCohortDataObject(cohortData, serialized);
-            } catch (InvalidPathException invalidDynamicCohortException) {
-                logger.error("Unable to tell if the data is dynamic or static cohort!", invalidDynamicCohortException);
+    public Searchable deserialize(final JsonParser parser) throws IOException {
+        final CohortData cohortData = new CohortData();
+        deserialize(parser, new CohortDataConsumer() {
+            @Override
+            public void consumeCohort(final Cohort cohort) {
+                cohortData.setCohort(cohort);
             }
-        }
+
+            @Override
+            public void consumeCohortMember(final CohortMember cohortMember) {
+                cohortData.addCohortMember(cohortMember);
+                cohortData.addPatient(cohortMember.getPatient());
+            }
+        });
         return cohortData;
     }
 
-    private void processStaticCohortDataObject(final CohortData cohortData, final String serialized) throws IOException {
-        Cohort cohort = new Cohort();
-        List<Object> cohortObjects = JsonPath.read(serialized, "$['results'][*]['cohort']");
-        for (Object cohortObject : cohortObjects) {
-            cohort = (Cohort) cohortAlgorithm.deserialize(String.valueOf(cohortObject));
-            if (!StringUtil.isEmpty(cohort.getUuid()) && !StringUtil.isEmpty(cohort.getName())) {
-                break;
+    /**
+     * Read the cohort data from the json stream and hand each cohort member to the consumer as soon as it's read.
+     * The stream will be closed when the whole cohort data is read.
+     *
+     * @param stream   the json stream of the cohort data.
+     * @param consumer the consumer of the cohort and the cohort members.
+     * @return the cohort of the cohort data or null when the data is not a cohort data.
+     */
+    public Cohort deserialize(final InputStream stream, final CohortDataConsumer consumer) throws IOException {
+        JsonParser parser = JsonUtils.createParser(stream);
+        try {
+            parser.nextToken();
+            return deserialize(parser, consumer);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Read the cohort data from the current token of the parser and hand each cohort member to the consumer as soon
+     * as it's read. Only the patients read before the cohort itself will be held in memory, and they are handed over
+     * at the latest at the end of the members, also when no cohort was found.
+     *
+     * @param parser   the parser positioned on the json representation.
+     * @param consumer the consumer of the cohort and the cohort members.
+     * @return the cohort of the cohort data or null when the data is not a cohort data.
+     */
+    public Cohort deserialize(final JsonParser parser, final CohortDataConsumer consumer) throws IOException {
+        CohortDataReader reader = new CohortDataReader(consumer);
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("results".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            processStaticCohortMember(parser, reader);
+                        }
+                    }
+                    reader.staticCohortRead();
+                } else if ("definition".equals(field)) {
+                    reader.dynamicCohortRead((Cohort) cohortAlgorithm.deserialize(parser));
+                } else if ("members".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            reader.patientRead((Patient) patientAlgorithm.deserialize(parser));
+                        }
+                    }
+                    reader.dynamicMembersRead();
+                } else {
+                    parser.skipChildren();
+                }
             }
         }
-        cohort.setDynamic(false);
-        cohortData.setCohort(cohort);
-
-        List<Object> patientObjects = JsonPath.read(serialized, "$['results'][*]['patient']");
-        for (Object patientObject : patientObjects) {
-            Patient patient = (Patient) patientAlgorithm.deserialize(String.valueOf(patientObject));
-            cohortData.addCohortMember(new CohortMember(cohort, patient));
-            cohortData.addPatient(patient);
+        Cohort cohort = reader.finish();
+        if (cohort == null) {
+            logger.error("Unable to tell if the data is dynamic or static cohort!");
         }
+        return cohort;
     }
 
-    private void processDynamicCohortDataObject(final CohortData cohortData, final String serialized) throws IOException {
-        Object definitionObject = JsonPath.read(serialized, "$['definition']");
-        Cohort cohort = (Cohort) cohortAlgorithm.deserialize(String.valueOf(definitionObject));
-        cohort.setDynamic(true);
-        cohortData.setCohort(cohort);
-
-        List<Object> patientObjects = JsonPath.read(serialized, "$['members']");
-        for (Object patientObject : patientObjects) {
-            Patient patient = (Patient) patientAlgorithm.deserialize(String.valueOf(patientObject));
-            cohortData.addCohortMember(new CohortMember(cohort, patient));
-            cohortData.addPatient(patient);
+    private void processStaticCohortMember(final JsonParser parser, final CohortDataReader reader) throws IOException {
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("cohort".equals(field)) {
+                    reader.memberCohortRead((Cohort) cohortAlgorithm.deserialize(parser));
+                } else if ("patient".equals(field)) {
+                    reader.patientRead((Patient) patientAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         throw new IOException("Serializing the cohort data object is not supported right now!");
     }
+
+    /**
+     * Keep track of the cohort while the cohort data is being read. Patients read before the cohort is known are
+     * held until the cohort is found, after that every patient is handed over to the consumer right away. The held
+     * patients of static cohort data are handed over at the end of the members, with the last cohort read when none
+     * of the cohorts has both uuid and name. The held patients of dynamic cohort data are handed over when the
+     * definition is read, or at the end of the cohort data with an empty cohort when there's no definition.
+     */
+    private static class CohortDataReader {
+
+        private final CohortDataConsumer consumer;
+
+        private final List<Patient> pendingPatients = new ArrayList<Patient>();
+
+        private Cohort cohort;
+
+        private boolean staticCohort;
+
+        private boolean dynamicCohort;
+
+        private boolean consumed;
+
+        private CohortDataReader(final CohortDataConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        private void memberCohortRead(final Cohort memberCohort) throws IOException {
+            // pick the first cohort with both uuid and name.
+            if (!consumed) {
+                cohort = memberCohort;
+                if (!StringUtil.isEmpty(cohort.getUuid()) && !StringUtil.isEmpty(cohort.getName())) {
+                    consume(false);
+                }
+            }
+        }
+
+        private void staticCohortRead() throws IOException {
+            staticCohort = true;
+            // don't hold the patients until the end of the cohort data when no cohort has both uuid and name.
+            if (!consumed) {
+                if (cohort == null) {
+                    cohort = new Cohort();
+                }
+                consume(false);
+            }
+        }
+
+        private void dynamicMembersRead() {
+            dynamicCohort = true;
+        }
+
+        private void dynamicCohortRead(final Cohort definition) throws IOException {
+            if (!consumed) {
+                cohort = definition;
+                consume(true);
+            }
+        }
+
+        private void patientRead(final Patient patient) throws IOException {
+            if (consumed) {
+                consumer.consumeCohortMember(new CohortMember(cohort, patient));
+            } else {
+                pendingPatients.add(patient);
+            }
+        }
+
+        private Cohort finish() throws IOException {
+            if (!consumed) {
+                if (!dynamicCohort) {
+                    return null;
+                }
+                // the members of a dynamic cohort without definition are still handed over.
+                cohort = new Cohort();
+                consume(true);
+            }
+            return cohort;
+        }
+
+        private void consume(final boolean dynamic) throws IOException {
+            consumed = true;
+            cohort.setDynamic(dynamic);
+            consumer.consumeCohort(cohort);
+            for (Patient patient : pendingPatients) {
+                consumer.consumeCohortMember(new CohortMember(cohort, patient));
+            }
+            pendingPatients.clear();
+        }
+    }
 }
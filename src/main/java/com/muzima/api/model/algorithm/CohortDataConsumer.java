@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortMember;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the cohort data while it's being read from the json representation. The cohort will be handed over
+ * once before any of the cohort member, and each cohort member (together with the patient) will be handed over as
+ * soon as it's read, so the caller doesn't need to keep the whole cohort data in memory.
+ */
+public interface CohortDataConsumer {
+
+    /**
+     * Receive the cohort of the cohort data being read.
+     *
+     * @param cohort the cohort.
+     * @throws IOException when the consumer unable to process the cohort.
+     */
+    void consumeCohort(final Cohort cohort) throws IOException;
+
+    /**
+     * Receive a single cohort member of the cohort data being read.
+     *
+     * @param cohortMember the cohort member, holding the cohort and the patient.
+     * @throws IOException when the consumer unable to process the cohort member.
+     */
+    void consumeCohortMember(final CohortMember cohortMember) throws IOException;
+}
@@ -8,17 +8,15 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.ConceptName;
 import com.muzima.api.model.ConceptType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * TODO: Write brief description about the class here.
@@ -46,45 +44,58 @@ public class ConceptAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Concept concept = new Concept();
-        concept.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        concept.setUnit(JsonUtils.readAsString(serialized, "$['units']"));
-        concept.setPrecise(JsonUtils.readAsBoolean(serialized, "$['precise']"));
-        Object conceptTypeObject = JsonUtils.readAsObject(serialized, "$['datatype']");
-        concept.setConceptType((ConceptType) conceptTypeAlgorithm.deserialize(String.valueOf(conceptTypeObject)));
-        List<Object> conceptNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
-        for (Object conceptNameObject : conceptNameObjects) {
-            concept.addName((ConceptName) conceptNameAlgorithm.deserialize(String.valueOf(conceptNameObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    concept.setUuid(JsonUtils.readAsString(parser));
+                } else if ("units".equals(field)) {
+                    concept.setUnit(JsonUtils.readAsString(parser));
+                } else if ("precise".equals(field)) {
+                    concept.setPrecise(JsonUtils.readAsBoolean(parser));
+                } else if ("datatype".equals(field)) {
+                    concept.setConceptType((ConceptType) conceptTypeAlgorithm.deserialize(parser));
+                } else if ("names".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            concept.addName((ConceptName) conceptNameAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (concept.getConceptType() == null) {
+            concept.setConceptType((ConceptType) conceptTypeAlgorithm.createEmpty());
         }
         return concept;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Concept concept = (Concept) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", concept.getUuid());
-        JsonUtils.writeAsString(jsonObject, "units", concept.getUnit());
-        JsonUtils.writeAsBoolean(jsonObject, "precise", concept.isPrecise());
-        String conceptType = conceptTypeAlgorithm.serialize(concept.getConceptType());
-        jsonObject.put("datatype", JsonPath.read(conceptType, "$"));
-        JSONArray jsonArray = new JSONArray();
+        JsonUtils.writeAsString(generator, "uuid", concept.getUuid());
+        JsonUtils.writeAsString(generator, "units", concept.getUnit());
+        JsonUtils.writeAsBoolean(generator, "precise", concept.isPrecise());
+        generator.writeFieldName("datatype");
+        conceptTypeAlgorithm.serialize(concept.getConceptType(), generator);
+        generator.writeArrayFieldStart("names");
         for (ConceptName conceptName : concept.getConceptNames()) {
-            String name = conceptNameAlgorithm.serialize(conceptName);
-            jsonArray.add(JsonPath.read(name, "$"));
+            conceptNameAlgorithm.serialize(conceptName, generator);
         }
-        jsonObject.put("names", jsonArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
     }
 }
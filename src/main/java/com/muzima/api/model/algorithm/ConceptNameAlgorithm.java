@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.ConceptName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,31 +26,40 @@ public class ConceptNameAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         ConceptName conceptName = new ConceptName();
-        conceptName.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        conceptName.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        conceptName.setPreferred(JsonUtils.readAsBoolean(serialized, "$['localePreferred']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    conceptName.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    conceptName.setName(JsonUtils.readAsString(parser));
+                } else if ("localePreferred".equals(field)) {
+                    conceptName.setPreferred(JsonUtils.readAsBoolean(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return conceptName;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         ConceptName conceptName = (ConceptName) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", conceptName.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", conceptName.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "localePreferred", conceptName.isPreferred());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", conceptName.getUuid());
+        JsonUtils.writeAsString(generator, "name", conceptName.getName());
+        JsonUtils.writeAsBoolean(generator, "localePreferred", conceptName.isPreferred());
     }
 }
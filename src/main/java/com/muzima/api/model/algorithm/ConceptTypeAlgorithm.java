@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.ConceptType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,29 +26,37 @@ public class ConceptTypeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         ConceptType conceptType = new ConceptType();
-        conceptType.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        conceptType.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    conceptType.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    conceptType.setName(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return conceptType;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         ConceptType conceptType = (ConceptType) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", conceptType.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", conceptType.getName());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", conceptType.getUuid());
+        JsonUtils.writeAsString(generator, "name", conceptType.getName());
     }
 }
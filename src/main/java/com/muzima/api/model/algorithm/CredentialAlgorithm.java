@@ -8,61 +8,59 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Credential;
 import com.muzima.search.api.model.object.Searchable;
-import com.muzima.search.api.model.serialization.Algorithm;
-import net.minidev.json.JSONObject;
+import com.muzima.util.JsonUtils;
 
 import java.io.IOException;
 
-public class CredentialAlgorithm implements Algorithm {
+public class CredentialAlgorithm extends BaseOpenmrsAlgorithm {
 
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Credential user = new Credential();
-
-        Object jsonObject = JsonPath.read(json, "$");
-
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
-        user.setUuid(uuid);
-
-        String userUuid = JsonPath.read(jsonObject, "$['user.uuid']");
-        user.setUserUuid(userUuid);
-
-        String username = JsonPath.read(jsonObject, "$['username']");
-        user.setUsername(username);
-
-        String password = JsonPath.read(jsonObject, "$['password']");
-        user.setPassword(password);
-
-        String seed = JsonPath.read(jsonObject, "$['salt']");
-        user.setSalt(seed);
-
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    user.setUuid(JsonUtils.readAsString(parser));
+                } else if ("user.uuid".equals(field)) {
+                    user.setUserUuid(JsonUtils.readAsString(parser));
+                } else if ("username".equals(field)) {
+                    user.setUsername(JsonUtils.readAsString(parser));
+                } else if ("password".equals(field)) {
+                    user.setPassword(JsonUtils.readAsString(parser));
+                } else if ("salt".equals(field)) {
+                    user.setSalt(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return user;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Credential credential = (Credential) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("uuid", credential.getUuid());
-        jsonObject.put("user.uuid", credential.getUserUuid());
-        jsonObject.put("username", credential.getUsername());
-        jsonObject.put("password", credential.getPassword());
-        jsonObject.put("salt", credential.getSalt());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", credential.getUuid());
+        JsonUtils.writeAsString(generator, "user.uuid", credential.getUserUuid());
+        JsonUtils.writeAsString(generator, "username", credential.getUsername());
+        JsonUtils.writeAsString(generator, "password", credential.getPassword());
+        JsonUtils.writeAsString(generator, "salt", credential.getSalt());
     }
 }
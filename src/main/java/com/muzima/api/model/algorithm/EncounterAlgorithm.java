@@ -8,7 +8,8 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Encounter;
 import com.muzima.api.model.EncounterType;
 import com.muzima.api.model.Location;
@@ -16,7 +17,6 @@ import com.muzima.api.model.Patient;
 import com.muzima.api.model.Person;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -49,49 +49,71 @@ public class EncounterAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Encounter encounter = new Encounter();
-        encounter.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        encounter.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        encounter.setEncounterDatetime(JsonUtils.readAsDateTime(serialized, "$['encounterDatetime']"));
-        encounter.setFormDataUuid(JsonUtils.readAsString(serialized, "$['formDataUuid']"));
-        Object patientObject = JsonUtils.readAsObject(serialized, "$['patient']");
-        encounter.setPatient((Patient) patientAlgorithm.deserialize(String.valueOf(patientObject)));
-        Object providerObject = JsonUtils.readAsObject(serialized, "$['provider']");
-        encounter.setProvider((Person) personAlgorithm.deserialize(String.valueOf(providerObject)));
-        Object locationObject = JsonUtils.readAsObject(serialized, "$['location']");
-        encounter.setLocation((Location) locationAlgorithm.deserialize(String.valueOf(locationObject)));
-        Object encounterTypeObject = JsonUtils.readAsObject(serialized, "$['encounterType']");
-        encounter.setEncounterType((EncounterType) encounterTypeAlgorithm.deserialize(String.valueOf(encounterTypeObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    encounter.setUuid(JsonUtils.readAsString(parser));
+                } else if ("voided".equals(field)) {
+                    encounter.setVoided(JsonUtils.readAsBoolean(parser));
+                } else if ("encounterDatetime".equals(field)) {
+                    encounter.setEncounterDatetime(JsonUtils.readAsDateTime(parser));
+                } else if ("formDataUuid".equals(field)) {
+                    encounter.setFormDataUuid(JsonUtils.readAsString(parser));
+                } else if ("patient".equals(field)) {
+                    encounter.setPatient((Patient) patientAlgorithm.deserialize(parser));
+                } else if ("provider".equals(field)) {
+                    encounter.setProvider((Person) personAlgorithm.deserialize(parser));
+                } else if ("location".equals(field)) {
+                    encounter.setLocation((Location) locationAlgorithm.deserialize(parser));
+                } else if ("encounterType".equals(field)) {
+                    encounter.setEncounterType((EncounterType) encounterTypeAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (encounter.getPatient() == null) {
+            encounter.setPatient((Patient) patientAlgorithm.createEmpty());
+        }
+        if (encounter.getProvider() == null) {
+            encounter.setProvider((Person) personAlgorithm.createEmpty());
+        }
+        if (encounter.getLocation() == null) {
+            encounter.setLocation((Location) locationAlgorithm.createEmpty());
+        }
+        if (encounter.getEncounterType() == null) {
+            encounter.setEncounterType((EncounterType) encounterTypeAlgorithm.createEmpty());
+        }
         return encounter;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Encounter encounter = (Encounter) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", encounter.getUuid());
-        JsonUtils.writeAsString(jsonObject, "formDataUuid", encounter.getFormDataUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", encounter.isVoided());
-        JsonUtils.writeAsDateTime(jsonObject, "encounterDatetime", encounter.getEncounterDatetime());
-        String patient = patientAlgorithm.serialize(encounter.getPatient());
-        jsonObject.put("patient", JsonPath.read(patient, "$"));
-        String provider = personAlgorithm.serialize(encounter.getProvider());
-        jsonObject.put("provider", JsonPath.read(provider, "$"));
-        String location = locationAlgorithm.serialize(encounter.getLocation());
-        jsonObject.put("location", JsonPath.read(location, "$"));
-        String encounterType = encounterTypeAlgorithm.serialize(encounter.getEncounterType());
-        jsonObject.put("encounterType", JsonPath.read(encounterType, "$"));
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", encounter.getUuid());
+        JsonUtils.writeAsString(generator, "formDataUuid", encounter.getFormDataUuid());
+        JsonUtils.writeAsBoolean(generator, "voided", encounter.isVoided());
+        JsonUtils.writeAsDateTime(generator, "encounterDatetime", encounter.getEncounterDatetime());
+        generator.writeFieldName("patient");
+        patientAlgorithm.serialize(encounter.getPatient(), generator);
+        generator.writeFieldName("provider");
+        personAlgorithm.serialize(encounter.getProvider(), generator);
+        generator.writeFieldName("location");
+        locationAlgorithm.serialize(encounter.getLocation(), generator);
+        generator.writeFieldName("encounterType");
+        encounterTypeAlgorithm.serialize(encounter.getEncounterType(), generator);
     }
 }
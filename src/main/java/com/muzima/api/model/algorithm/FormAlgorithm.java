@@ -8,12 +8,12 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Form;
 import com.muzima.api.model.Tag;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -26,63 +26,82 @@ public class FormAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
-
-
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Form form = new Form();
-        form.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        form.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        form.setRetired(JsonUtils.readAsBoolean(serialized, "$['retired']"));
-        form.setDescription(JsonUtils.readAsString(serialized, "$['description']"));
-        form.setDiscriminator(JsonUtils.readAsString(serialized, "$['discriminator']"));
-        List<Object> objects = JsonUtils.readAsObjectList(serialized, "$['tags']");
         List<Tag> formTags = new ArrayList<Tag>();
-        for (Object tagObject : objects) {
-            Tag formTag = new Tag();
-            String tagString = String.valueOf(tagObject);
-            formTag.setName(JsonUtils.readAsString(tagString, "name"));
-            formTag.setUuid(JsonUtils.readAsString(tagString, "uuid"));
-            formTags.add(formTag);
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    form.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    form.setName(JsonUtils.readAsString(parser));
+                } else if ("retired".equals(field)) {
+                    form.setRetired(JsonUtils.readAsBoolean(parser));
+                } else if ("description".equals(field)) {
+                    form.setDescription(JsonUtils.readAsString(parser));
+                } else if ("discriminator".equals(field)) {
+                    form.setDiscriminator(JsonUtils.readAsString(parser));
+                } else if ("tags".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            formTags.add(readTag(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
         form.setTags(formTags.toArray(new Tag[formTags.size()]));
         form.setVersion("1");
         return form;
     }
 
+    private Tag readTag(final JsonParser parser) throws IOException {
+        Tag formTag = new Tag();
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("name".equals(field)) {
+                    formTag.setName(JsonUtils.readAsString(parser));
+                } else if ("uuid".equals(field)) {
+                    formTag.setUuid(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return formTag;
+    }
+
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
-        // serialize the minimum needed to identify an object for deletion purposes.
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Form form = (Form) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", form.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", form.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", form.isRetired());
-        JsonUtils.writeAsString(jsonObject, "description", form.getDescription());
-        JsonUtils.writeAsString(jsonObject, "discriminator", form.getDiscriminator());
-        JsonUtils.writeAsString(jsonObject, "version", form.getVersion());
-        jsonObject.put("tags", readTagsToJsonArray(form));
-        return jsonObject.toJSONString();
-    }
-
-    private JSONArray readTagsToJsonArray(Form form) {
-        JSONArray jsonArray = new JSONArray();
-        Tag[] tags = form.getTags();
-        for (Tag tag : tags) {
-            JSONObject jsonObject = new JSONObject();
-            JsonUtils.writeAsString(jsonObject, "name", tag.getName());
-            JsonUtils.writeAsString(jsonObject, "uuid", tag.getUuid());
-            jsonArray.add(jsonObject);
+        // serialize the minimum needed to identify an object for deletion purposes.
+        JsonUtils.writeAsString(generator, "uuid", form.getUuid());
+        JsonUtils.writeAsString(generator, "name", form.getName());
+        JsonUtils.writeAsBoolean(generator, "voided", form.isRetired());
+        JsonUtils.writeAsString(generator, "description", form.getDescription());
+        JsonUtils.writeAsString(generator, "discriminator", form.getDiscriminator());
+        JsonUtils.writeAsString(generator, "version", form.getVersion());
+        generator.writeArrayFieldStart("tags");
+        for (Tag tag : form.getTags()) {
+            generator.writeStartObject();
+            JsonUtils.writeAsString(generator, "name", tag.getName());
+            JsonUtils.writeAsString(generator, "uuid", tag.getUuid());
+            generator.writeEndObject();
         }
-        return jsonArray;
+        generator.writeEndArray();
     }
 }
@@ -8,83 +8,74 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.FormData;
 import com.muzima.search.api.model.object.Searchable;
-import com.muzima.search.api.model.serialization.Algorithm;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
-import java.util.Date;
 
-public class FormDataAlgorithm implements Algorithm {
+public class FormDataAlgorithm extends BaseOpenmrsAlgorithm {
 
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         FormData formData = new FormData();
-
-        Object jsonObject = JsonPath.read(json, "$");
-
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
-        formData.setUuid(uuid);
-
-        String status = JsonPath.read(jsonObject, "$['status']");
-        formData.setStatus(status);
-
-        String discriminator = JsonPath.read(jsonObject, "$['discriminator']");
-        formData.setDiscriminator(discriminator);
-
-        String jsonPayload = JsonPath.read(jsonObject, "$['jsonPayload']");
-        formData.setJsonPayload(jsonPayload);
-
-        String xmlPayload = JsonPath.read(jsonObject, "$['xmlPayload']");
-        formData.setXmlPayload(xmlPayload);
-
-        String templateUuid = JsonPath.read(jsonObject, "$['template.uuid']");
-        formData.setTemplateUuid(templateUuid);
-
-        String patientUuid = JsonPath.read(jsonObject, "$['patient.uuid']");
-        formData.setPatientUuid(patientUuid);
-
-        String userUuid = JsonPath.read(jsonObject, "$['user.uuid']");
-        formData.setUserUuid(userUuid);
-
-        Date saveTime = JsonUtils.readAsDateTime(json, "$['formSaveTime']");
-        formData.setSaveTime(saveTime);
-
-        Date encounterDate = JsonUtils.readAsDate(json, "$['encounterDate']");
-        formData.setEncounterDate(encounterDate);
-
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    formData.setUuid(JsonUtils.readAsString(parser));
+                } else if ("status".equals(field)) {
+                    formData.setStatus(JsonUtils.readAsString(parser));
+                } else if ("discriminator".equals(field)) {
+                    formData.setDiscriminator(JsonUtils.readAsString(parser));
+                } else if ("jsonPayload".equals(field)) {
+                    formData.setJsonPayload(JsonUtils.readAsString(parser));
+                } else if ("xmlPayload".equals(field)) {
+                    formData.setXmlPayload(JsonUtils.readAsString(parser));
+                } else if ("template.uuid".equals(field)) {
+                    formData.setTemplateUuid(JsonUtils.readAsString(parser));
+                } else if ("patient.uuid".equals(field)) {
+                    formData.setPatientUuid(JsonUtils.readAsString(parser));
+                } else if ("user.uuid".equals(field)) {
+                    formData.setUserUuid(JsonUtils.readAsString(parser));
+                } else if ("formSaveTime".equals(field)) {
+                    formData.setSaveTime(JsonUtils.readAsDateTime(parser));
+                } else if ("encounterDate".equals(field)) {
+                    formData.setEncounterDate(JsonUtils.readAsDate(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return formData;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         FormData formData = (FormData) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("uuid", formData.getUuid());
-        jsonObject.put("status", formData.getStatus());
-        jsonObject.put("discriminator", formData.getDiscriminator());
-        jsonObject.put("xmlPayload", formData.getXmlPayload());
-        jsonObject.put("jsonPayload", formData.getJsonPayload());
-        jsonObject.put("template.uuid", formData.getTemplateUuid());
-        jsonObject.put("patient.uuid", formData.getPatientUuid());
-        jsonObject.put("user.uuid", formData.getUserUuid());
-        JsonUtils.writeAsDateTime(jsonObject, "formSaveTime", formData.getSaveTime());
-        JsonUtils.writeAsDateTime(jsonObject,"encounterDate",formData.getEncounterDate());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", formData.getUuid());
+        JsonUtils.writeAsString(generator, "status", formData.getStatus());
+        JsonUtils.writeAsString(generator, "discriminator", formData.getDiscriminator());
+        JsonUtils.writeAsString(generator, "xmlPayload", formData.getXmlPayload());
+        JsonUtils.writeAsString(generator, "jsonPayload", formData.getJsonPayload());
+        JsonUtils.writeAsString(generator, "template.uuid", formData.getTemplateUuid());
+        JsonUtils.writeAsString(generator, "patient.uuid", formData.getPatientUuid());
+        JsonUtils.writeAsString(generator, "user.uuid", formData.getUserUuid());
+        JsonUtils.writeAsDateTime(generator, "formSaveTime", formData.getSaveTime());
+        JsonUtils.writeAsDateTime(generator, "encounterDate", formData.getEncounterDate());
     }
 }
\ No newline at end of file
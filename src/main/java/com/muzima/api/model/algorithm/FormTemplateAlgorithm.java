@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.FormTemplate;
 import com.muzima.search.api.model.object.Searchable;
-import net.minidev.json.JSONObject;
+import com.muzima.util.JsonUtils;
 
 import java.io.IOException;
 
@@ -20,44 +21,43 @@ public class FormTemplateAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         FormTemplate formTemplate = new FormTemplate();
-
-        Object jsonObject = JsonPath.read(json, "$");
-
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
-        formTemplate.setUuid(uuid);
-
-        String model = JsonPath.read(jsonObject, "$['model']");
-        formTemplate.setModel(model);
-
-        String modelJson = JsonPath.read(jsonObject, "$['modelJson']");
-        formTemplate.setModelJson(modelJson);
-
-        String html = JsonPath.read(jsonObject, "$['html']");
-        formTemplate.setHtml(html);
-
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    formTemplate.setUuid(JsonUtils.readAsString(parser));
+                } else if ("model".equals(field)) {
+                    formTemplate.setModel(JsonUtils.readAsString(parser));
+                } else if ("modelJson".equals(field)) {
+                    formTemplate.setModelJson(JsonUtils.readAsString(parser));
+                } else if ("html".equals(field)) {
+                    formTemplate.setHtml(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return formTemplate;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         FormTemplate formTemplate = (FormTemplate) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("uuid", formTemplate.getUuid());
-        jsonObject.put("model", formTemplate.getModel());
-        jsonObject.put("modelJson", formTemplate.getModelJson());
-        jsonObject.put("html", formTemplate.getHtml());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", formTemplate.getUuid());
+        JsonUtils.writeAsString(generator, "model", formTemplate.getModel());
+        JsonUtils.writeAsString(generator, "modelJson", formTemplate.getModelJson());
+        JsonUtils.writeAsString(generator, "html", formTemplate.getHtml());
     }
 }
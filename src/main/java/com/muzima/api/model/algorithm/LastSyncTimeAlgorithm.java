@@ -7,10 +7,11 @@
  */
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.LastSyncTime;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -21,23 +22,33 @@ public class LastSyncTimeAlgorithm extends BaseOpenmrsAlgorithm {
     public static final String STANDARD_LAST_SYNC_TIME_REPRESENTATION = "(uuid,apiName,paramSignature,lastSyncDate)";
 
     @Override
-    public Searchable deserialize(String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         LastSyncTime lastSyncTime = new LastSyncTime();
-        lastSyncTime.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        lastSyncTime.setApiName(getAPIName(JsonUtils.readAsString(serialized, "$['apiName']")));
-        lastSyncTime.setParamSignature(JsonUtils.readAsString(serialized, "$['paramSignature']"));
-        lastSyncTime.setLastSyncDate(JsonUtils.readAsDateTime(serialized, "$['lastSyncDate']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    lastSyncTime.setUuid(JsonUtils.readAsString(parser));
+                } else if ("apiName".equals(field)) {
+                    lastSyncTime.setApiName(getAPIName(JsonUtils.readAsString(parser)));
+                } else if ("paramSignature".equals(field)) {
+                    lastSyncTime.setParamSignature(JsonUtils.readAsString(parser));
+                } else if ("lastSyncDate".equals(field)) {
+                    lastSyncTime.setLastSyncDate(JsonUtils.readAsDateTime(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return lastSyncTime;
     }
 
     @Override
-    public String serialize(Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         LastSyncTime lastSyncTime = (LastSyncTime) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", lastSyncTime.getUuid());
-        JsonUtils.writeAsString(jsonObject, "apiName", lastSyncTime.getApiName().toString());
-        JsonUtils.writeAsString(jsonObject, "paramSignature", lastSyncTime.getParamSignature());
-        JsonUtils.writeAsDateTime(jsonObject, "lastSyncDate", lastSyncTime.getLastSyncDate());
-        return jsonObject.toString();
+        JsonUtils.writeAsString(generator, "uuid", lastSyncTime.getUuid());
+        JsonUtils.writeAsString(generator, "apiName", lastSyncTime.getApiName().toString());
+        JsonUtils.writeAsString(generator, "paramSignature", lastSyncTime.getParamSignature());
+        JsonUtils.writeAsDateTime(generator, "lastSyncDate", lastSyncTime.getLastSyncDate());
     }
 }
@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Location;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,31 +26,40 @@ public class LocationAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Location location = new Location();
-        location.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        location.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        location.setId(JsonUtils.readAsInteger(serialized, "$['id']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    location.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    location.setName(JsonUtils.readAsString(parser));
+                } else if ("id".equals(field)) {
+                    location.setId(JsonUtils.readAsInteger(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return location;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Location location = (Location) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", location.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", location.getName());
-        JsonUtils.writeAsInteger(jsonObject, "id", location.getId());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", location.getUuid());
+        JsonUtils.writeAsString(generator, "name", location.getName());
+        JsonUtils.writeAsInteger(generator, "id", location.getId());
     }
 }
@@ -8,13 +8,13 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Notification;
 import com.muzima.api.model.Patient;
 import com.muzima.api.model.Person;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -35,58 +35,81 @@ public class NotificationAlgorithm extends BaseOpenmrsAlgorithm {
         this.patientAlgorithm = new PatientAlgorithm();
     }
 
+    @Override
+    public Notification deserialize(final String serialized) throws IOException {
+        return (Notification) super.deserialize(serialized);
+    }
+
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Notification deserialize(final String serialized) throws IOException {
+    public Notification deserialize(final JsonParser parser) throws IOException {
         Notification notification = new Notification();
-        notification.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        notification.setSubject(JsonUtils.readAsString(serialized, "$['subject']"));
-        notification.setDateCreated(JsonUtils.readAsDate(serialized, "$['dateCreated']"));
-        notification.setSource(JsonUtils.readAsString(serialized, "$['source']"));
-        notification.setStatus(JsonUtils.readAsString(serialized, "$['status']"));
-        notification.setPayload(JsonUtils.readAsString(serialized, "$['payload']"));
-
-        Object patientObject = JsonUtils.readAsObject(serialized, "$['patient']");
-        notification.setPatient((Patient) patientAlgorithm.deserialize(String.valueOf(patientObject)));
-
-        Object senderObject = JsonUtils.readAsObject(serialized, "$['sender']");
-        notification.setSender((Person) personAlgorithm.deserialize(String.valueOf(senderObject)));
-
-        Object receiverObject = JsonUtils.readAsObject(serialized, "$['receiver']");
-        notification.setReceiver((Person) personAlgorithm.deserialize(String.valueOf(receiverObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    notification.setUuid(JsonUtils.readAsString(parser));
+                } else if ("subject".equals(field)) {
+                    notification.setSubject(JsonUtils.readAsString(parser));
+                } else if ("dateCreated".equals(field)) {
+                    notification.setDateCreated(JsonUtils.readAsDate(parser));
+                } else if ("source".equals(field)) {
+                    notification.setSource(JsonUtils.readAsString(parser));
+                } else if ("status".equals(field)) {
+                    notification.setStatus(JsonUtils.readAsString(parser));
+                } else if ("payload".equals(field)) {
+                    notification.setPayload(JsonUtils.readAsString(parser));
+                } else if ("patient".equals(field)) {
+                    notification.setPatient((Patient) patientAlgorithm.deserialize(parser));
+                } else if ("sender".equals(field)) {
+                    notification.setSender((Person) personAlgorithm.deserialize(parser));
+                } else if ("receiver".equals(field)) {
+                    notification.setReceiver((Person) personAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (notification.getPatient() == null) {
+            notification.setPatient((Patient) patientAlgorithm.createEmpty());
+        }
+        if (notification.getSender() == null) {
+            notification.setSender((Person) personAlgorithm.createEmpty());
+        }
+        if (notification.getReceiver() == null) {
+            notification.setReceiver((Person) personAlgorithm.createEmpty());
+        }
         return notification;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Notification notification = (Notification) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", notification.getUuid());
-        JsonUtils.writeAsString(jsonObject, "subject", notification.getSubject());
-        JsonUtils.writeAsDate(jsonObject, "dateCreated", notification.getDateCreated());
-        JsonUtils.writeAsString(jsonObject, "source", notification.getSource());
-        JsonUtils.writeAsString(jsonObject, "status", notification.getStatus());
-        JsonUtils.writeAsString(jsonObject, "payload", notification.getPayload());
+        JsonUtils.writeAsString(generator, "uuid", notification.getUuid());
+        JsonUtils.writeAsString(generator, "subject", notification.getSubject());
+        JsonUtils.writeAsDate(generator, "dateCreated", notification.getDateCreated());
+        JsonUtils.writeAsString(generator, "source", notification.getSource());
+        JsonUtils.writeAsString(generator, "status", notification.getStatus());
+        JsonUtils.writeAsString(generator, "payload", notification.getPayload());
 
-        String patient = patientAlgorithm.serialize(notification.getPatient());
-        jsonObject.put("patient", JsonPath.read(patient, "$"));
+        generator.writeFieldName("patient");
+        patientAlgorithm.serialize(notification.getPatient(), generator);
 
-        String sender = personAlgorithm.serialize(notification.getSender());
-        jsonObject.put("sender", JsonPath.read(sender, "$"));
+        generator.writeFieldName("sender");
+        personAlgorithm.serialize(notification.getSender(), generator);
 
-        String receiver = personAlgorithm.serialize(notification.getReceiver());
-        jsonObject.put("receiver", JsonPath.read(receiver, "$"));
-        return jsonObject.toJSONString();
+        generator.writeFieldName("receiver");
+        personAlgorithm.serialize(notification.getReceiver(), generator);
     }
 }
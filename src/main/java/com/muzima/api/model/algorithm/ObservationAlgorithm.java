@@ -8,14 +8,14 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Encounter;
 import com.muzima.api.model.Observation;
 import com.muzima.api.model.Person;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,56 +49,81 @@ public class ObservationAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Observation observation = new Observation();
-        observation.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        observation.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        observation.setObservationDatetime(JsonUtils.readAsDateTime(serialized, "$['obsDatetime']"));
         // values, ignored when they are not exists in the resource
-        observation.setValueText(JsonUtils.readAsString(serialized, "$['valueText']"));
-        observation.setValueNumeric(JsonUtils.readAsNumeric(serialized, "$['valueNumeric']"));
-        observation.setValueDatetime(JsonUtils.readAsDateTime(serialized, "$['valueDatetime']"));
-        // value coded need to be handled separately because we can't create the custom structure of value coded!
-        Object valueCodedObject = JsonUtils.readAsObject(serialized, "$['valueCoded']");
-        observation.setValueCoded((Concept) conceptAlgorithm.deserialize(String.valueOf(valueCodedObject)));
+        observation.setValueNumeric(0d);
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    observation.setUuid(JsonUtils.readAsString(parser));
+                } else if ("voided".equals(field)) {
+                    observation.setVoided(JsonUtils.readAsBoolean(parser));
+                } else if ("obsDatetime".equals(field)) {
+                    observation.setObservationDatetime(JsonUtils.readAsDateTime(parser));
+                } else if ("valueText".equals(field)) {
+                    observation.setValueText(JsonUtils.readAsString(parser));
+                } else if ("valueNumeric".equals(field)) {
+                    observation.setValueNumeric(JsonUtils.readAsNumeric(parser));
+                } else if ("valueDatetime".equals(field)) {
+                    observation.setValueDatetime(JsonUtils.readAsDateTime(parser));
+                } else if ("valueCoded".equals(field)) {
+                    // value coded need to be handled separately because we can't create the custom structure of value coded!
+                    observation.setValueCoded((Concept) conceptAlgorithm.deserialize(parser));
+                } else if ("encounter".equals(field)) {
+                    observation.setEncounter((Encounter) encounterAlgorithm.deserialize(parser));
+                } else if ("concept".equals(field)) {
+                    observation.setConcept((Concept) conceptAlgorithm.deserialize(parser));
+                } else if ("person".equals(field)) {
+                    observation.setPerson((Person) personAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (observation.getValueCoded() == null) {
+            observation.setValueCoded((Concept) conceptAlgorithm.createEmpty());
+        }
         // some observation might not have the encounter associated with it!
-        Object encounterObject = JsonUtils.readAsObject(serialized, "$['encounter']");
-        observation.setEncounter((Encounter) encounterAlgorithm.deserialize(String.valueOf(encounterObject)));
-        Object conceptObject = JsonUtils.readAsObject(serialized, "$['concept']");
-        observation.setConcept((Concept) conceptAlgorithm.deserialize(String.valueOf(conceptObject)));
-        Object personObject = JsonUtils.readAsObject(serialized, "$['person']");
-        observation.setPerson((Person) personAlgorithm.deserialize(String.valueOf(personObject)));
+        if (observation.getEncounter() == null) {
+            observation.setEncounter((Encounter) encounterAlgorithm.createEmpty());
+        }
+        if (observation.getConcept() == null) {
+            observation.setConcept((Concept) conceptAlgorithm.createEmpty());
+        }
+        if (observation.getPerson() == null) {
+            observation.setPerson((Person) personAlgorithm.createEmpty());
+        }
         return observation;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Observation observation = (Observation) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsBoolean(jsonObject, "voided", observation.isVoided());
-        JsonUtils.writeAsString(jsonObject, "uuid", observation.getUuid());
-        JsonUtils.writeAsDateTime(jsonObject, "obsDatetime", observation.getObservationDatetime());
-        JsonUtils.writeAsString(jsonObject, "valueText", observation.getValueText());
-        JsonUtils.writeAsNumeric(jsonObject, "valueNumeric", observation.getValueNumeric());
-        JsonUtils.writeAsDateTime(jsonObject, "valueDatetime", observation.getValueDatetime());
-        String valueCoded = conceptAlgorithm.serialize(observation.getValueCoded());
-        jsonObject.put("valueCoded", JsonPath.read(valueCoded, "$"));
-        String encounter = encounterAlgorithm.serialize(observation.getEncounter());
-        jsonObject.put("encounter", JsonPath.read(encounter, "$"));
-        String concept = conceptAlgorithm.serialize(observation.getConcept());
-        jsonObject.put("concept", JsonPath.read(concept, "$"));
-        String person = personAlgorithm.serialize(observation.getPerson());
-        jsonObject.put("person", JsonPath.read(person, "$"));
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsBoolean(generator, "voided", observation.isVoided());
+        JsonUtils.writeAsString(generator, "uuid", observation.getUuid());
+        JsonUtils.writeAsDateTime(generator, "obsDatetime", observation.getObservationDatetime());
+        JsonUtils.writeAsString(generator, "valueText", observation.getValueText());
+        JsonUtils.writeAsNumeric(generator, "valueNumeric", observation.getValueNumeric());
+        JsonUtils.writeAsDateTime(generator, "valueDatetime", observation.getValueDatetime());
+        generator.writeFieldName("valueCoded");
+        conceptAlgorithm.serialize(observation.getValueCoded(), generator);
+        generator.writeFieldName("encounter");
+        encounterAlgorithm.serialize(observation.getEncounter(), generator);
+        generator.writeFieldName("concept");
+        conceptAlgorithm.serialize(observation.getConcept(), generator);
+        generator.writeFieldName("person");
+        personAlgorithm.serialize(observation.getPerson(), generator);
     }
 }
@@ -8,18 +8,16 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Patient;
 import com.muzima.api.model.PatientIdentifier;
 import com.muzima.api.model.PersonAttribute;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
-import java.util.List;
 
 public class PatientAlgorithm extends BaseOpenmrsAlgorithm {
 
@@ -42,65 +40,76 @@ public class PatientAlgorithm extends BaseOpenmrsAlgorithm {
     /*
     * Implementation of this method will define how the observation will be serialized from the JSON representation.
     *
-    * @param serialized the json representation
+    * @param parser the parser positioned on the json representation
     * @return the concrete observation object
     */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Patient patient = new Patient();
-        patient.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        patient.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        patient.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
-        patient.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
-        List<Object> personNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
-        for (Object personNameObject : personNameObjects) {
-            patient.addName((PersonName) personNameAlgorithm.deserialize(String.valueOf(personNameObject)));
-        }
-        List<Object> identifierObjects = JsonUtils.readAsObjectList(serialized, "$['identifiers']");
-        for (Object identifierObject : identifierObjects) {
-            patient.addIdentifier(
-                    (PatientIdentifier) patientIdentifierAlgorithm.deserialize(String.valueOf(identifierObject)));
-        }
-        List<Object> attributesObjects = JsonUtils.readAsObjectList(serialized, "$['attributes']");
-        for (Object attributeObject : attributesObjects) {
-            patient.addattribute(
-                    (PersonAttribute) personAttributeAlgorithm.deserialize(String.valueOf(attributeObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    patient.setUuid(JsonUtils.readAsString(parser));
+                } else if ("voided".equals(field)) {
+                    patient.setVoided(JsonUtils.readAsBoolean(parser));
+                } else if ("gender".equals(field)) {
+                    patient.setGender(JsonUtils.readAsString(parser));
+                } else if ("birthdate".equals(field)) {
+                    patient.setBirthdate(JsonUtils.readAsDate(parser));
+                } else if ("names".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            patient.addName((PersonName) personNameAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else if ("identifiers".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            patient.addIdentifier((PatientIdentifier) patientIdentifierAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else if ("attributes".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            patient.addattribute((PersonAttribute) personAttributeAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
         return patient;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Patient patient = (Patient) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", patient.getUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", patient.isVoided());
-        JsonUtils.writeAsString(jsonObject, "gender", patient.getGender());
-        JsonUtils.writeAsDate(jsonObject, "birthdate", patient.getBirthdate());
-        JSONArray nameArray = new JSONArray();
+        JsonUtils.writeAsString(generator, "uuid", patient.getUuid());
+        JsonUtils.writeAsBoolean(generator, "voided", patient.isVoided());
+        JsonUtils.writeAsString(generator, "gender", patient.getGender());
+        JsonUtils.writeAsDate(generator, "birthdate", patient.getBirthdate());
+        generator.writeArrayFieldStart("names");
         for (PersonName personName : patient.getNames()) {
-            String name = personNameAlgorithm.serialize(personName);
-            nameArray.add(JsonPath.read(name, "$"));
+            personNameAlgorithm.serialize(personName, generator);
         }
-        jsonObject.put("names", nameArray);
-        JSONArray identifierArray = new JSONArray();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("identifiers");
         for (PatientIdentifier identifier : patient.getIdentifiers()) {
-            String name = patientIdentifierAlgorithm.serialize(identifier);
-            identifierArray.add(JsonPath.read(name, "$"));
+            patientIdentifierAlgorithm.serialize(identifier, generator);
         }
-        jsonObject.put("identifiers", identifierArray);
-        JSONArray attributeArray = new JSONArray();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("attributes");
         for (PersonAttribute attribute : patient.getAtributes()) {
-            String name = personAttributeAlgorithm.serialize(attribute);
-            attributeArray.add(JsonPath.read(name, "$"));
+            personAttributeAlgorithm.serialize(attribute, generator);
         }
-        jsonObject.put("attributes", attributeArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
     }
 }
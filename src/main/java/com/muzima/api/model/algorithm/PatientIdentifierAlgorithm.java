@@ -8,12 +8,12 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.PatientIdentifier;
 import com.muzima.api.model.PatientIdentifierType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -31,37 +31,47 @@ public class PatientIdentifierAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         PatientIdentifier patientIdentifier = new PatientIdentifier();
-        patientIdentifier.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        patientIdentifier.setIdentifier(JsonUtils.readAsString(serialized, "$['identifier']"));
-        patientIdentifier.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
-        Object identifierTypeObject = JsonUtils.readAsObject(serialized, "$['identifierType']");
-        PatientIdentifierType identifierType =
-                (PatientIdentifierType) patientIdentifierTypeAlgorithm.deserialize(String.valueOf(identifierTypeObject));
-        patientIdentifier.setIdentifierType(identifierType);
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    patientIdentifier.setUuid(JsonUtils.readAsString(parser));
+                } else if ("identifier".equals(field)) {
+                    patientIdentifier.setIdentifier(JsonUtils.readAsString(parser));
+                } else if ("preferred".equals(field)) {
+                    patientIdentifier.setPreferred(JsonUtils.readAsBoolean(parser));
+                } else if ("identifierType".equals(field)) {
+                    patientIdentifier.setIdentifierType((PatientIdentifierType) patientIdentifierTypeAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (patientIdentifier.getIdentifierType() == null) {
+            patientIdentifier.setIdentifierType((PatientIdentifierType) patientIdentifierTypeAlgorithm.createEmpty());
+        }
         return patientIdentifier;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         PatientIdentifier patientIdentifier = (PatientIdentifier) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", patientIdentifier.getUuid());
-        JsonUtils.writeAsString(jsonObject, "identifier", patientIdentifier.getIdentifier());
-        JsonUtils.writeAsBoolean(jsonObject, "preferred", patientIdentifier.isPreferred());
-        String identifierType = patientIdentifierTypeAlgorithm.serialize(patientIdentifier.getIdentifierType());
-        jsonObject.put("identifierType", JsonPath.read(identifierType, "$"));
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", patientIdentifier.getUuid());
+        JsonUtils.writeAsString(generator, "identifier", patientIdentifier.getIdentifier());
+        JsonUtils.writeAsBoolean(generator, "preferred", patientIdentifier.isPreferred());
+        generator.writeFieldName("identifierType");
+        patientIdentifierTypeAlgorithm.serialize(patientIdentifier.getIdentifierType(), generator);
     }
 }
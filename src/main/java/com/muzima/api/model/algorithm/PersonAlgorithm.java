@@ -8,16 +8,14 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Person;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
-import java.util.List;
 
 public class PersonAlgorithm extends BaseOpenmrsAlgorithm {
 
@@ -33,41 +31,51 @@ public class PersonAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Person person = new Person();
-        person.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        person.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
-        person.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
-        List<Object> personNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
-        for (Object personNameObject : personNameObjects) {
-            person.addName((PersonName) personNameAlgorithm.deserialize(String.valueOf(personNameObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    person.setUuid(JsonUtils.readAsString(parser));
+                } else if ("gender".equals(field)) {
+                    person.setGender(JsonUtils.readAsString(parser));
+                } else if ("birthdate".equals(field)) {
+                    person.setBirthdate(JsonUtils.readAsDate(parser));
+                } else if ("names".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            person.addName((PersonName) personNameAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
         return person;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Person person = (Person) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", person.getUuid());
-        JsonUtils.writeAsString(jsonObject, "gender", person.getGender());
-        JsonUtils.writeAsDate(jsonObject, "birthdate", person.getBirthdate());
-        JSONArray nameArray = new JSONArray();
+        JsonUtils.writeAsString(generator, "uuid", person.getUuid());
+        JsonUtils.writeAsString(generator, "gender", person.getGender());
+        JsonUtils.writeAsDate(generator, "birthdate", person.getBirthdate());
+        generator.writeArrayFieldStart("names");
         for (PersonName personName : person.getNames()) {
-            String name = personNameAlgorithm.serialize(personName);
-            nameArray.add(JsonPath.read(name, "$"));
+            personNameAlgorithm.serialize(personName, generator);
         }
-        jsonObject.put("names", nameArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
     }
 }
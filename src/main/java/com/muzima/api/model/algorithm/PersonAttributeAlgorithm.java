@@ -7,12 +7,12 @@
  */
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.PersonAttribute;
 import com.muzima.api.model.PersonAttributeType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -29,35 +29,44 @@ public class PersonAttributeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param parser the parser positioned on the json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         PersonAttribute personAttribute = new PersonAttribute();
-        personAttribute.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        personAttribute.setAttribute(JsonUtils.readAsString(serialized, "$['hydratedObject']"));
-        Object attributeTypeObject = JsonUtils.readAsObject(serialized, "$['attributeType']");
-        PersonAttributeType attributeType =
-                (PersonAttributeType) personAttributeTypeAlgorithm.deserialize(String.valueOf(attributeTypeObject));
-        personAttribute.setAttributeType(attributeType);
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    personAttribute.setUuid(JsonUtils.readAsString(parser));
+                } else if ("hydratedObject".equals(field)) {
+                    personAttribute.setAttribute(JsonUtils.readAsString(parser));
+                } else if ("attributeType".equals(field)) {
+                    personAttribute.setAttributeType((PersonAttributeType) personAttributeTypeAlgorithm.deserialize(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (personAttribute.getAttributeType() == null) {
+            personAttribute.setAttributeType((PersonAttributeType) personAttributeTypeAlgorithm.createEmpty());
+        }
         return personAttribute;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         PersonAttribute personAttribute = (PersonAttribute) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", personAttribute.getUuid());
-        JsonUtils.writeAsString(jsonObject, "hydratedObject", personAttribute.getAttribute());
-        String identifierType = personAttributeTypeAlgorithm.serialize(personAttribute.getAttributeType());
-        jsonObject.put("attributeType", JsonPath.read(identifierType, "$"));
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", personAttribute.getUuid());
+        JsonUtils.writeAsString(generator, "hydratedObject", personAttribute.getAttribute());
+        generator.writeFieldName("attributeType");
+        personAttributeTypeAlgorithm.serialize(personAttribute.getAttributeType(), generator);
     }
 }
@@ -7,10 +7,11 @@
  */
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.PersonAttributeType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -22,29 +23,37 @@ public class PersonAttributeTypeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         PersonAttributeType attributeType = new PersonAttributeType();
-        attributeType.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        attributeType.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    attributeType.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    attributeType.setName(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return attributeType;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         PersonAttributeType attributeType = (PersonAttributeType) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", attributeType.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", attributeType.getName());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", attributeType.getUuid());
+        JsonUtils.writeAsString(generator, "name", attributeType.getName());
     }
 }
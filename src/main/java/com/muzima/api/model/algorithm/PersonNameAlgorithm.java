@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,35 +26,46 @@ public class PersonNameAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         PersonName personName = new PersonName();
-        personName.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        personName.setGivenName(JsonUtils.readAsString(serialized, "$['givenName']"));
-        personName.setMiddleName(JsonUtils.readAsString(serialized, "$['middleName']"));
-        personName.setFamilyName(JsonUtils.readAsString(serialized, "$['familyName']"));
-        personName.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    personName.setUuid(JsonUtils.readAsString(parser));
+                } else if ("givenName".equals(field)) {
+                    personName.setGivenName(JsonUtils.readAsString(parser));
+                } else if ("middleName".equals(field)) {
+                    personName.setMiddleName(JsonUtils.readAsString(parser));
+                } else if ("familyName".equals(field)) {
+                    personName.setFamilyName(JsonUtils.readAsString(parser));
+                } else if ("preferred".equals(field)) {
+                    personName.setPreferred(JsonUtils.readAsBoolean(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return personName;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         PersonName personName = (PersonName) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", personName.getUuid());
-        JsonUtils.writeAsString(jsonObject, "givenName", personName.getGivenName());
-        JsonUtils.writeAsString(jsonObject, "middleName", personName.getMiddleName());
-        JsonUtils.writeAsString(jsonObject, "familyName", personName.getFamilyName());
-        JsonUtils.writeAsBoolean(jsonObject, "preferred", personName.isPreferred());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", personName.getUuid());
+        JsonUtils.writeAsString(generator, "givenName", personName.getGivenName());
+        JsonUtils.writeAsString(generator, "middleName", personName.getMiddleName());
+        JsonUtils.writeAsString(generator, "familyName", personName.getFamilyName());
+        JsonUtils.writeAsBoolean(generator, "preferred", personName.isPreferred());
     }
 }
@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Privilege;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -22,29 +23,37 @@ public class PrivilegeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Privilege privilege = new Privilege();
-        privilege.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        privilege.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    privilege.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    privilege.setName(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return privilege;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Privilege privilege = (Privilege) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", privilege.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", privilege.getUuid());
-        return jsonObject.toJSONString();
+        JsonUtils.writeAsString(generator, "uuid", privilege.getUuid());
+        JsonUtils.writeAsString(generator, "name", privilege.getUuid());
     }
 }
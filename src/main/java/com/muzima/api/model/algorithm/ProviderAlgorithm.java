@@ -1,9 +1,10 @@
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Provider;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -13,23 +14,33 @@ public class ProviderAlgorithm extends BaseOpenmrsAlgorithm {
     public static final String PROVIDER_STANDARD_REPRESENTATION = "(uuid,name,id,identifier)";
 
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Provider provider = new Provider();
-        provider.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        provider.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        provider.setId(JsonUtils.readAsInteger(serialized, "$['id']"));
-        provider.setIdentifier(JsonUtils.readAsString(serialized, "$['identifier']"));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    provider.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    provider.setName(JsonUtils.readAsString(parser));
+                } else if ("id".equals(field)) {
+                    provider.setId(JsonUtils.readAsInteger(parser));
+                } else if ("identifier".equals(field)) {
+                    provider.setIdentifier(JsonUtils.readAsString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
         return provider;
     }
 
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Provider provider = (Provider) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", provider.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", provider.getName());
-        JsonUtils.writeAsInteger(jsonObject, "id", provider.getId());
-        JsonUtils.writeAsString(jsonObject, "identifier", provider.getIdentifier());
-        return jsonObject.toString();
+        JsonUtils.writeAsString(generator, "uuid", provider.getUuid());
+        JsonUtils.writeAsString(generator, "name", provider.getName());
+        JsonUtils.writeAsInteger(generator, "id", provider.getId());
+        JsonUtils.writeAsString(generator, "identifier", provider.getIdentifier());
     }
 }
@@ -8,16 +8,14 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.muzima.api.model.Privilege;
 import com.muzima.api.model.Role;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
-import java.util.List;
 
 public class RoleAlgorithm extends BaseOpenmrsAlgorithm {
 
@@ -32,39 +30,48 @@ public class RoleAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         Role role = new Role();
-        role.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        role.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(serialized, "$['privileges']");
-        for (Object privilegeObject : privilegeObjectArray) {
-            role.add((Privilege) privilegeAlgorithm.deserialize(String.valueOf(privilegeObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    role.setUuid(JsonUtils.readAsString(parser));
+                } else if ("name".equals(field)) {
+                    role.setName(JsonUtils.readAsString(parser));
+                } else if ("privileges".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            role.add((Privilege) privilegeAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
         return role;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         Role role = (Role) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", role.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", role.getName());
-        JSONArray privilegeArray = new JSONArray();
+        JsonUtils.writeAsString(generator, "uuid", role.getUuid());
+        JsonUtils.writeAsString(generator, "name", role.getName());
+        generator.writeArrayFieldStart("privileges");
         for (Privilege privilege : role.getPrivileges()) {
-            String privilegeString = privilegeAlgorithm.serialize(privilege);
-            privilegeArray.add(JsonPath.read(privilegeString, "$"));
+            privilegeAlgorithm.serialize(privilege, generator);
         }
-        jsonObject.put("privileges", privilegeArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
     }
 }
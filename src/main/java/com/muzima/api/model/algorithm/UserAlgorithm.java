@@ -8,7 +8,9 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.muzima.api.model.Person;
 import com.muzima.api.model.Privilege;
 import com.muzima.api.model.Role;
@@ -16,8 +18,6 @@ import com.muzima.api.model.User;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -42,74 +42,92 @@ public class UserAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param parser the parser positioned on the string representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final JsonParser parser) throws IOException {
         User user = new User();
-        user.setUuid(JsonUtils.readAsString(json, "$['uuid']"));
-        // read the person object
-        Object personObject = JsonUtils.readAsObject(json, "$['person']");
-        user.setPerson((Person) personAlgorithm.deserialize(String.valueOf(personObject)));
-
-        String username;
-        username = JsonUtils.readAsString(json, "$['username']");
-        user.setUsername(username);
-
-        String systemId = JsonUtils.readAsString(json, "$['systemId']");
-        user.setSystemId(systemId);
-
-        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(json, "$['privileges']");
         List<Privilege> privileges = new ArrayList<Privilege>();
-        for (Object privilegeObject : privilegeObjectArray) {
-            privileges.add((Privilege) privilegeAlgorithm.deserialize(String.valueOf(privilegeObject)));
-        }
-        user.setPrivileges(privileges);
-
-        List<Object> roleObjectArray = JsonUtils.readAsObjectList(json, "$['roles']");
         List<Role> roles = new ArrayList<Role>();
-        for (Object roleObject : roleObjectArray) {
-            roles.add((Role) roleAlgorithm.deserialize(String.valueOf(roleObject)));
+        if (startObject(parser)) {
+            String field;
+            while ((field = nextField(parser)) != null) {
+                if ("uuid".equals(field)) {
+                    user.setUuid(JsonUtils.readAsString(parser));
+                } else if ("person".equals(field)) {
+                    // read the person object
+                    user.setPerson(readPerson(parser));
+                } else if ("username".equals(field)) {
+                    user.setUsername(JsonUtils.readAsString(parser));
+                } else if ("systemId".equals(field)) {
+                    user.setSystemId(JsonUtils.readAsString(parser));
+                } else if ("privileges".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            privileges.add((Privilege) privilegeAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else if ("roles".equals(field)) {
+                    if (startArray(parser)) {
+                        while (nextElement(parser)) {
+                            roles.add((Role) roleAlgorithm.deserialize(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (user.getPerson() == null) {
+            user.setPerson((Person) personAlgorithm.createEmpty());
         }
+        user.setPrivileges(privileges);
         user.setRoles(roles);
-
         return user;
     }
 
+    private Person readPerson(final JsonParser parser) throws IOException {
+        // the person object is saved as a string in the serialized user.
+        if (parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            String personString = parser.getText();
+            if (!personString.trim().startsWith("{")) {
+                return (Person) personAlgorithm.createEmpty();
+            }
+            return (Person) personAlgorithm.deserialize(personString);
+        }
+        return (Person) personAlgorithm.deserialize(parser);
+    }
+
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written into the json representation.
      *
      * @param object the object
-     * @return the string representation
+     * @param generator the generator to write the json representation to
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    protected void serializeFields(final Searchable object, final JsonGenerator generator) throws IOException {
         User user = (User) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("uuid", user.getUuid());
-        jsonObject.put("person.personName.givenName", user.getGivenName());
-        jsonObject.put("person.personName.middleName", user.getMiddleName());
-        jsonObject.put("person.personName.familyName", user.getFamilyName());
-        jsonObject.put("username", user.getUsername());
-        jsonObject.put("systemId", user.getSystemId());
-
-        JSONArray privilegeArray = new JSONArray();
+        JsonUtils.writeAsString(generator, "uuid", user.getUuid());
+        JsonUtils.writeAsString(generator, "person.personName.givenName", user.getGivenName());
+        JsonUtils.writeAsString(generator, "person.personName.middleName", user.getMiddleName());
+        JsonUtils.writeAsString(generator, "person.personName.familyName", user.getFamilyName());
+        JsonUtils.writeAsString(generator, "username", user.getUsername());
+        JsonUtils.writeAsString(generator, "systemId", user.getSystemId());
+
+        generator.writeArrayFieldStart("privileges");
         for (Privilege privilege : user.getPrivileges()) {
-            String privilegeString = privilegeAlgorithm.serialize(privilege);
-            privilegeArray.add(JsonPath.read(privilegeString, "$"));
+            privilegeAlgorithm.serialize(privilege, generator);
         }
-        jsonObject.put("privileges", privilegeArray);
+        generator.writeEndArray();
 
-        JSONArray roleArray = new JSONArray();
+        generator.writeArrayFieldStart("roles");
         for (Role role : user.getRoles()) {
-            String roleString = roleAlgorithm.serialize(role);
-            roleArray.add(JsonPath.read(roleString, "$"));
+            roleAlgorithm.serialize(role, generator);
         }
-        jsonObject.put("roles", roleArray);
-
-        jsonObject.put("person", personAlgorithm.serialize(user.getPerson()));
+        generator.writeEndArray();
 
-        return jsonObject.toJSONString();
+        // the person object is saved as a string in the serialized user.
+        JsonUtils.writeAsString(generator, "person", personAlgorithm.serialize(user.getPerson()));
     }
 }
@@ -18,10 +18,25 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocketFactory;
 import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public abstract class BaseOpenmrsResolver implements Resolver {
 
+    private static final HostnameVerifier HOSTNAME_VERIFIER = new HostnameVerifier() {
+        @Override
+        public boolean verify(String hostname, SSLSession session) {
+            return (hostname.endsWith("ampath.or.ke"));
+        }
+    };
+
+    // shared by all resolvers using the same configuration and key store, the jvm only reuses keep-alive https
+    // connection created with the same ssl socket factory.
+    private static final Map<Configuration, Map<CustomKeyStore, ConnectionSettings>> connectionSettings =
+            new WeakHashMap<Configuration, Map<CustomKeyStore, ConnectionSettings>>();
+
     @Inject
     private Configuration configuration;
 
@@ -45,31 +60,80 @@ public abstract class BaseOpenmrsResolver implements Resolver {
      */
     @Override
     public HttpURLConnection authenticate(final HttpURLConnection connection) {
+        ConnectionSettings settings = getConnectionSettings();
         if (connection instanceof HttpsURLConnection) {
             HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
-            if (customKeyStore != null) {
-                SSLContext sslContext = customKeyStore.createContext();
-                if (sslContext != null) {
-                    httpsURLConnection.setSSLSocketFactory(sslContext.getSocketFactory());
-                    HostnameVerifier hostnameVerifier = new HostnameVerifier() {
-                        @Override
-                        public boolean verify(String hostname, SSLSession session) {
-                            return (hostname.endsWith("ampath.or.ke"));
-                        }
-                    };
-                    httpsURLConnection.setHostnameVerifier(hostnameVerifier);
-                }
+            if (settings.getSocketFactory() != null) {
+                httpsURLConnection.setSSLSocketFactory(settings.getSocketFactory());
+                httpsURLConnection.setHostnameVerifier(HOSTNAME_VERIFIER);
+            }
+        }
+        connection.setRequestProperty("Authorization", settings.getAuthorization());
+        return connection;
+    }
+
+    /**
+     * Get the connection settings of the configuration and the key store. The settings will be created again when the
+     * configuration has changed since the last time they were created.
+     *
+     * @return the connection settings of the configuration and the key store.
+     */
+    private ConnectionSettings getConnectionSettings() {
+        Configuration configuration = getConfiguration();
+        synchronized (connectionSettings) {
+            Map<CustomKeyStore, ConnectionSettings> keyStoreSettings = connectionSettings.get(configuration);
+            if (keyStoreSettings == null) {
+                keyStoreSettings = new WeakHashMap<CustomKeyStore, ConnectionSettings>();
+                connectionSettings.put(configuration, keyStoreSettings);
+            }
+            ConnectionSettings settings = keyStoreSettings.get(customKeyStore);
+            if (settings == null || settings.getVersion() != configuration.getVersion()) {
+                settings = createConnectionSettings(configuration);
+                keyStoreSettings.put(customKeyStore, settings);
             }
+            return settings;
+        }
+    }
+
+    private ConnectionSettings createConnectionSettings(final Configuration configuration) {
+        int version = configuration.getVersion();
+        SSLSocketFactory socketFactory = null;
+        if (customKeyStore != null) {
+            SSLContext sslContext = customKeyStore.createContext();
+            if (sslContext != null) {
+                socketFactory = sslContext.getSocketFactory();
+            }
+        }
+        String userPassword = configuration.getUsername() + ":" + configuration.getPassword();
+        String basicAuth = "Basic " + new String(new Base64().encode(userPassword.getBytes()));
+        return new ConnectionSettings(version, socketFactory, basicAuth);
+    }
+
+    private static class ConnectionSettings {
+
+        private final int version;
+
+        private final SSLSocketFactory socketFactory;
+
+        private final String authorization;
+
+        private ConnectionSettings(final int version, final SSLSocketFactory socketFactory,
+                                   final String authorization) {
+            this.version = version;
+            this.socketFactory = socketFactory;
+            this.authorization = authorization;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public SSLSocketFactory getSocketFactory() {
+            return socketFactory;
+        }
 
-            String userPassword = getConfiguration().getUsername() + ":" + getConfiguration().getPassword();
-            String basicAuth = "Basic " + new String(new Base64().encode(userPassword.getBytes()));
-            httpsURLConnection.setRequestProperty("Authorization", basicAuth);
-            return httpsURLConnection;
-        } else {
-            String userPassword = getConfiguration().getUsername() + ":" + getConfiguration().getPassword();
-            String basicAuth = "Basic " + new String(new Base64().encode(userPassword.getBytes()));
-            connection.setRequestProperty("Authorization", basicAuth);
-            return connection;
+        public String getAuthorization() {
+            return authorization;
         }
     }
 }
@@ -10,7 +10,11 @@ package com.muzima.api.module;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
+import com.muzima.api.config.CacheConfiguration;
 import com.muzima.api.config.Configuration;
+import com.muzima.api.config.DownloadConfiguration;
+import com.muzima.api.config.HttpCacheConfiguration;
+import com.muzima.api.config.IngestConfiguration;
 import com.muzima.util.Constants;
 
 public class MuzimaModule extends AbstractModule {
@@ -23,10 +27,20 @@ public class MuzimaModule extends AbstractModule {
 
     private boolean useCompression;
 
+    private boolean useGzip;
+
     private String encryptionKey;
 
     private Configuration configuration;
 
+    private CacheConfiguration cacheConfiguration;
+
+    private DownloadConfiguration downloadConfiguration;
+
+    private HttpCacheConfiguration httpCacheConfiguration;
+
+    private IngestConfiguration ingestConfiguration;
+
     public MuzimaModule() {
         // default field of the document to queried on when the query doesn't specify any.
         this.documentKey = "uuid";
@@ -39,8 +53,18 @@ public class MuzimaModule extends AbstractModule {
         this.useEncryption = false;
         this.encryptionKey = "this-is-supposed-to-be-a-secure-key";
         this.useCompression = false;
+        // gzip the requests and responses, the server must accept gzipped request body.
+        this.useGzip = false;
         // server configuration
         this.configuration = new Configuration();
+        // object cache configuration
+        this.cacheConfiguration = new CacheConfiguration();
+        // chunked download configuration
+        this.downloadConfiguration = new DownloadConfiguration();
+        // conditional download configuration
+        this.httpCacheConfiguration = new HttpCacheConfiguration();
+        // bulk write configuration
+        this.ingestConfiguration = new IngestConfiguration();
     }
 
     public String getDocumentKey() {
@@ -75,6 +99,14 @@ public class MuzimaModule extends AbstractModule {
         this.useCompression = useCompression;
     }
 
+    public boolean isUseGzip() {
+        return useGzip;
+    }
+
+    public void setUseGzip(final boolean useGzip) {
+        this.useGzip = useGzip;
+    }
+
     public String getEncryptionKey() {
         return encryptionKey;
     }
@@ -83,6 +115,62 @@ public class MuzimaModule extends AbstractModule {
         this.encryptionKey = encryptionKey;
     }
 
+    public int getCacheCapacity() {
+        return cacheConfiguration.getCapacity();
+    }
+
+    public void setCacheCapacity(final int cacheCapacity) {
+        cacheConfiguration.setCapacity(cacheCapacity);
+    }
+
+    public boolean isCacheEnabled(final Class<?> type) {
+        return cacheConfiguration.isEnabled(type);
+    }
+
+    public void setCacheEnabled(final Class<?> type, final boolean enabled) {
+        cacheConfiguration.setEnabled(type, enabled);
+    }
+
+    public boolean isHttpCacheEnabled(final String resource) {
+        return httpCacheConfiguration.isEnabled(resource);
+    }
+
+    public void setHttpCacheEnabled(final String resource, final boolean enabled) {
+        httpCacheConfiguration.setEnabled(resource, enabled);
+    }
+
+    public int getDownloadPatientChunkSize() {
+        return downloadConfiguration.getPatientChunkSize();
+    }
+
+    public void setDownloadPatientChunkSize(final int patientChunkSize) {
+        downloadConfiguration.setPatientChunkSize(patientChunkSize);
+    }
+
+    public int getDownloadConceptChunkSize() {
+        return downloadConfiguration.getConceptChunkSize();
+    }
+
+    public void setDownloadConceptChunkSize(final int conceptChunkSize) {
+        downloadConfiguration.setConceptChunkSize(conceptChunkSize);
+    }
+
+    public int getDownloadThreadCount() {
+        return downloadConfiguration.getThreadCount();
+    }
+
+    public void setDownloadThreadCount(final int threadCount) {
+        downloadConfiguration.setThreadCount(threadCount);
+    }
+
+    public int getIngestBatchSize() {
+        return ingestConfiguration.getBatchSize();
+    }
+
+    public void setIngestBatchSize(final int batchSize) {
+        ingestConfiguration.setBatchSize(batchSize);
+    }
+
     @Override
     protected void configure() {
         bind(String.class)
@@ -93,6 +181,10 @@ public class MuzimaModule extends AbstractModule {
                 .toInstance(documentKey);
 
         bind(Configuration.class).toInstance(configuration);
+        bind(CacheConfiguration.class).toInstance(cacheConfiguration);
+        bind(DownloadConfiguration.class).toInstance(downloadConfiguration);
+        bind(HttpCacheConfiguration.class).toInstance(httpCacheConfiguration);
+        bind(IngestConfiguration.class).toInstance(ingestConfiguration);
 
         bind(String.class)
                 .annotatedWith(Names.named("configuration.lucene.encryption"))
@@ -106,5 +198,8 @@ public class MuzimaModule extends AbstractModule {
         bind(Boolean.class)
                 .annotatedWith(Names.named("configuration.lucene.usingCompression"))
                 .toInstance(this.useCompression);
+        bind(Boolean.class)
+                .annotatedWith(Names.named(Constants.CONNECTION_USE_GZIP))
+                .toInstance(this.useGzip);
     }
 }
@@ -12,6 +12,9 @@ import com.google.inject.ImplementedBy;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
+import com.muzima.api.model.algorithm.CohortDataConsumer;
 import com.muzima.api.service.impl.CohortServiceImpl;
 
 import java.io.IOException;
@@ -210,6 +213,24 @@ public interface CohortService extends MuzimaInterface {
 
     CohortData downloadCohortDataAndSyncDate(String uuid, boolean dynamic, Date syncDate) throws IOException;
 
+    /**
+     * Download data for the cohort identified by the uuid of the cohort and hand each cohort member to the consumer
+     * while the data is being downloaded. Use this instead of the cohort data object for large cohorts, the patients
+     * will not be kept in memory and can be saved as they arrive.
+     *
+     * @param uuid     the uuid of the cohort or the cohort definition.
+     * @param dynamic  flag whether to use reporting module or static cohort resource.
+     * @param consumer the consumer of the cohort and the cohort members.
+     * @return the downloaded cohort or null when the downloaded data is not a cohort data.
+     * @throws IOException when search api unable to process the resource or the consumer failed.
+     * @should hand each cohort member to the consumer while downloading the cohort data.
+     */
+    Cohort downloadCohortData(final String uuid, final boolean dynamic,
+                              final CohortDataConsumer consumer) throws IOException;
+
+    Cohort downloadCohortDataAndSyncDate(String uuid, boolean dynamic, Date syncDate,
+                                         CohortDataConsumer consumer) throws IOException;
+
     /**
      * Download data for the cohort. The API will check the dynamic field of the
      * cohort to determine whether the API should download the data from the reporting
@@ -307,6 +328,20 @@ public interface CohortService extends MuzimaInterface {
     List<CohortMember> getCohortMembers(final Cohort cohort, final Integer page,
                                         final Integer pageSize) throws IOException;
 
+    /**
+     * Get the page of members of the cohort identified by the cohort's uuid at the position of the cursor. The
+     * members are ordered by the patient's uuid, so the list can be scrolled page by page without reading all
+     * members first. The order is not the display name order of the patients, see
+     * {@link PatientService#getPatients(com.muzima.api.model.PageCursor)}.
+     *
+     * @param cohortUuid the cohort's uuid.
+     * @param cursor     the cursor of the page, create a new cursor for the first page.
+     * @return the members of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     * @should return every member of the cohort once across the pages.
+     */
+    Page<CohortMember> getCohortMembers(final String cohortUuid, final PageCursor cursor) throws IOException;
+
     /**
      * Delete all members for the current cohort identified by the cohort's uuid.
      *
@@ -100,7 +100,7 @@ public interface ConceptService extends MuzimaInterface {
     void updateConcept(final Concept concept) throws IOException;
 
     /**
-     * Update list of concepts in the local data repository.
+     * Update list of concepts in the local data repository. Concepts which were never saved will be saved as well.
      *
      * @param concepts the concepts to be updated.
      * @throws IOException when the search api unable to process the resource.
@@ -108,6 +108,16 @@ public interface ConceptService extends MuzimaInterface {
      */
     void updateConcepts(final List<Concept> concepts) throws IOException;
 
+    /**
+     * Save the new concepts and replace the existing concepts in the local data repository, without looking up the
+     * existing concepts first.
+     *
+     * @param concepts the concepts to be saved or replaced.
+     * @throws IOException when the search api unable to process the resource.
+     * @should save new concepts and replace existing concepts in local data repository.
+     */
+    void upsertConcepts(final List<Concept> concepts) throws IOException;
+
     /**
      * Delete a concept from the local data repository.
      *
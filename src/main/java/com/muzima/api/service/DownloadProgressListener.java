@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+/**
+ * Listener notified when each chunk of a chunked download has been downloaded and saved to the local repository.
+ * The listener will be notified from the download threads, but never from two threads at the same time.
+ */
+public interface DownloadProgressListener {
+
+    /**
+     * Notify that a chunk of the download has been downloaded and saved.
+     *
+     * @param completedChunks    the number of chunks completed so far, including this chunk.
+     * @param totalChunks        the total number of chunks in the download.
+     * @param downloadedElements the number of elements downloaded in this chunk.
+     */
+    void chunkCompleted(final int completedChunks, final int totalChunks, final int downloadedElements);
+}
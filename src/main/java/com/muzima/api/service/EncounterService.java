@@ -10,6 +10,7 @@ package com.muzima.api.service;
 
 import com.google.inject.ImplementedBy;
 import com.muzima.api.model.Encounter;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.api.model.Patient;
 import com.muzima.api.service.impl.EncounterServiceImpl;
 import org.apache.lucene.queryParser.ParseException;
@@ -113,6 +114,16 @@ public interface EncounterService extends MuzimaInterface {
      */
     List<Encounter> getEncountersByPatientUuid(final String patientUuid) throws IOException;
 
+    /**
+     * Get encounters from local data repository with matching patient uuid, read lazily one page at a time while
+     * iterating. Close the iterable when done.
+     *
+     * @param patientUuid the patient uuid.
+     * @return the iterable over the encounters with matching patient uuid.
+     * @should iterate over encounters with matching patient uuid.
+     */
+    PagedIterable<Encounter> iterateEncountersByPatientUuid(final String patientUuid);
+
     /**
      * Get list of encounters from local data repository with matching patient.
      *
@@ -133,6 +144,15 @@ public interface EncounterService extends MuzimaInterface {
      */
     List<Encounter> getAllEncounters() throws IOException;
 
+    /**
+     * Get all encounters stored in the local data repository, read lazily one page at a time while iterating. Close
+     * the iterable when done.
+     *
+     * @return the iterable over all encounters stored in the local data repository.
+     * @should iterate over all encounters stored in the local data repository.
+     */
+    PagedIterable<Encounter> iterateAllEncounters();
+
     /**
      * Count all encounters stored in the local data repository.
      *
@@ -170,7 +190,8 @@ public interface EncounterService extends MuzimaInterface {
     void updateEncounter(final Encounter encounter) throws IOException;
 
     /**
-     * Update list of encounters in the local data repository.
+     * Update list of encounters in the local data repository. Encounters which were never saved will be saved as
+     * well.
      *
      * @param encounters the encounters to be updated.
      * @throws java.io.IOException when the search api unable to process the resource.
@@ -178,6 +199,16 @@ public interface EncounterService extends MuzimaInterface {
      */
     void updateEncounters(final List<Encounter> encounters) throws IOException;
 
+    /**
+     * Save the new encounters and replace the existing encounters in the local lucene repository, without looking
+     * up the existing encounters first.
+     *
+     * @param encounters the encounters to be saved or replaced.
+     * @throws IOException when search api unable to process the resource.
+     * @should save new encounters and replace existing encounters in local data repository.
+     */
+    void upsertEncounters(final List<Encounter> encounters) throws IOException;
+
     /**
      * Delete a encounter from the local data repository.
      *
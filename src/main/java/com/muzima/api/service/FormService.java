@@ -12,11 +12,15 @@ import com.google.inject.ImplementedBy;
 import com.muzima.api.model.Form;
 import com.muzima.api.model.FormData;
 import com.muzima.api.model.FormTemplate;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.service.impl.FormServiceImpl;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service handling all operation to the @{Form} actor/model
@@ -82,7 +86,7 @@ public interface FormService extends MuzimaInterface {
     void updateForm(final Form form) throws IOException;
 
     /**
-     * Update form objects to the local lucene repository.
+     * Update form objects to the local lucene repository. Forms which were never saved will be saved as well.
      *
      * @param forms the form objects to be updated.
      * @throws IOException when search api unable to process the resource.
@@ -90,6 +94,16 @@ public interface FormService extends MuzimaInterface {
      */
     void updateForms(final List<Form> forms) throws IOException;
 
+    /**
+     * Save the new forms and replace the existing forms in the local data repository, without looking up the
+     * existing forms first.
+     *
+     * @param forms the forms to be saved or replaced.
+     * @throws IOException when search api unable to process the resource.
+     * @should save new forms and replace existing forms in local data repository.
+     */
+    void upsertForms(final List<Form> forms) throws IOException;
+
     /**
      * Get form by the uuid of the form.
      *
@@ -333,6 +347,20 @@ public interface FormService extends MuzimaInterface {
      */
     List<FormData> getFormDataByPatient(final String patientUuid, final String status) throws IOException;
 
+    /**
+     * Get the page of form data at the position of the cursor, filtering on the patient and the status of the form
+     * data. The form data are ordered by their uuid.
+     *
+     * @param patientUuid the uuid of the patient (optional).
+     * @param status      the status of the form data (optional).
+     * @param cursor      the cursor of the page, create a new cursor for the first page.
+     * @return the form data of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     * @should return every form data with matching patient and status once across the pages.
+     */
+    Page<FormData> getFormDataByPatient(final String patientUuid, final String status,
+                                        final PageCursor cursor) throws IOException;
+
     /**
      * Delete an instance of form data.
      *
@@ -361,7 +389,9 @@ public interface FormService extends MuzimaInterface {
     void deleteFormTemplateByUUIDs(final List<String> formUUID) throws IOException;
 
     /**
-     * Send form data information to the server.
+     * Send form data information to the server. The payload held in the form data object is already in memory as a
+     * whole, use {@link #syncFormData(com.muzima.api.model.FormData, java.io.Reader)} to send a payload too large to
+     * be kept in the form data object.
      *
      * @param formData the form data.
      * @return true when the form data successfully synced to the server.
@@ -370,6 +400,35 @@ public interface FormService extends MuzimaInterface {
      */
     boolean syncFormData(final FormData formData) throws IOException;
 
+    /**
+     * Send form data information to the server, streaming the payload from the reader. Use this method to send a
+     * large payload kept outside of the form data object, the payload will not be read into memory as a whole.
+     *
+     * @param formData the form data.
+     * @param payload  the reader of the payload of the form data.
+     * @return true when the form data successfully synced to the server.
+     * @throws IOException when search api unable to process the resource.
+     * @should sync the form data with the payload from the reader to the server.
+     */
+    boolean syncFormData(final FormData formData, final Reader payload) throws IOException;
+
+    /**
+     * Send the form data to the server, with at most the maximum in flight number of form data being sent at the
+     * same time. The status of each form data successfully synced to the server will be set to uploaded and saved in
+     * the local repository as soon as the server accepted it, also when another form data fails or the caller is
+     * interrupted. Form data failing to sync is logged and reported as not synced, the other form data are still
+     * sent. When only saving the status failed, the form data is reported as synced and will be sent again on the
+     * next sync.
+     *
+     * @param formDataList    the form data.
+     * @param maximumInFlight the maximum number of form data being sent at the same time.
+     * @return map of the form data uuid to whether the form data successfully synced to the server.
+     * @throws IOException when the caller is interrupted while waiting for the form data being sent.
+     * @should sync the form data to the server.
+     * @should update the status of the synced form data.
+     */
+    Map<String, Boolean> syncFormData(final List<FormData> formDataList, final int maximumInFlight) throws IOException;
+
     /**
      * Fetches FormData from DB which matches templateUUID.
      *
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts and timing of a single bulk write. The write time of a resource is the time spent saving its batches through
+ * the search api, which includes serializing the objects. The wall time also includes the lookup of the saved cohort
+ * members.
+ */
+public class IngestReport {
+
+    private final Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+
+    private final Map<String, Long> writeTimes = new LinkedHashMap<String, Long>();
+
+    private int batchCount;
+
+    private long wallTime;
+
+    /**
+     * Record a batch written into the index.
+     *
+     * @param resource  the name of the resource used to write the batch.
+     * @param count     the number of objects in the batch.
+     * @param writeTime the time spent writing the batch in milliseconds.
+     */
+    public synchronized void record(final String resource, final int count, final long writeTime) {
+        Integer resourceCount = counts.get(resource);
+        counts.put(resource, resourceCount == null ? count : resourceCount + count);
+        Long resourceTime = writeTimes.get(resource);
+        writeTimes.put(resource, resourceTime == null ? writeTime : resourceTime + writeTime);
+        batchCount++;
+    }
+
+    /**
+     * Get the number of objects written with the resource.
+     *
+     * @param resource the name of the resource.
+     * @return the number of objects written.
+     */
+    public synchronized int getCount(final String resource) {
+        Integer count = counts.get(resource);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Get the time spent writing the objects of the resource into the index.
+     *
+     * @param resource the name of the resource.
+     * @return the time in milliseconds.
+     */
+    public synchronized long getWriteTime(final String resource) {
+        Long writeTime = writeTimes.get(resource);
+        return writeTime == null ? 0 : writeTime;
+    }
+
+    /**
+     * Get the number of objects written for all the resources.
+     *
+     * @return the number of documents written into the index.
+     */
+    public synchronized int getDocumentCount() {
+        int documentCount = 0;
+        for (Integer count : counts.values()) {
+            documentCount += count;
+        }
+        return documentCount;
+    }
+
+    /**
+     * Get the number of batches, each of them saved with a single call to the search api.
+     *
+     * @return the number of batches.
+     */
+    public synchronized int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Get the throughput of the whole bulk write.
+     *
+     * @return the number of documents written per second of wall time.
+     */
+    public synchronized double getDocumentsPerSecond() {
+        return wallTime == 0 ? 0 : getDocumentCount() * 1000.0 / wallTime;
+    }
+
+    public synchronized long getWallTime() {
+        return wallTime;
+    }
+
+    public synchronized void setWallTime(final long wallTime) {
+        this.wallTime = wallTime;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("Wrote ").append(getDocumentCount()).append(" documents in ")
+                .append(batchCount).append(" batches in ").append(wallTime).append(" ms (")
+                .append(Math.round(getDocumentsPerSecond())).append(" documents/s)");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            builder.append(", ").append(entry.getKey()).append(": ").append(entry.getValue())
+                    .append(" in ").append(writeTimes.get(entry.getKey())).append(" ms");
+        }
+        return builder.toString();
+    }
+}
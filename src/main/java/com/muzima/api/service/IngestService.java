@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import com.google.inject.ImplementedBy;
+import com.muzima.api.model.CohortData;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Encounter;
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.api.service.impl.IngestServiceImpl;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Service saving large number of downloaded objects into the local lucene repository.
+ * <p/>
+ * The objects are split into batches, see the ingest configuration of the module for the batch size, and every batch
+ * is saved with a single call to the search api on the calling thread. The search api serializes and writes the
+ * objects of the batch, the batches are not serialized in parallel. Objects with the same uuid as an object already
+ * saved will replace the saved object. Cohort members have no unique field, only the members whose patient is not a
+ * member of the cohort in the local repository yet will be saved.
+ */
+@ImplementedBy(IngestServiceImpl.class)
+public interface IngestService extends MuzimaInterface {
+
+    /**
+     * Save the patients and the cohort members of the downloaded cohort data.
+     *
+     * @param cohortData the downloaded cohort data.
+     * @return the number of saved documents and the time spent saving them.
+     * @throws IOException when saving any of the batches failed. Batches saved before the failure are kept.
+     * @should save the patients and the cohort members of the cohort data.
+     */
+    IngestReport ingestCohortData(final CohortData cohortData) throws IOException;
+
+    /**
+     * Save the patients, cohort members, encounters and observations, in that order.
+     *
+     * @param patients      the patients to be saved.
+     * @param cohortMembers the cohort members to be saved.
+     * @param encounters    the encounters to be saved.
+     * @param observations  the observations to be saved.
+     * @return the number of saved documents and the time spent saving them.
+     * @throws IOException when saving any of the batches failed. Batches saved before the failure are kept.
+     * @should save all the objects in batches of the configured size.
+     */
+    IngestReport ingest(final List<Patient> patients, final List<CohortMember> cohortMembers,
+                        final List<Encounter> encounters, final List<Observation> observations) throws IOException;
+}
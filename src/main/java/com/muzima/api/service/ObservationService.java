@@ -11,6 +11,7 @@ package com.muzima.api.service;
 import com.google.inject.ImplementedBy;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Observation;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.api.model.Patient;
 import com.muzima.api.service.impl.ObservationServiceImpl;
 
@@ -55,6 +56,40 @@ public interface ObservationService extends MuzimaInterface {
     List<Observation> downloadObservations(List<String> patientUuids, List<String> conceptUuids,
                                            Date syncDate) throws IOException;
 
+    /**
+     * Download the observations for the patients and concepts and save them into the local lucene repository. The
+     * patients and concepts will be split into chunks downloaded in parallel and each chunk will be saved as soon
+     * as it's downloaded, observations already saved will be updated. The last sync time of each patient and concept
+     * chunk is recorded, so running the same download again after it was interrupted will only download the
+     * observations changed after each completed patient. A null sync date always downloads every patient in full.
+     *
+     * @param patientUuids the uuids of the patients.
+     * @param conceptUuids the uuids of the concepts.
+     * @param syncDate     only download observations changed after this date, null to download all observations.
+     * @param listener     the listener notified after each chunk is saved, can be null.
+     * @return the number of observations downloaded and saved.
+     * @throws IOException when search api unable to process the resource.
+     */
+    int downloadAndSaveObservations(List<String> patientUuids, List<String> conceptUuids, Date syncDate,
+                                    DownloadProgressListener listener) throws IOException;
+
+    /**
+     * Download the observations changed since the last download of each patient and save them into the local lucene
+     * repository. The last sync time is recorded per patient and concept chunk by
+     * {@link #downloadAndSaveObservations(java.util.List, java.util.List, java.util.Date, DownloadProgressListener)},
+     * so adding or removing patients doesn't change the sync date of the other patients. The patients are chunked by
+     * their last sync time and each chunk is downloaded from the earliest last sync time of its patients. Patients
+     * without a last sync time are downloaded in full.
+     *
+     * @param patientUuids the uuids of the patients.
+     * @param conceptUuids the uuids of the concepts.
+     * @param listener     the listener notified after each chunk is saved, can be null.
+     * @return the number of observations downloaded and saved.
+     * @throws IOException when search api unable to process the resource.
+     */
+    int syncObservations(List<String> patientUuids, List<String> conceptUuids,
+                         DownloadProgressListener listener) throws IOException;
+
     void deleteObservationsByFormData(String formDataUuid) throws IOException;
 
     /**
@@ -85,7 +120,8 @@ public interface ObservationService extends MuzimaInterface {
     void updateObservation(final Observation observation) throws IOException;
 
     /**
-     * Update the observations into the local lucene repository.
+     * Update the observations into the local lucene repository. Observations which were never saved will be saved
+     * as well.
      *
      * @param observations the observations to be updated.
      * @throws IOException when search api unable to process the resource.
@@ -93,6 +129,16 @@ public interface ObservationService extends MuzimaInterface {
      */
     void updateObservations(final List<Observation> observations) throws IOException;
 
+    /**
+     * Save the new observations and replace the existing observations in the local lucene repository, without
+     * looking up the existing observations first.
+     *
+     * @param observations the observations to be saved or replaced.
+     * @throws IOException when search api unable to process the resource.
+     * @should save new observations and replace existing observations in local data repository.
+     */
+    void upsertObservations(final List<Observation> observations) throws IOException;
+
     /**
      * Get a single observation record from the repository using the uuid of the observation.
      *
@@ -133,6 +179,18 @@ public interface ObservationService extends MuzimaInterface {
     List<Observation> getObservationsByPatientAndConcept(final Patient patient,
                                                          final Concept concept) throws IOException;
 
+    /**
+     * Get all observations for the particular patient and concept, read lazily one page at a time while iterating.
+     * Close the iterable when done.
+     *
+     * @param patientUuid the uuid of the patient.
+     * @param conceptUuid the uuid of the concept.
+     * @return the iterable over the observations for the patient and concept.
+     * @should iterate over all observations for the patient and concept.
+     */
+    PagedIterable<Observation> iterateObservationsByPatientAndConcept(final String patientUuid,
+                                                                      final String conceptUuid);
+
     /**
      * @param concept
      * @return List of Observations for the given Concept
@@ -140,6 +198,16 @@ public interface ObservationService extends MuzimaInterface {
      */
     List<Observation> getObservations(Concept concept) throws IOException;
 
+    /**
+     * Get all observations for the concept, read lazily one page at a time while iterating. Close the iterable when
+     * done.
+     *
+     * @param concept the concept of the observations.
+     * @return the iterable over the observations for the concept.
+     * @should iterate over all observations for the concept.
+     */
+    PagedIterable<Observation> iterateObservations(final Concept concept);
+
     /**
      * Search for all observations for the particular patient with matching search term.
      *
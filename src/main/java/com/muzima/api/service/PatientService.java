@@ -9,6 +9,8 @@ package com.muzima.api.service;
 
 import com.google.inject.ImplementedBy;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.model.Patient;
 import com.muzima.api.service.impl.PatientServiceImpl;
 import org.apache.lucene.queryParser.ParseException;
@@ -74,7 +76,7 @@ public interface PatientService extends MuzimaInterface {
     void updatePatient(final Patient patient) throws IOException;
 
     /**
-     * Update patients in the local lucene repository.
+     * Update patients in the local lucene repository. Patients which were never saved will be saved as well.
      *
      * @param patients the patients to be updated.
      * @throws IOException when search api unable to process the resource.
@@ -82,6 +84,16 @@ public interface PatientService extends MuzimaInterface {
      */
     void updatePatients(final List<Patient> patients) throws IOException;
 
+    /**
+     * Save the new patients and replace the existing patients in the local lucene repository, without looking up
+     * the existing patients first.
+     *
+     * @param patients the patients to be saved or replaced.
+     * @throws IOException when search api unable to process the resource.
+     * @should save new patients and replace existing patients in local data repository.
+     */
+    void upsertPatients(final List<Patient> patients) throws IOException;
+
     /**
      * Get a single patient record from the local repository with matching uuid.
      *
@@ -123,6 +135,22 @@ public interface PatientService extends MuzimaInterface {
      */
     List<Patient> getAllPatients() throws IOException;
 
+    /**
+     * Get the page of saved patients at the position of the cursor. The patients are ordered by their uuid, so the
+     * list can be scrolled page by page without reading all patients first.
+     * <p/>
+     * The order is not the display name order of {@link #getAllPatients()} and the other patient lists of this
+     * service. The pages are meant for going through every patient, lists shown sorted by name should use
+     * {@link #getAllPatients()} or the name ordered search methods instead.
+     *
+     * @param cursor the cursor of the page, create a new cursor for the first page.
+     * @return the patients of the page and the cursor of the following page.
+     * @throws IOException when search api unable to process the resource.
+     * @should return every registered patient once across the pages.
+     * @should return patients with uuids outside of the hexadecimal alphabet.
+     */
+    Page<Patient> getPatients(final PageCursor cursor) throws IOException;
+
     /**
      * Get list of patients with name similar to the search term.
      *
@@ -160,6 +188,23 @@ public interface PatientService extends MuzimaInterface {
      */
     List<Patient> searchPatients(final String term, final String cohortUuid) throws IOException, ParseException;
 
+    /**
+     * Search for patients with matching characteristic on the name or identifier with the search term, within the
+     * given cohort, one page at a time. The patients of each page are sorted by their display name, the pages are
+     * not: the sort name is not indexed, so the patients are only sorted after the page has been read.
+     *
+     * @param term       the search term
+     * @param cohortUuid the Uuid of the cohort, only patients within the cohort will be searched
+     * @param page       the current page.
+     * @param pageSize   the maximum number of patients in the page.
+     * @return list of patients in the cohort with matching search term, less or equals than the page size.
+     * @throws ParseException when query parser from lucene unable to parse the query string.
+     * @throws IOException    when search api unable to process the resource.
+     * @should return page of patients in cohort with matching search term.
+     */
+    List<Patient> searchPatients(final String term, final String cohortUuid, final Integer page,
+                                 final Integer pageSize) throws IOException, ParseException;
+
     /**
      * Delete a single patient object from the local repository.
      *
@@ -183,5 +228,27 @@ public interface PatientService extends MuzimaInterface {
      */
     List<Patient> getPatientsNotInCohorts() throws IOException;
 
+    /**
+     * Get patients that are not a part of any cohort, one page at a time. The patients are ordered the same way as
+     * the non paged method. Only the patients up to the end of the page are kept while reading the patients, so the
+     * first pages are the cheapest.
+     *
+     * @param page     the current page, starting from 1, null to get all patients.
+     * @param pageSize the maximum number of patients in the page, null to get all patients.
+     * @return list of patients that are not a part of any cohort, less or equals than the page size.
+     * @throws IOException when search api unable to process the resource.
+     * @should return page of patients that are not a part of any cohort.
+     */
+    List<Patient> getPatientsNotInCohorts(final Integer page, final Integer pageSize) throws IOException;
+
+    /**
+     * Count the patients that are not a part of any cohort.
+     *
+     * @return number of patients that are not a part of any cohort.
+     * @throws IOException when search api unable to process the resource.
+     * @should return number of patients that are not a part of any cohort.
+     */
+    Integer countPatientsNotInCohorts() throws IOException;
+
     List<Patient> getPatientsFromCohortMembers(List<CohortMember> cohortMembers);
 }
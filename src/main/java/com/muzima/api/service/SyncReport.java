@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Timing of a single run of the sync service. Stages overlap each other, so the time of a stage is measured from
+ * the start of its first task to the end of its last task, and the stage times don't add up to the wall time.
+ */
+public class SyncReport {
+
+    /**
+     * Stages of the sync, in the order of their dependencies. The encounters and observations stages run at the
+     * same time.
+     */
+    public enum Stage {
+        COHORTS, COHORT_DATA, ENCOUNTERS, OBSERVATIONS, FORMS, FORM_TEMPLATES, INDEX
+    }
+
+    private final Map<Stage, Long> startTimes = new EnumMap<Stage, Long>(Stage.class);
+
+    private final Map<Stage, Long> endTimes = new EnumMap<Stage, Long>(Stage.class);
+
+    private final Map<Stage, Integer> counts = new EnumMap<Stage, Integer>(Stage.class);
+
+    private long wallTime;
+
+    /**
+     * Record a completed task of the stage.
+     *
+     * @param stage     the stage of the task.
+     * @param startTime the start time of the task in milliseconds.
+     * @param endTime   the end time of the task in milliseconds.
+     * @param count     the number of objects processed by the task.
+     */
+    public synchronized void record(final Stage stage, final long startTime, final long endTime, final int count) {
+        Long stageStart = startTimes.get(stage);
+        if (stageStart == null || startTime < stageStart) {
+            startTimes.put(stage, startTime);
+        }
+        Long stageEnd = endTimes.get(stage);
+        if (stageEnd == null || endTime > stageEnd) {
+            endTimes.put(stage, endTime);
+        }
+        Integer stageCount = counts.get(stage);
+        counts.put(stage, stageCount == null ? count : stageCount + count);
+    }
+
+    /**
+     * Get the time spent in the stage.
+     *
+     * @param stage the stage.
+     * @return the time in milliseconds from the start of the first task to the end of the last task of the stage.
+     */
+    public synchronized long getStageTime(final Stage stage) {
+        Long stageStart = startTimes.get(stage);
+        Long stageEnd = endTimes.get(stage);
+        return stageStart == null || stageEnd == null ? 0 : stageEnd - stageStart;
+    }
+
+    /**
+     * Get the number of objects processed in the stage.
+     *
+     * @param stage the stage.
+     * @return the number of objects downloaded or, for the index stage, saved in the stage.
+     */
+    public synchronized int getCount(final Stage stage) {
+        Integer count = counts.get(stage);
+        return count == null ? 0 : count;
+    }
+
+    public synchronized long getWallTime() {
+        return wallTime;
+    }
+
+    public synchronized void setWallTime(final long wallTime) {
+        this.wallTime = wallTime;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("Sync completed in ").append(wallTime).append(" ms");
+        for (Stage stage : Stage.values()) {
+            if (startTimes.containsKey(stage)) {
+                builder.append(", ").append(stage).append(": ").append(getCount(stage))
+                        .append(" in ").append(getStageTime(stage)).append(" ms");
+            }
+        }
+        return builder.toString();
+    }
+}
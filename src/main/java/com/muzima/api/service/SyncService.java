@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import com.google.inject.ImplementedBy;
+import com.muzima.api.service.impl.SyncServiceImpl;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Service downloading everything needed by the device in a single call.
+ */
+@ImplementedBy(SyncServiceImpl.class)
+public interface SyncService extends MuzimaInterface {
+
+    /**
+     * Download the cohorts, their members, the encounters and observations of the members, and the forms together
+     * with the templates already downloaded to the device, and save them into the local lucene repository.
+     * <p/>
+     * Each cohort's data is downloaded as soon as the cohort is downloaded. The encounters and observations are
+     * downloaded in parallel once all the cohort members are saved, followed by the forms and the templates. The
+     * downloads run on a bounded thread pool and hand the downloaded objects over to a single thread saving them,
+     * so downloading and saving overlap. The observations are saved by the observation service as each chunk is
+     * downloaded. The last sync time is recorded for every download request, and the next sync will only download
+     * objects changed after it.
+     *
+     * @param cohortUuids  the uuids of the cohorts to be synced.
+     * @param conceptUuids the uuids of the concepts of the observations to be downloaded.
+     * @return the time spent in each stage of the sync.
+     * @throws IOException when any of the downloads or saves failed. Objects saved before the failure are kept.
+     * @should download cohorts, members, encounters, observations and forms.
+     * @should only download changes after the last sync time.
+     */
+    SyncReport synchronize(final List<String> cohortUuids, final List<String> conceptUuids) throws IOException;
+}
@@ -16,8 +16,14 @@ import com.muzima.api.dao.MemberDao;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
+import com.muzima.api.model.algorithm.CohortDataConsumer;
 import com.muzima.api.service.CohortService;
+import com.muzima.search.api.filter.Filter;
+import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.CollectionUtil;
+import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 import com.muzima.util.DateUtils;
 
@@ -314,17 +320,8 @@ public class CohortServiceImpl implements CohortService {
     @Override
     public CohortData downloadCohortDataAndSyncDate(final String uuid, final boolean dynamic, final Date syncDate) throws IOException {
         CohortData cohortData = null;
-        String resourceName = Constants.STATIC_COHORT_DATA_RESOURCE;
-        if (dynamic) {
-            resourceName = Constants.DYNAMIC_COHORT_DATA_RESOURCE;
-        }
-        Map<String, String> parameter = new HashMap<String, String>() {{
-            put("uuid", uuid);
-        }};
-        if (syncDate != null) {
-            parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
-        }
-        List<CohortData> cohortDataList = cohortDataDao.download(parameter, resourceName);
+        List<CohortData> cohortDataList = cohortDataDao.download(
+                createCohortDataParameter(uuid, syncDate), getCohortDataResource(dynamic));
         if (!CollectionUtil.isEmpty(cohortDataList)) {
             if (cohortDataList.size() > 1) {
                 throw new IOException("Unable to uniquely identify a cohort data record.");
@@ -334,6 +331,44 @@ public class CohortServiceImpl implements CohortService {
         return cohortData;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see CohortService#downloadCohortData(String, boolean, CohortDataConsumer)
+     */
+    @Override
+    public Cohort downloadCohortData(final String uuid, final boolean dynamic,
+                                     final CohortDataConsumer consumer) throws IOException {
+        return downloadCohortDataAndSyncDate(uuid, dynamic, null, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see CohortService#downloadCohortDataAndSyncDate(String, boolean, java.util.Date, CohortDataConsumer)
+     */
+    @Override
+    public Cohort downloadCohortDataAndSyncDate(final String uuid, final boolean dynamic, final Date syncDate,
+                                                final CohortDataConsumer consumer) throws IOException {
+        return cohortDataDao.download(createCohortDataParameter(uuid, syncDate), getCohortDataResource(dynamic), consumer);
+    }
+
+    private String getCohortDataResource(final boolean dynamic) {
+        if (dynamic) {
+            return Constants.DYNAMIC_COHORT_DATA_RESOURCE;
+        }
+        return Constants.STATIC_COHORT_DATA_RESOURCE;
+    }
+
+    private Map<String, String> createCohortDataParameter(final String uuid, final Date syncDate) {
+        Map<String, String> parameter = new HashMap<String, String>();
+        parameter.put("uuid", uuid);
+        if (syncDate != null) {
+            parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+        }
+        return parameter;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -439,6 +474,16 @@ public class CohortServiceImpl implements CohortService {
         return memberDao.getByCohortUuid(cohort.getUuid(), page, pageSize);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see CohortService#getCohortMembers(String, com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<CohortMember> getCohortMembers(final String cohortUuid, final PageCursor cursor) throws IOException {
+        return memberDao.getByCohortUuid(cohortUuid, cursor);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -446,11 +491,15 @@ public class CohortServiceImpl implements CohortService {
      */
     @Override
     public void deleteCohortMembers(final String cohortUuid) throws IOException {
-        memberDao.delete(getCohortMembers(cohortUuid), Constants.LOCAL_COHORT_MEMBER_RESOURCE);
+        List<Filter> filters = new ArrayList<Filter>();
+        if (!StringUtil.isEmpty(cohortUuid)) {
+            filters.add(FilterFactory.createFilter("cohortUuid", cohortUuid));
+        }
+        memberDao.deleteByFilters(filters, Constants.LOCAL_COHORT_MEMBER_RESOURCE);
     }
 
     @Override
     public void deleteCohortMembers(final Cohort cohort) throws IOException {
-        memberDao.delete(getCohortMembers(cohort.getUuid()), Constants.LOCAL_COHORT_MEMBER_RESOURCE);
+        deleteCohortMembers(cohort.getUuid());
     }
 }
@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.muzima.api.config.DownloadConfiguration;
 import com.muzima.api.dao.ConceptDao;
 import com.muzima.api.model.Concept;
 import com.muzima.api.service.ConceptService;
@@ -17,10 +18,17 @@ import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * TODO: Write brief description about the class here.
@@ -30,6 +38,9 @@ public class ConceptServiceImpl implements ConceptService {
     @Inject
     private ConceptDao conceptDao;
 
+    @Inject(optional = true)
+    private DownloadConfiguration downloadConfiguration = new DownloadConfiguration();
+
     /**
      * Internal implementation of downloading concept by the uuid of the concept. This will be used
      * primarily to download numeric concept because only numeric concepts will have the units field
@@ -85,9 +96,17 @@ public class ConceptServiceImpl implements ConceptService {
                 put("q", name);
             }};
             List<Concept> concepts = conceptDao.download(parameter, Constants.SEARCH_CONCEPT_RESOURCE);
+            List<Concept> numericConcepts = new ArrayList<Concept>();
             for (Concept concept : concepts) {
                 if (concept.isNumeric()) {
-                    consolidatedConcepts.add(downloadConcept(concept));
+                    numericConcepts.add(concept);
+                }
+            }
+            // the search representation doesn't have the numeric fields, download them for the numeric concepts.
+            Map<Concept, Concept> downloadedConcepts = downloadConcepts(numericConcepts);
+            for (Concept concept : concepts) {
+                if (concept.isNumeric()) {
+                    consolidatedConcepts.add(downloadedConcepts.get(concept));
                 } else {
                     consolidatedConcepts.add(concept);
                 }
@@ -96,6 +115,56 @@ public class ConceptServiceImpl implements ConceptService {
         return consolidatedConcepts;
     }
 
+    /**
+     * Download the concepts at the same time, with at most the configured number of downloads running at a time.
+     *
+     * @param concepts the concepts to be downloaded.
+     * @return map of the concept to the downloaded concept.
+     * @throws IOException when one of the concepts can't be downloaded.
+     */
+    private Map<Concept, Concept> downloadConcepts(final List<Concept> concepts) throws IOException {
+        Map<Concept, Concept> downloadedConcepts = new IdentityHashMap<Concept, Concept>();
+        if (concepts.size() == 1) {
+            Concept concept = concepts.get(0);
+            downloadedConcepts.put(concept, downloadConcept(concept));
+        } else if (concepts.size() > 1) {
+            int threadCount = Math.min(downloadConfiguration.getThreadCount(), concepts.size());
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                List<Future<Concept>> futures = new ArrayList<Future<Concept>>();
+                for (final Concept concept : concepts) {
+                    futures.add(executor.submit(new Callable<Concept>() {
+                        @Override
+                        public Concept call() throws Exception {
+                            return downloadConcept(concept);
+                        }
+                    }));
+                }
+                for (int i = 0; i < concepts.size(); i++) {
+                    downloadedConcepts.put(concepts.get(i), futures.get(i).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while downloading concepts.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException("Unable to download concepts.", cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return downloadedConcepts;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -204,6 +273,20 @@ public class ConceptServiceImpl implements ConceptService {
         conceptDao.update(nonNumericConcepts, Constants.UUID_CONCEPT_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see ConceptService#upsertConcepts(java.util.List)
+     */
+    @Override
+    public void upsertConcepts(final List<Concept> concepts) throws IOException {
+        updateConcepts(concepts);
+    }
+        }
+        conceptDao.upsert(numericConcepts, Constants.UUID_CONCEPT_NUMERIC_RESOURCE);
+        conceptDao.upsert(nonNumericConcepts, Constants.UUID_CONCEPT_RESOURCE);
+    }
+
     /**
      * {@inheritDoc}
      *
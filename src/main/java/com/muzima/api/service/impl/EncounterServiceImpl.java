@@ -12,6 +12,7 @@ import com.google.inject.Inject;
 import com.muzima.api.dao.EncounterDao;
 import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.Encounter;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.api.model.Patient;
 import com.muzima.api.service.EncounterService;
 import com.muzima.search.api.util.CollectionUtil;
@@ -222,6 +223,16 @@ public class EncounterServiceImpl implements EncounterService {
         return encounterDao.getEncountersByPatientUuid(patientUuid);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.service.EncounterService#iterateEncountersByPatientUuid(String)
+     */
+    @Override
+    public PagedIterable<Encounter> iterateEncountersByPatientUuid(final String patientUuid) {
+        return encounterDao.iterateEncountersByPatientUuid(patientUuid);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -242,6 +253,16 @@ public class EncounterServiceImpl implements EncounterService {
         return encounterDao.getAll();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.service.EncounterService#iterateAllEncounters()
+     */
+    @Override
+    public PagedIterable<Encounter> iterateAllEncounters() {
+        return encounterDao.iterateAll();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -292,6 +313,16 @@ public class EncounterServiceImpl implements EncounterService {
         encounterDao.update(encounters, Constants.UUID_ENCOUNTER_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.service.EncounterService#upsertEncounters(java.util.List)
+     */
+    @Override
+    public void upsertEncounters(final List<Encounter> encounters) throws IOException {
+        updateEncounters(encounters);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -319,6 +350,6 @@ public class EncounterServiceImpl implements EncounterService {
      */
     @Override
     public void deleteAll() throws IOException {
-        encounterDao.delete(encounterDao.getAll(), Constants.UUID_ENCOUNTER_RESOURCE);
+        encounterDao.deleteAll(Constants.UUID_ENCOUNTER_RESOURCE);
     }
 }
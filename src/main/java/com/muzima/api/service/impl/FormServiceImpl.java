@@ -15,23 +15,37 @@ import com.muzima.api.dao.FormTemplateDao;
 import com.muzima.api.model.Form;
 import com.muzima.api.model.FormData;
 import com.muzima.api.model.FormTemplate;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.service.FormService;
 import com.muzima.search.api.util.CollectionUtil;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 import com.muzima.util.DateUtils;
+import com.muzima.util.SortUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class FormServiceImpl implements FormService {
 
+    private final Logger logger = LoggerFactory.getLogger(FormServiceImpl.class.getSimpleName());
+
     @Inject
     private FormDao formDao;
 
@@ -131,6 +145,16 @@ public class FormServiceImpl implements FormService {
         formDao.update(forms, Constants.UUID_FORM_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see FormService#upsertForms(java.util.List)
+     */
+    @Override
+    public void upsertForms(final List<Form> forms) throws IOException {
+        updateForms(forms);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -411,6 +435,17 @@ public class FormServiceImpl implements FormService {
         return formDataDao.getAllFormData(patientUuid, StringUtil.EMPTY, status);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see FormService#getFormDataByPatient(String, String, com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<FormData> getFormDataByPatient(final String patientUuid, final String status,
+                                               final PageCursor cursor) throws IOException {
+        return formDataDao.getAllFormData(patientUuid, StringUtil.EMPTY, status, cursor);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -450,13 +485,99 @@ public class FormServiceImpl implements FormService {
         return formDataDao.syncFormData(formData );
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see FormService#syncFormData(com.muzima.api.model.FormData, java.io.Reader)
+     */
+    @Override
+    public boolean syncFormData(final FormData formData, final Reader payload) throws IOException {
+        return formDataDao.syncFormData(formData, payload);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see FormService#syncFormData(java.util.List, int)
+     */
+    @Override
+    public Map<String, Boolean> syncFormData(final List<FormData> formDataList,
+                                             final int maximumInFlight) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<String, Boolean>();
+        if (formDataList.isEmpty()) {
+            return results;
+        }
+        // one thread per form data in flight, not per form data. the dao reads every response to the end, so the
+        // connections are reused from the keep alive pool of HttpURLConnection across the form data.
+        int threadCount = Math.max(Math.min(maximumInFlight, formDataList.size()), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final Object updateLock = new Object();
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        try {
+            for (final FormData formData : formDataList) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        boolean synced;
+                        try {
+                            synced = formDataDao.syncFormData(formData);
+                        } catch (IOException e) {
+                            // a failed form data shouldn't stop the rest of the form data from being sent.
+                            logger.warn("Unable to sync form data: " + formData.getUuid(), e);
+                            return false;
+                        }
+                        if (synced) {
+                            // save the status of each form data as soon as the server accepted it, instead of one
+                            // batched update at the end, so a crash or a caller that stops waiting doesn't lose the
+                            // status of the form data already sent.
+                            try {
+                                synchronized (updateLock) {
+                                    formData.setStatus(Constants.STATUS_UPLOADED);
+                                    formDataDao.update(formData, Constants.LOCAL_FORM_DATA_RESOURCE);
+                                }
+                            } catch (IOException e) {
+                                // the server has the form data, it will be sent again on the next sync.
+                                logger.warn("Unable to save the status of synced form data: " + formData.getUuid(), e);
+                            }
+                        }
+                        return synced;
+                    }
+                }));
+            }
+            for (int i = 0; i < formDataList.size(); i++) {
+                String uuid = formDataList.get(i).getUuid();
+                try {
+                    results.put(uuid, futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // a failure of one form data doesn't lose the results of the other form data.
+                    logger.warn("Unable to sync form data: " + uuid, e.getCause());
+                    results.put(uuid, false);
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while syncing form data.");
+        } finally {
+            // form data not sent yet is skipped, form data being sent is left to finish and save its status.
+            for (Future<Boolean> future : futures) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+        }
+    }
+
     @Override
     public List<FormData> getFormDataByTemplateUUID(String templateUUID) throws IOException {
         return formDataDao.getFormDataByTemplateUUID(templateUUID);
     }
 
     private List<Form> sortNameAscending(List<Form> all) {
-        Collections.sort(all);
-        return all;
+        return SortUtils.sortAscending(all, new SortUtils.SortKey<Form>() {
+            @Override
+            public String getSortKey(final Form form) {
+                return form.getSortName();
+            }
+        });
     }
 }
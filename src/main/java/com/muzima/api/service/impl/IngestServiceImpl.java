@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service.impl;
+
+import com.google.inject.Inject;
+import com.muzima.api.config.IngestConfiguration;
+import com.muzima.api.dao.EncounterDao;
+import com.muzima.api.dao.MemberDao;
+import com.muzima.api.dao.ObservationDao;
+import com.muzima.api.dao.PatientDao;
+import com.muzima.api.dao.SearchableDao;
+import com.muzima.api.model.CohortData;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Encounter;
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.api.service.IngestReport;
+import com.muzima.api.service.IngestService;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class IngestServiceImpl implements IngestService {
+
+    private final Logger logger = LoggerFactory.getLogger(IngestServiceImpl.class.getSimpleName());
+
+    @Inject
+    private PatientDao patientDao;
+
+    @Inject
+    private MemberDao memberDao;
+
+    @Inject
+    private EncounterDao encounterDao;
+
+    @Inject
+    private ObservationDao observationDao;
+
+    @Inject(optional = true)
+    private IngestConfiguration ingestConfiguration = new IngestConfiguration();
+
+    protected IngestServiceImpl() {
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see IngestService#ingestCohortData(com.muzima.api.model.CohortData)
+     */
+    @Override
+    public IngestReport ingestCohortData(final CohortData cohortData) throws IOException {
+        return ingest(cohortData.getPatients(), cohortData.getCohortMembers(),
+                new ArrayList<Encounter>(), new ArrayList<Observation>());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see IngestService#ingest(java.util.List, java.util.List, java.util.List, java.util.List)
+     */
+    @Override
+    public IngestReport ingest(final List<Patient> patients, final List<CohortMember> cohortMembers,
+                               final List<Encounter> encounters, final List<Observation> observations)
+            throws IOException {
+        IngestReport report = new IngestReport();
+        long startTime = System.currentTimeMillis();
+        write(patientDao, patients, Constants.UUID_PATIENT_RESOURCE, true, report);
+        // cohort members have no unique field, only members not saved yet will be saved.
+        write(memberDao, getNewMembers(cohortMembers), Constants.LOCAL_COHORT_MEMBER_RESOURCE, false, report);
+        write(encounterDao, encounters, Constants.UUID_ENCOUNTER_RESOURCE, true, report);
+        write(observationDao, observations, Constants.UUID_OBSERVATION_RESOURCE, true, report);
+        report.setWallTime(System.currentTimeMillis() - startTime);
+        logger.info(report.toString());
+        return report;
+    }
+
+    /**
+     * Write the objects one batch after the other, every batch is saved with a single call to the search api.
+     */
+    private <T extends Searchable> void write(final SearchableDao<T> dao, final List<T> objects, final String resource,
+                                              final boolean replace, final IngestReport report) throws IOException {
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+        int batchSize = ingestConfiguration.getBatchSize();
+        for (int start = 0; start < objects.size(); start += batchSize) {
+            List<T> batch = objects.subList(start, Math.min(start + batchSize, objects.size()));
+            long writeStart = System.currentTimeMillis();
+            if (replace) {
+                dao.upsert(batch, resource);
+            } else {
+                dao.save(batch, resource);
+            }
+            report.record(resource, batch.size(), System.currentTimeMillis() - writeStart);
+        }
+    }
+
+    /**
+     * Get the cohort members whose patient is not a member of the cohort in the local repository yet.
+     */
+    private List<CohortMember> getNewMembers(final List<CohortMember> cohortMembers) throws IOException {
+        List<CohortMember> newMembers = new ArrayList<CohortMember>();
+        if (cohortMembers == null) {
+            return newMembers;
+        }
+        Map<String, Set<String>> memberPatientUuids = new HashMap<String, Set<String>>();
+        for (CohortMember cohortMember : cohortMembers) {
+            String cohortUuid = cohortMember.getCohortUuid();
+            Set<String> patientUuids = memberPatientUuids.get(cohortUuid);
+            if (patientUuids == null) {
+                patientUuids = new HashSet<String>();
+                if (!StringUtil.isEmpty(cohortUuid)) {
+                    for (CohortMember savedMember : memberDao.getByCohortUuid(cohortUuid)) {
+                        patientUuids.add(normalize(savedMember.getPatientUuid()));
+                    }
+                }
+                memberPatientUuids.put(cohortUuid, patientUuids);
+            }
+            if (patientUuids.add(normalize(cohortMember.getPatientUuid()))) {
+                newMembers.add(cohortMember);
+            }
+        }
+        return newMembers;
+    }
+
+    private static String normalize(final String uuid) {
+        return uuid == null ? StringUtil.EMPTY : uuid.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -61,6 +61,6 @@ public class LastSyncTimeServiceImpl implements LastSyncTimeService {
 
     @Override
     public void deleteAll() throws IOException {
-        lastSyncTimeDao.delete(lastSyncTimeDao.getAll(), Constants.UUID_LAST_SYNC_TIME);
+        lastSyncTimeDao.deleteAll(Constants.UUID_LAST_SYNC_TIME);
     }
 }
@@ -9,22 +9,40 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.muzima.api.config.DownloadConfiguration;
 import com.muzima.api.dao.ConceptDao;
+import com.muzima.api.dao.LastSyncTimeDao;
 import com.muzima.api.dao.ObservationDao;
+import com.muzima.api.model.APIName;
 import com.muzima.api.model.Concept;
+import com.muzima.api.model.LastSyncTime;
 import com.muzima.api.model.Observation;
+import com.muzima.api.model.PagedIterable;
 import com.muzima.api.model.Patient;
+import com.muzima.api.service.DownloadProgressListener;
 import com.muzima.api.service.ObservationService;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 import com.muzima.util.DateUtils;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ObservationServiceImpl implements ObservationService {
 
@@ -34,6 +52,12 @@ public class ObservationServiceImpl implements ObservationService {
     @Inject
     private ObservationDao observationDao;
 
+    @Inject
+    private LastSyncTimeDao lastSyncTimeDao;
+
+    @Inject(optional = true)
+    private DownloadConfiguration downloadConfiguration = new DownloadConfiguration();
+
     protected ObservationServiceImpl() {
     }
 
@@ -120,57 +144,20 @@ public class ObservationServiceImpl implements ObservationService {
     @Override
     public List<Observation> downloadObsByObjects(final List<Patient> patients, final List<Concept> concepts,
                                                   final Date syncDate) throws IOException {
-        final StringBuilder personBuilder = new StringBuilder();
+        List<String> patientUuids = new ArrayList<String>();
         for (Patient patient : patients) {
-            if (personBuilder.length() > 0) {
-                personBuilder.append(",");
-            }
-            personBuilder.append(patient.getUuid());
+            patientUuids.add(patient.getUuid());
         }
-        final StringBuilder codedBuilder = new StringBuilder();
-        final StringBuilder nonCodedBuilder = new StringBuilder();
+        List<String> codedUuids = new ArrayList<String>();
+        List<String> nonCodedUuids = new ArrayList<String>();
         for (Concept concept : concepts) {
             if (concept.isCoded()) {
-                if (codedBuilder.length() > 0) {
-                    codedBuilder.append(",");
-                }
-                codedBuilder.append(concept.getUuid());
+                codedUuids.add(concept.getUuid());
             } else {
-                if (nonCodedBuilder.length() > 0) {
-                    nonCodedBuilder.append(",");
-                }
-                nonCodedBuilder.append(concept.getUuid());
-            }
-        }
-
-        List<Observation> observations = new ArrayList<Observation>();
-        if (codedBuilder.length() > 0) {
-            Map<String, String> codedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", codedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                codedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
-            }
-            List<Observation> codedObservations = observationDao.download(codedParameter,
-                    Constants.SEARCH_OBSERVATION_CODED_RESOURCE);
-            observations.addAll(codedObservations);
-        }
-
-        if (nonCodedBuilder.length() > 0) {
-            Map<String, String> nonCodedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", nonCodedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                nonCodedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+                nonCodedUuids.add(concept.getUuid());
             }
-            List<Observation> nonCodedObservations = observationDao.download(nonCodedParameter,
-                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE);
-            observations.addAll(nonCodedObservations);
         }
-
-        return observations;
+        return downloadObservations(createChunks(patientUuids, codedUuids, nonCodedUuids), syncDate);
     }
 
     /**
@@ -191,57 +178,440 @@ public class ObservationServiceImpl implements ObservationService {
     @Override
     public List<Observation> downloadObservations(final List<String> patientUuids, final List<String> conceptUuids,
                                                   final Date syncDate) throws IOException {
-        final StringBuilder personBuilder = new StringBuilder();
-        for (String patientUuid : patientUuids) {
-            if (personBuilder.length() > 0) {
-                personBuilder.append(",");
+        return downloadObservations(createChunks(patientUuids, conceptUuids), syncDate);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see ObservationService#downloadAndSaveObservations(java.util.List, java.util.List, java.util.Date,
+     * com.muzima.api.service.DownloadProgressListener)
+     */
+    @Override
+    public int downloadAndSaveObservations(final List<String> patientUuids, final List<String> conceptUuids,
+                                           final Date syncDate, final DownloadProgressListener listener)
+            throws IOException {
+        return downloadAndSaveObservations(patientUuids, conceptUuids, syncDate, false, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see ObservationService#syncObservations(java.util.List, java.util.List,
+     * com.muzima.api.service.DownloadProgressListener)
+     */
+    @Override
+    public int syncObservations(final List<String> patientUuids, final List<String> conceptUuids,
+                                final DownloadProgressListener listener) throws IOException {
+        return downloadAndSaveObservations(patientUuids, conceptUuids, null, true, listener);
+    }
+
+    private int downloadAndSaveObservations(final List<String> patientUuids, final List<String> conceptUuids,
+                                            final Date syncDate, final boolean incremental,
+                                            final DownloadProgressListener listener) throws IOException {
+        List<SyncChunk> chunks = createSyncChunks(patientUuids, conceptUuids, syncDate, incremental);
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+        ChunkProgress progress = new ChunkProgress(chunks.size(), listener);
+        int threadCount = Math.min(downloadConfiguration.getThreadCount(), chunks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        try {
+            CompletionService<Integer> completionService = new ExecutorCompletionService<Integer>(executor);
+            for (SyncChunk chunk : chunks) {
+                futures.add(completionService.submit(new ChunkDownloadTask(chunk, progress)));
+            }
+            int observationCount = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                observationCount += completionService.take().get();
             }
-            personBuilder.append(patientUuid);
+            return observationCount;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading observations.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Unable to download observations.", cause);
+        } finally {
+            // only cancel the chunks not started yet when one of the chunk failed. running chunks are not interrupted,
+            // an interrupt while writing to the lucene index would close the index.
+            for (Future<Integer> future : futures) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+        }
+    }
+
+    private List<Observation> downloadObservations(final List<ObservationChunk> chunks,
+                                                   final Date syncDate) throws IOException {
+        List<Observation> observations = new ArrayList<Observation>();
+        for (ObservationChunk chunk : chunks) {
+            observations.addAll(observationDao.download(chunk.createParameter(syncDate), chunk.getResource()));
         }
-        final StringBuilder codedBuilder = new StringBuilder();
-        final StringBuilder nonCodedBuilder = new StringBuilder();
+        return observations;
+    }
+
+    private List<ObservationChunk> createChunks(final List<String> patientUuids,
+                                                final List<String> conceptUuids) throws IOException {
+        List<String> codedUuids = new ArrayList<String>();
+        List<String> nonCodedUuids = new ArrayList<String>();
+        Map<String, String> datatypes = conceptDao.getDatatypes(conceptUuids);
         for (String conceptUuid : conceptUuids) {
-            Concept concept = conceptDao.getByUuid(conceptUuid);
-            if (concept.isCoded()) {
-                if (codedBuilder.length() > 0) {
-                    codedBuilder.append(",");
-                }
-                codedBuilder.append(concept.getUuid());
+            if (Concept.CODED_TYPE.equals(datatypes.get(conceptUuid))) {
+                codedUuids.add(conceptUuid);
+            } else {
+                nonCodedUuids.add(conceptUuid);
+            }
+        }
+        return createChunks(patientUuids, codedUuids, nonCodedUuids);
+    }
+
+    /**
+     * Split the patients and concepts into chunks small enough to be requested in a single request. Each chunk of
+     * the patients will be paired with each chunk of the coded and non coded concepts.
+     */
+    private List<ObservationChunk> createChunks(final List<String> patientUuids, final List<String> codedUuids,
+                                                final List<String> nonCodedUuids) {
+        List<ObservationChunk> chunks = new ArrayList<ObservationChunk>();
+        List<String> patientChunks = joinChunks(patientUuids, downloadConfiguration.getPatientChunkSize());
+        List<String> codedChunks = joinChunks(codedUuids, downloadConfiguration.getConceptChunkSize());
+        List<String> nonCodedChunks = joinChunks(nonCodedUuids, downloadConfiguration.getConceptChunkSize());
+        for (String patientChunk : patientChunks) {
+            for (String codedChunk : codedChunks) {
+                chunks.add(new ObservationChunk(patientChunk, codedChunk,
+                        Constants.SEARCH_OBSERVATION_CODED_RESOURCE));
+            }
+            for (String nonCodedChunk : nonCodedChunks) {
+                chunks.add(new ObservationChunk(patientChunk, nonCodedChunk,
+                        Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Split the patients and concepts into chunks for a download saving the last sync time of each patient. The last
+     * sync time is kept per patient and concept chunk, so patients added to or removed from the list don't change
+     * the state of the other patients. The patients of each concept chunk are ordered by their sync date before they
+     * are split, so patients never synced are downloaded in full together and the other patients are downloaded
+     * from the earliest sync date of their chunk.
+     */
+    private List<SyncChunk> createSyncChunks(final List<String> patientUuids, final List<String> conceptUuids,
+                                             final Date syncDate, final boolean incremental) throws IOException {
+        List<SyncChunk> chunks = new ArrayList<SyncChunk>();
+        List<String> codedUuids = new ArrayList<String>();
+        List<String> nonCodedUuids = new ArrayList<String>();
+        Map<String, String> datatypes = conceptDao.getDatatypes(conceptUuids);
+        for (String conceptUuid : conceptUuids) {
+            if (Concept.CODED_TYPE.equals(datatypes.get(conceptUuid))) {
+                codedUuids.add(conceptUuid);
             } else {
-                if (nonCodedBuilder.length() > 0) {
-                    nonCodedBuilder.append(",");
+                nonCodedUuids.add(conceptUuid);
+            }
+        }
+        Set<String> uniquePatientUuids = new LinkedHashSet<String>();
+        for (String patientUuid : patientUuids) {
+            if (!StringUtil.isEmpty(patientUuid)) {
+                uniquePatientUuids.add(patientUuid);
+            }
+        }
+        if (uniquePatientUuids.isEmpty() || (codedUuids.isEmpty() && nonCodedUuids.isEmpty())) {
+            return chunks;
+        }
+        Map<String, LastSyncTime> lastSyncTimes = getLastSyncTimes();
+        for (String codedChunk : joinChunks(codedUuids, downloadConfiguration.getConceptChunkSize())) {
+            chunks.addAll(createSyncChunks(uniquePatientUuids, codedChunk, Constants.SEARCH_OBSERVATION_CODED_RESOURCE,
+                    lastSyncTimes, syncDate, incremental));
+        }
+        for (String nonCodedChunk : joinChunks(nonCodedUuids, downloadConfiguration.getConceptChunkSize())) {
+            chunks.addAll(createSyncChunks(uniquePatientUuids, nonCodedChunk,
+                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE, lastSyncTimes, syncDate, incremental));
+        }
+        return chunks;
+    }
+
+    private List<SyncChunk> createSyncChunks(final Set<String> patientUuids, final String conceptUuids,
+                                             final String resource, final Map<String, LastSyncTime> lastSyncTimes,
+                                             final Date syncDate, final boolean incremental) {
+        List<PatientSyncTime> patientSyncTimes = new ArrayList<PatientSyncTime>();
+        for (String patientUuid : patientUuids) {
+            String paramSignature = getParamSignature(patientUuid, conceptUuids);
+            LastSyncTime lastSyncTime = lastSyncTimes.get(paramSignature);
+            patientSyncTimes.add(new PatientSyncTime(patientUuid, paramSignature, lastSyncTime,
+                    getPatientSyncDate(lastSyncTime, syncDate, incremental)));
+        }
+        // the sort is stable, patients with the same sync date keep the order of the list.
+        Collections.sort(patientSyncTimes, new Comparator<PatientSyncTime>() {
+            @Override
+            public int compare(final PatientSyncTime patientSyncTime, final PatientSyncTime otherPatientSyncTime) {
+                Date date = patientSyncTime.getSyncDate();
+                Date otherDate = otherPatientSyncTime.getSyncDate();
+                if (date == null || otherDate == null) {
+                    return date == otherDate ? 0 : (date == null ? -1 : 1);
                 }
-                nonCodedBuilder.append(concept.getUuid());
+                return date.compareTo(otherDate);
             }
+        });
+        List<SyncChunk> chunks = new ArrayList<SyncChunk>();
+        int chunkSize = downloadConfiguration.getPatientChunkSize();
+        for (int start = 0; start < patientSyncTimes.size(); start += chunkSize) {
+            List<PatientSyncTime> chunkPatients =
+                    patientSyncTimes.subList(start, Math.min(start + chunkSize, patientSyncTimes.size()));
+            chunks.add(new SyncChunk(new ArrayList<PatientSyncTime>(chunkPatients), conceptUuids, resource));
         }
+        return chunks;
+    }
 
-        List<Observation> observations = new ArrayList<Observation>();
-        if (codedBuilder.length() > 0) {
-            Map<String, String> codedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", codedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                codedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+    /**
+     * Get the most recent last sync time of every param signature of the observation downloads, read with a single
+     * query instead of a query per patient.
+     */
+    private Map<String, LastSyncTime> getLastSyncTimes() throws IOException {
+        Map<String, LastSyncTime> lastSyncTimes = new HashMap<String, LastSyncTime>();
+        for (LastSyncTime lastSyncTime : lastSyncTimeDao.getLastSyncTimes(APIName.DOWNLOAD_OBSERVATIONS.toString())) {
+            if (lastSyncTime.getParamSignature() == null || lastSyncTime.getLastSyncDate() == null) {
+                continue;
             }
-            List<Observation> codedObservations = observationDao.download(codedParameter,
-                    Constants.SEARCH_OBSERVATION_CODED_RESOURCE);
-            observations.addAll(codedObservations);
+            LastSyncTime saved = lastSyncTimes.get(lastSyncTime.getParamSignature());
+            if (saved == null || lastSyncTime.compareTo(saved) > 0) {
+                lastSyncTimes.put(lastSyncTime.getParamSignature(), lastSyncTime);
+            }
+        }
+        return lastSyncTimes;
+    }
+
+    /**
+     * Get the param signature of the last sync time of a patient, in the same patients and concepts format as the
+     * signatures of the observation downloads.
+     */
+    private static String getParamSignature(final String patientUuid, final String conceptUuids) {
+        return patientUuid + Constants.UUID_TYPE_SEPARATOR + conceptUuids;
+    }
+
+    private static List<String> joinChunks(final List<String> uuids, final int chunkSize) {
+        List<String> chunks = new ArrayList<String>();
+        StringBuilder builder = new StringBuilder();
+        int count = 0;
+        for (String uuid : uuids) {
+            if (StringUtil.isEmpty(uuid)) {
+                continue;
+            }
+            if (count == chunkSize) {
+                chunks.add(builder.toString());
+                builder.setLength(0);
+                count = 0;
+            }
+            if (builder.length() > 0) {
+                builder.append(",");
+            }
+            builder.append(uuid);
+            count++;
+        }
+        if (count > 0) {
+            chunks.add(builder.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Get the sync date for the patient. An incremental download uses the last sync time of the patient. Otherwise, a
+     * null sync date always downloads the patient in full, and a patient completed after the sync date by an earlier,
+     * interrupted, run of the same download will only download observations changed after the patient was completed.
+     */
+    private Date getPatientSyncDate(final LastSyncTime lastSyncTime, final Date syncDate, final boolean incremental) {
+        if (incremental) {
+            return lastSyncTime == null ? null : lastSyncTime.getLastSyncDate();
+        }
+        if (syncDate == null || lastSyncTime == null || lastSyncTime.getLastSyncDate() == null) {
+            return syncDate;
+        }
+        if (syncDate.after(lastSyncTime.getLastSyncDate())) {
+            return syncDate;
+        }
+        return lastSyncTime.getLastSyncDate();
+    }
+
+    private static class ObservationChunk {
+
+        private final String patientUuids;
+
+        private final String conceptUuids;
+
+        private final String resource;
+
+        private ObservationChunk(final String patientUuids, final String conceptUuids, final String resource) {
+            this.patientUuids = patientUuids;
+            this.conceptUuids = conceptUuids;
+            this.resource = resource;
         }
 
-        if (nonCodedBuilder.length() > 0) {
-            Map<String, String> nonCodedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", nonCodedBuilder.toString());
-            }};
+        public String getResource() {
+            return resource;
+        }
+
+        public Map<String, String> createParameter(final Date syncDate) {
+            Map<String, String> parameter = new HashMap<String, String>();
+            parameter.put("person", patientUuids);
+            parameter.put("concept", conceptUuids);
             if (syncDate != null) {
-                nonCodedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+                parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
             }
-            List<Observation> nonCodedObservations = observationDao.download(nonCodedParameter,
-                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE);
-            observations.addAll(nonCodedObservations);
+            return parameter;
+        }
+    }
+
+    /**
+     * Progress of the chunked download. Writing to the local repository and notifying the listener will be done
+     * by one download thread at a time.
+     */
+    private static class ChunkProgress {
+
+        private final int totalChunks;
+
+        private final DownloadProgressListener listener;
+
+        private int completedChunks;
+
+        private ChunkProgress(final int totalChunks, final DownloadProgressListener listener) {
+            this.totalChunks = totalChunks;
+            this.listener = listener;
+        }
+
+        public synchronized void chunkCompleted(final int downloadedElements) {
+            completedChunks++;
+            if (listener != null) {
+                listener.chunkCompleted(completedChunks, totalChunks, downloadedElements);
+            }
+        }
+    }
+
+    /**
+     * Sync state of a single patient for a concept chunk.
+     */
+    private static class PatientSyncTime {
+
+        private final String patientUuid;
+
+        private final String paramSignature;
+
+        private final LastSyncTime lastSyncTime;
+
+        private final Date syncDate;
+
+        private PatientSyncTime(final String patientUuid, final String paramSignature,
+                                final LastSyncTime lastSyncTime, final Date syncDate) {
+            this.patientUuid = patientUuid;
+            this.paramSignature = paramSignature;
+            this.lastSyncTime = lastSyncTime;
+            this.syncDate = syncDate;
+        }
+
+        public String getPatientUuid() {
+            return patientUuid;
+        }
+
+        public String getParamSignature() {
+            return paramSignature;
+        }
+
+        public LastSyncTime getLastSyncTime() {
+            return lastSyncTime;
+        }
+
+        public Date getSyncDate() {
+            return syncDate;
+        }
+    }
+
+    /**
+     * Chunk of patients downloaded together, from the earliest sync date of the patients.
+     */
+    private static class SyncChunk {
+
+        private final List<PatientSyncTime> patientSyncTimes;
+
+        private final ObservationChunk chunk;
+
+        private SyncChunk(final List<PatientSyncTime> patientSyncTimes, final String conceptUuids,
+                          final String resource) {
+            this.patientSyncTimes = patientSyncTimes;
+            StringBuilder patientUuids = new StringBuilder();
+            for (PatientSyncTime patientSyncTime : patientSyncTimes) {
+                if (patientUuids.length() > 0) {
+                    patientUuids.append(",");
+                }
+                patientUuids.append(patientSyncTime.getPatientUuid());
+            }
+            this.chunk = new ObservationChunk(patientUuids.toString(), conceptUuids, resource);
+        }
+
+        public List<PatientSyncTime> getPatientSyncTimes() {
+            return patientSyncTimes;
+        }
+
+        public String getResource() {
+            return chunk.getResource();
+        }
+
+        public Map<String, String> createParameter() {
+            // the patients are sorted by sync date, a patient never synced comes first and downloads the chunk in full.
+            return chunk.createParameter(patientSyncTimes.get(0).getSyncDate());
+        }
+    }
+
+    private class ChunkDownloadTask implements Callable<Integer> {
+
+        private final SyncChunk chunk;
+
+        private final ChunkProgress progress;
+
+        private ChunkDownloadTask(final SyncChunk chunk, final ChunkProgress progress) {
+            this.chunk = chunk;
+            this.progress = progress;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            // take the time before the request, observations changed during the request will be downloaded again.
+            Date downloadDate = new Date();
+            List<Observation> observations = observationDao.download(chunk.createParameter(), chunk.getResource());
+            synchronized (progress) {
+                if (!observations.isEmpty()) {
+                    // the chunk might have been downloaded before, update the observations already saved.
+                    observationDao.upsert(observations, Constants.UUID_OBSERVATION_RESOURCE);
+                }
+                List<LastSyncTime> newSyncTimes = new ArrayList<LastSyncTime>();
+                List<LastSyncTime> savedSyncTimes = new ArrayList<LastSyncTime>();
+                for (PatientSyncTime patientSyncTime : chunk.getPatientSyncTimes()) {
+                    LastSyncTime lastSyncTime = patientSyncTime.getLastSyncTime();
+                    if (lastSyncTime == null) {
+                        newSyncTimes.add(new LastSyncTime(APIName.DOWNLOAD_OBSERVATIONS, downloadDate,
+                                patientSyncTime.getParamSignature()));
+                    } else {
+                        lastSyncTime.setLastSyncDate(downloadDate);
+                        savedSyncTimes.add(lastSyncTime);
+                    }
+                }
+                if (!newSyncTimes.isEmpty()) {
+                    lastSyncTimeDao.save(newSyncTimes, Constants.UUID_LAST_SYNC_TIME);
+                }
+                if (!savedSyncTimes.isEmpty()) {
+                    lastSyncTimeDao.update(savedSyncTimes, Constants.UUID_LAST_SYNC_TIME);
+                }
+                progress.chunkCompleted(observations.size());
+            }
+            return observations.size();
         }
-        return observations;
     }
 
     @Override
@@ -289,6 +659,16 @@ public class ObservationServiceImpl implements ObservationService {
         observationDao.update(observations, Constants.UUID_OBSERVATION_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see ObservationService#upsertObservations(java.util.List)
+     */
+    @Override
+    public void upsertObservations(final List<Observation> observations) throws IOException {
+        updateObservations(observations);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -329,6 +709,17 @@ public class ObservationServiceImpl implements ObservationService {
         return observationDao.get(patientUuid, conceptUuid);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see ObservationService#iterateObservationsByPatientAndConcept(String, String)
+     */
+    @Override
+    public PagedIterable<Observation> iterateObservationsByPatientAndConcept(final String patientUuid,
+                                                                             final String conceptUuid) {
+        return observationDao.iterate(patientUuid, conceptUuid);
+    }
+
 
     /**
      * {@inheritDoc}
@@ -345,6 +736,16 @@ public class ObservationServiceImpl implements ObservationService {
         return observationDao.get(concept);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see ObservationService#iterateObservations(com.muzima.api.model.Concept)
+     */
+    @Override
+    public PagedIterable<Observation> iterateObservations(final Concept concept) {
+        return observationDao.iterate(concept);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -397,6 +798,6 @@ public class ObservationServiceImpl implements ObservationService {
      */
     @Override
     public void deleteAll() throws IOException {
-        observationDao.delete(observationDao.getAll(), Constants.UUID_OBSERVATION_RESOURCE);
+        observationDao.deleteAll(Constants.UUID_OBSERVATION_RESOURCE);
     }
 }
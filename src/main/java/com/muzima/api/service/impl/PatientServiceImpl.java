@@ -12,21 +12,32 @@ import com.google.inject.Inject;
 import com.muzima.api.dao.MemberDao;
 import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.model.Patient;
 import com.muzima.api.service.PatientService;
 import com.muzima.search.api.util.CollectionUtil;
 import com.muzima.util.Constants;
+import com.muzima.util.SortUtils;
 import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 public class PatientServiceImpl implements PatientService {
 
+    private static final int PATIENT_PAGE_SIZE = 500;
+
+    private static final int INITIAL_QUEUE_CAPACITY = 16;
+
     @Inject
     private PatientDao patientDao;
 
@@ -156,6 +167,16 @@ public class PatientServiceImpl implements PatientService {
         patientDao.update(patients, Constants.UUID_PATIENT_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see PatientService#upsertPatients(java.util.List)
+     */
+    @Override
+    public void upsertPatients(final List<Patient> patients) throws IOException {
+        updatePatients(patients);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -196,6 +217,16 @@ public class PatientServiceImpl implements PatientService {
         return sortDisplayNameAscending(patientDao.getAll());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.service.PatientService#getPatients(com.muzima.api.model.PageCursor)
+     */
+    @Override
+    public Page<Patient> getPatients(final PageCursor cursor) throws IOException {
+        return patientDao.getAll(cursor);
+    }
+
 
     /**
      * {@inheritDoc}
@@ -227,6 +258,17 @@ public class PatientServiceImpl implements PatientService {
         return sortDisplayNameAscending(patientDao.search(term, cohortUuid));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see PatientService#searchPatients(String, String, Integer, Integer)
+     */
+    @Override
+    public List<Patient> searchPatients(final String term, final String cohortUuid, final Integer page,
+                                        final Integer pageSize) throws IOException, ParseException {
+        return sortDisplayNameAscending(patientDao.search(term, cohortUuid, page, pageSize));
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -247,15 +289,92 @@ public class PatientServiceImpl implements PatientService {
         patientDao.delete(patients, Constants.UUID_PATIENT_RESOURCE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see PatientService#getPatientsNotInCohorts()
+     */
     @Override
     public List<Patient> getPatientsNotInCohorts() throws IOException {
-        List<Patient> patientsNotInCohorts = new ArrayList<Patient>();
-        for (Patient patient : getAllPatients()) {
-            if (isNotAPartOfAnyCohort(patient)) {
-                patientsNotInCohorts.add(patient);
+        return filterPatientsNotInCohorts(Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see PatientService#getPatientsNotInCohorts(Integer, Integer)
+     */
+    @Override
+    public List<Patient> getPatientsNotInCohorts(final Integer page, final Integer pageSize) throws IOException {
+        if (page == null || pageSize == null) {
+            return getPatientsNotInCohorts();
+        }
+        // pages start at 1, only the patients up to the end of the requested page are kept.
+        int size = Math.max(pageSize, 0);
+        long limit = (long) Math.max(page, 1) * size;
+        List<Patient> patientsNotInCohorts = filterPatientsNotInCohorts((int) Math.min(limit, Integer.MAX_VALUE));
+        int fromIndex = (int) Math.min(limit - size, patientsNotInCohorts.size());
+        int toIndex = (int) Math.min(limit, patientsNotInCohorts.size());
+        return new ArrayList<Patient>(patientsNotInCohorts.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see PatientService#countPatientsNotInCohorts()
+     */
+    @Override
+    public Integer countPatientsNotInCohorts() throws IOException {
+        Set<String> memberPatientUuids = memberDao.getPatientUuids();
+        int count = 0;
+        PageCursor cursor = new PageCursor(PATIENT_PAGE_SIZE);
+        while (cursor != null) {
+            Page<Patient> page = patientDao.getAll(cursor);
+            for (Patient patient : page.getObjects()) {
+                if (isNotInCohorts(patient, memberPatientUuids)) {
+                    count++;
+                }
             }
+            cursor = page.getNextCursor();
         }
-        return sortDisplayNameAscending(patientsNotInCohorts);
+        return count;
+    }
+
+    /**
+     * Get the first patients not in any cohort in display name order, at most the limit. The patients are read one
+     * page at a time and only the first patients seen so far are kept.
+     */
+    private List<Patient> filterPatientsNotInCohorts(final int limit) throws IOException {
+        // collect the members once and check each patient against them, instead of a count query per patient.
+        Set<String> memberPatientUuids = memberDao.getPatientUuids();
+        // the last of the first patients is on top, to be dropped when a patient before it is found.
+        PriorityQueue<SortEntry> firstPatients =
+                new PriorityQueue<SortEntry>(INITIAL_QUEUE_CAPACITY, Collections.<SortEntry>reverseOrder());
+        int position = 0;
+        PageCursor cursor = new PageCursor(PATIENT_PAGE_SIZE);
+        while (cursor != null) {
+            Page<Patient> page = patientDao.getAll(cursor);
+            for (Patient patient : page.getObjects()) {
+                if (isNotInCohorts(patient, memberPatientUuids)) {
+                    firstPatients.add(new SortEntry(patient, position++));
+                    if (firstPatients.size() > limit) {
+                        firstPatients.poll();
+                    }
+                }
+            }
+            cursor = page.getNextCursor();
+        }
+        Patient[] patients = new Patient[firstPatients.size()];
+        for (int i = patients.length - 1; i >= 0; i--) {
+            patients[i] = firstPatients.poll().getPatient();
+        }
+        return new ArrayList<Patient>(Arrays.asList(patients));
+    }
+
+    private static boolean isNotInCohorts(final Patient patient, final Set<String> memberPatientUuids) {
+        // the member uuids are in lower case, the count query used before matched the uuids ignoring the case.
+        return patient.getUuid() == null
+                || !memberPatientUuids.contains(patient.getUuid().toLowerCase(Locale.ENGLISH));
     }
 
     @Override
@@ -267,16 +386,47 @@ public class PatientServiceImpl implements PatientService {
         return patients;
     }
 
-    private boolean isNotAPartOfAnyCohort(Patient patient) throws IOException {
-        return memberDao.countByPatientUUID(patient.getUuid()) == 0;
-    }
-
     private boolean patientExists(Patient patient) throws IOException {
         return patientDao.getByUuid(patient.getUuid()) != null;
     }
 
     private List<Patient> sortDisplayNameAscending(List<Patient> patientList) {
-        Collections.sort(patientList);
-        return patientList;
+        return SortUtils.sortAscending(patientList, new SortUtils.SortKey<Patient>() {
+            @Override
+            public String getSortKey(final Patient patient) {
+                return patient.getSortName();
+            }
+        });
+    }
+
+    /**
+     * Patient with its sort name computed once, ordered on the sort name and then on the order the patients were read.
+     */
+    private static class SortEntry implements Comparable<SortEntry> {
+
+        private final Patient patient;
+
+        private final String sortName;
+
+        private final int position;
+
+        private SortEntry(final Patient patient, final int position) {
+            this.patient = patient;
+            this.sortName = patient.getSortName();
+            this.position = position;
+        }
+
+        public Patient getPatient() {
+            return patient;
+        }
+
+        @Override
+        public int compareTo(final SortEntry entry) {
+            int result = sortName.compareTo(entry.sortName);
+            if (result == 0) {
+                result = position < entry.position ? -1 : (position == entry.position ? 0 : 1);
+            }
+            return result;
+        }
     }
 }
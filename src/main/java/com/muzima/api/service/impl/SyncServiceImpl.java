@@ -0,0 +1,636 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service.impl;
+
+import com.google.inject.Inject;
+import com.muzima.api.config.DownloadConfiguration;
+import com.muzima.api.dao.LastSyncTimeDao;
+import com.muzima.api.model.APIName;
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Encounter;
+import com.muzima.api.model.Form;
+import com.muzima.api.model.FormTemplate;
+import com.muzima.api.model.LastSyncTime;
+import com.muzima.api.model.Patient;
+import com.muzima.api.model.algorithm.CohortDataConsumer;
+import com.muzima.api.service.CohortService;
+import com.muzima.api.service.EncounterService;
+import com.muzima.api.service.FormService;
+import com.muzima.api.service.ObservationService;
+import com.muzima.api.service.PatientService;
+import com.muzima.api.service.SyncReport;
+import com.muzima.api.service.SyncReport.Stage;
+import com.muzima.api.service.SyncService;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SyncServiceImpl implements SyncService {
+
+    // batches waiting to be saved, the downloads will wait when saving falls behind.
+    private static final int INDEX_QUEUE_CAPACITY = 8;
+
+    private static final int MEMBER_BATCH_SIZE = 100;
+
+    // milliseconds to wait for room in the index queue before checking whether saving has stopped.
+    private static final long PUT_TIMEOUT = 500;
+
+    @Inject
+    private CohortService cohortService;
+
+    @Inject
+    private PatientService patientService;
+
+    @Inject
+    private EncounterService encounterService;
+
+    @Inject
+    private ObservationService observationService;
+
+    @Inject
+    private FormService formService;
+
+    @Inject
+    private LastSyncTimeDao lastSyncTimeDao;
+
+    @Inject(optional = true)
+    private DownloadConfiguration downloadConfiguration = new DownloadConfiguration();
+
+    protected SyncServiceImpl() {
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SyncService#synchronize(java.util.List, java.util.List)
+     */
+    @Override
+    public SyncReport synchronize(final List<String> cohortUuids, final List<String> conceptUuids) throws IOException {
+        long startTime = System.currentTimeMillis();
+        SyncReport report = new SyncReport();
+        ExecutorService executor = Executors.newFixedThreadPool(downloadConfiguration.getThreadCount());
+        IndexQueue indexQueue = new IndexQueue(report);
+        List<Future<?>> submitted = new ArrayList<Future<?>>();
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (String cohortUuid : new LinkedHashSet<String>(cohortUuids)) {
+                if (!StringUtil.isEmpty(cohortUuid)) {
+                    futures.add(executor.submit(new CohortTask(cohortUuid, indexQueue, report)));
+                }
+            }
+            submitted.addAll(futures);
+            waitFor(futures);
+            // the patients are read from the saved cohort members, which include members synced earlier.
+            indexQueue.flush();
+
+            futures.clear();
+            List<String> observationConceptUuids = new ArrayList<String>(new LinkedHashSet<String>(conceptUuids));
+            boolean hasConcepts = !StringUtil.isEmpty(join(observationConceptUuids));
+            for (List<String> patientChunk : split(getPatientUuids(cohortUuids))) {
+                futures.add(executor.submit(new EncounterTask(patientChunk, indexQueue, report)));
+                if (hasConcepts) {
+                    futures.add(executor.submit(new ObservationTask(patientChunk, observationConceptUuids, report)));
+                }
+            }
+            submitted.addAll(futures);
+            waitFor(futures);
+
+            futures.clear();
+            Future<List<String>> formFuture = executor.submit(new FormTask(indexQueue, report));
+            submitted.add(formFuture);
+            for (String formUuid : formFuture.get()) {
+                futures.add(executor.submit(new FormTemplateTask(formUuid, indexQueue, report)));
+            }
+            submitted.addAll(futures);
+            waitFor(futures);
+
+            indexQueue.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while syncing.");
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } finally {
+            // stop the remaining tasks when one of the task failed, the completed tasks are already saved. running
+            // tasks are not interrupted, an interrupt while writing to the lucene index would close the index.
+            for (Future<?> future : submitted) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+            indexQueue.shutdown();
+        }
+        report.setWallTime(System.currentTimeMillis() - startTime);
+        return report;
+    }
+
+    private List<String> getPatientUuids(final List<String> cohortUuids) throws IOException {
+        Set<String> patientUuids = new LinkedHashSet<String>();
+        for (String cohortUuid : new LinkedHashSet<String>(cohortUuids)) {
+            if (!StringUtil.isEmpty(cohortUuid)) {
+                for (CohortMember member : cohortService.getCohortMembers(cohortUuid)) {
+                    if (!StringUtil.isEmpty(member.getPatientUuid())) {
+                        patientUuids.add(member.getPatientUuid());
+                    }
+                }
+            }
+        }
+        return new ArrayList<String>(patientUuids);
+    }
+
+    private List<List<String>> split(final List<String> uuids) {
+        List<List<String>> chunks = new ArrayList<List<String>>();
+        int chunkSize = downloadConfiguration.getPatientChunkSize();
+        for (int i = 0; i < uuids.size(); i += chunkSize) {
+            chunks.add(uuids.subList(i, Math.min(i + chunkSize, uuids.size())));
+        }
+        return chunks;
+    }
+
+    private static String join(final List<String> uuids) {
+        StringBuilder builder = new StringBuilder();
+        for (String uuid : uuids) {
+            if (!StringUtil.isEmpty(uuid)) {
+                if (builder.length() > 0) {
+                    builder.append(Constants.UUID_SEPARATOR);
+                }
+                builder.append(uuid);
+            }
+        }
+        return builder.toString();
+    }
+
+    private LastSyncTime getLastSyncTime(final APIName apiName, final String paramSignature) throws IOException {
+        if (paramSignature == null) {
+            return lastSyncTimeDao.getLastSyncTime(apiName.toString());
+        }
+        return lastSyncTimeDao.getLastSyncTime(apiName.toString(), paramSignature);
+    }
+
+    private static Date getSyncDate(final LastSyncTime lastSyncTime) {
+        return lastSyncTime == null ? null : lastSyncTime.getLastSyncDate();
+    }
+
+    private void saveLastSyncTime(final LastSyncTime lastSyncTime, final APIName apiName,
+                                  final String paramSignature, final Date downloadDate) throws IOException {
+        if (lastSyncTime == null) {
+            lastSyncTimeDao.save(new LastSyncTime(apiName, downloadDate, paramSignature),
+                    Constants.UUID_LAST_SYNC_TIME);
+        } else {
+            lastSyncTime.setLastSyncDate(downloadDate);
+            lastSyncTimeDao.update(lastSyncTime, Constants.UUID_LAST_SYNC_TIME);
+        }
+    }
+
+    private static void waitFor(final List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static IOException propagate(final Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException("Unable to sync.", cause);
+    }
+
+    /**
+     * Work handed over to the saving thread.
+     */
+    private interface IndexTask {
+
+        /**
+         * Save the downloaded objects into the local lucene repository.
+         *
+         * @return the number of objects saved.
+         */
+        int index() throws IOException;
+    }
+
+    /**
+     * Bounded queue in front of the single thread saving the downloaded objects. Downloads put their objects into the
+     * queue and continue with the next download while the objects are being saved. After a failed save, or after the
+     * queue is shut down, the remaining objects in the queue are dropped and the next put will fail. The saving thread
+     * is never interrupted, it stops once it reaches the end of the queue.
+     */
+    private static class IndexQueue {
+
+        private static final IndexTask END = new IndexTask() {
+            @Override
+            public int index() {
+                return 0;
+            }
+        };
+
+        private final BlockingQueue<IndexTask> queue = new ArrayBlockingQueue<IndexTask>(INDEX_QUEUE_CAPACITY);
+
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        private final SyncReport report;
+
+        private final Future<?> consumer;
+
+        private volatile Throwable failure;
+
+        private volatile boolean stopped;
+
+        private IndexQueue(final SyncReport report) {
+            this.report = report;
+            this.consumer = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    consume();
+                }
+            });
+        }
+
+        private void consume() {
+            try {
+                IndexTask task;
+                while ((task = queue.take()) != END) {
+                    if (task instanceof Barrier) {
+                        ((Barrier) task).release();
+                    } else if (failure == null && !stopped) {
+                        try {
+                            long startTime = System.currentTimeMillis();
+                            int count = task.index();
+                            report.record(Stage.INDEX, startTime, System.currentTimeMillis(), count);
+                        } catch (Throwable e) {
+                            failure = e;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void put(final IndexTask task) throws IOException {
+            checkFailure();
+            try {
+                // the saving thread might stop while waiting for room in the queue.
+                while (!queue.offer(task, PUT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    checkFailure();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to save downloaded objects.");
+            }
+        }
+
+        /**
+         * Wait until every object put into the queue so far has been saved.
+         */
+        public void flush() throws IOException {
+            Barrier barrier = new Barrier();
+            put(barrier);
+            barrier.await();
+            checkFailure();
+        }
+
+        /**
+         * Wait until every object put into the queue has been saved and stop the saving thread.
+         */
+        public void close() throws IOException {
+            put(END);
+            try {
+                consumer.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while saving downloaded objects.");
+            } catch (ExecutionException e) {
+                throw propagate(e.getCause());
+            }
+            checkFailure();
+        }
+
+        /**
+         * Drop the objects still waiting in the queue and let the saving thread stop after the current save.
+         */
+        public void shutdown() {
+            stopped = true;
+            while (!queue.offer(END)) {
+                queue.clear();
+            }
+            executor.shutdown();
+        }
+
+        private void checkFailure() throws IOException {
+            if (failure != null) {
+                throw propagate(failure);
+            }
+            if (stopped) {
+                throw new IOException("Sync has been stopped.");
+            }
+        }
+    }
+
+    private static class Barrier implements IndexTask {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public int index() {
+            return 0;
+        }
+
+        public void release() {
+            latch.countDown();
+        }
+
+        public void await() throws IOException {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for downloaded objects to be saved.");
+            }
+        }
+    }
+
+    /**
+     * Download a cohort followed by its data. The patients and new members are handed over to the saving thread in
+     * batches while the cohort data is still being downloaded.
+     */
+    private class CohortTask implements Callable<Void>, CohortDataConsumer {
+
+        private final String cohortUuid;
+
+        private final IndexQueue indexQueue;
+
+        private final SyncReport report;
+
+        private final Set<String> memberPatientUuids = new HashSet<String>();
+
+        private List<Patient> patients = new ArrayList<Patient>();
+
+        private List<CohortMember> members = new ArrayList<CohortMember>();
+
+        private int memberCount;
+
+        private CohortTask(final String cohortUuid, final IndexQueue indexQueue, final SyncReport report) {
+            this.cohortUuid = cohortUuid;
+            this.indexQueue = indexQueue;
+            this.report = report;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            final LastSyncTime cohortSyncTime = getLastSyncTime(APIName.DOWNLOAD_COHORTS, cohortUuid);
+            // take the time before the request, objects changed during the request will be downloaded again.
+            final Date cohortDownloadDate = new Date();
+            final Cohort cohort = cohortService.downloadCohortByUuid(cohortUuid);
+            report.record(Stage.COHORTS, startTime, System.currentTimeMillis(), cohort == null ? 0 : 1);
+            if (cohort == null) {
+                return null;
+            }
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    if (cohortService.getCohortByUuid(cohort.getUuid()) == null) {
+                        cohortService.saveCohort(cohort);
+                    } else {
+                        cohortService.updateCohort(cohort);
+                    }
+                    saveLastSyncTime(cohortSyncTime, APIName.DOWNLOAD_COHORTS, cohortUuid, cohortDownloadDate);
+                    return 1;
+                }
+            });
+
+            startTime = System.currentTimeMillis();
+            final LastSyncTime dataSyncTime = getLastSyncTime(APIName.DOWNLOAD_COHORTS_DATA, cohortUuid);
+            final Date dataDownloadDate = new Date();
+            // cohort members have no unique field, only members not saved yet will be saved.
+            for (CohortMember member : cohortService.getCohortMembers(cohortUuid)) {
+                memberPatientUuids.add(member.getPatientUuid());
+            }
+            cohortService.downloadCohortDataAndSyncDate(cohortUuid, cohort.isDynamic(), getSyncDate(dataSyncTime), this);
+            flushMembers();
+            report.record(Stage.COHORT_DATA, startTime, System.currentTimeMillis(), memberCount);
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    saveLastSyncTime(dataSyncTime, APIName.DOWNLOAD_COHORTS_DATA, cohortUuid, dataDownloadDate);
+                    return 0;
+                }
+            });
+            return null;
+        }
+
+        @Override
+        public void consumeCohort(final Cohort cohort) {
+            // the cohort is saved from its own download.
+        }
+
+        @Override
+        public void consumeCohortMember(final CohortMember cohortMember) throws IOException {
+            memberCount++;
+            if (cohortMember.getPatient() != null) {
+                patients.add(cohortMember.getPatient());
+            }
+            if (memberPatientUuids.add(cohortMember.getPatientUuid())) {
+                members.add(cohortMember);
+            }
+            if (patients.size() >= MEMBER_BATCH_SIZE || members.size() >= MEMBER_BATCH_SIZE) {
+                flushMembers();
+            }
+        }
+
+        private void flushMembers() throws IOException {
+            if (patients.isEmpty() && members.isEmpty()) {
+                return;
+            }
+            final List<Patient> patientBatch = patients;
+            final List<CohortMember> memberBatch = members;
+            patients = new ArrayList<Patient>();
+            members = new ArrayList<CohortMember>();
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    if (!patientBatch.isEmpty()) {
+                        patientService.upsertPatients(patientBatch);
+                    }
+                    if (!memberBatch.isEmpty()) {
+                        cohortService.saveCohortMembers(memberBatch);
+                    }
+                    return patientBatch.size() + memberBatch.size();
+                }
+            });
+        }
+    }
+
+    private class EncounterTask implements Callable<Void> {
+
+        private final List<String> patientUuids;
+
+        private final IndexQueue indexQueue;
+
+        private final SyncReport report;
+
+        private EncounterTask(final List<String> patientUuids, final IndexQueue indexQueue,
+                              final SyncReport report) {
+            this.patientUuids = patientUuids;
+            this.indexQueue = indexQueue;
+            this.report = report;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            final String paramSignature = join(patientUuids);
+            final LastSyncTime lastSyncTime = getLastSyncTime(APIName.DOWNLOAD_ENCOUNTERS, paramSignature);
+            final Date downloadDate = new Date();
+            final List<Encounter> encounters =
+                    encounterService.downloadEncountersByPatientUuidsAndSyncDate(patientUuids, getSyncDate(lastSyncTime));
+            report.record(Stage.ENCOUNTERS, startTime, System.currentTimeMillis(), encounters.size());
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    if (!encounters.isEmpty()) {
+                        encounterService.upsertEncounters(encounters);
+                    }
+                    saveLastSyncTime(lastSyncTime, APIName.DOWNLOAD_ENCOUNTERS, paramSignature, downloadDate);
+                    return encounters.size();
+                }
+            });
+            return null;
+        }
+    }
+
+    /**
+     * Download and save the observations of the patients. The observation service records the last sync time of each
+     * chunk of the download, and only downloads the observations changed since then.
+     */
+    private class ObservationTask implements Callable<Void> {
+
+        private final List<String> patientUuids;
+
+        private final List<String> conceptUuids;
+
+        private final SyncReport report;
+
+        private ObservationTask(final List<String> patientUuids, final List<String> conceptUuids,
+                                final SyncReport report) {
+            this.patientUuids = patientUuids;
+            this.conceptUuids = conceptUuids;
+            this.report = report;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            int count = observationService.syncObservations(patientUuids, conceptUuids, null);
+            report.record(Stage.OBSERVATIONS, startTime, System.currentTimeMillis(), count);
+            return null;
+        }
+    }
+
+    /**
+     * Download the forms changed since the last sync and return the uuids of the changed forms having their template
+     * already downloaded, those templates need to be downloaded again.
+     */
+    private class FormTask implements Callable<List<String>> {
+
+        private final IndexQueue indexQueue;
+
+        private final SyncReport report;
+
+        private FormTask(final IndexQueue indexQueue, final SyncReport report) {
+            this.indexQueue = indexQueue;
+            this.report = report;
+        }
+
+        @Override
+        public List<String> call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            final LastSyncTime lastSyncTime = getLastSyncTime(APIName.DOWNLOAD_FORMS, null);
+            final Date downloadDate = new Date();
+            final List<Form> forms = formService.downloadFormsByName(StringUtil.EMPTY, getSyncDate(lastSyncTime));
+            report.record(Stage.FORMS, startTime, System.currentTimeMillis(), forms.size());
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    if (!forms.isEmpty()) {
+                        formService.upsertForms(forms);
+                    }
+                    saveLastSyncTime(lastSyncTime, APIName.DOWNLOAD_FORMS, null, downloadDate);
+                    return forms.size();
+                }
+            });
+            List<String> formUuids = new ArrayList<String>();
+            for (Form form : forms) {
+                if (formService.isFormTemplateDownloaded(form.getUuid())) {
+                    formUuids.add(form.getUuid());
+                }
+            }
+            return formUuids;
+        }
+    }
+
+    private class FormTemplateTask implements Callable<Void> {
+
+        private final String formUuid;
+
+        private final IndexQueue indexQueue;
+
+        private final SyncReport report;
+
+        private FormTemplateTask(final String formUuid, final IndexQueue indexQueue, final SyncReport report) {
+            this.formUuid = formUuid;
+            this.indexQueue = indexQueue;
+            this.report = report;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            final FormTemplate formTemplate = formService.downloadFormTemplateByUuid(formUuid);
+            report.record(Stage.FORM_TEMPLATES, startTime, System.currentTimeMillis(), formTemplate == null ? 0 : 1);
+            if (formTemplate == null) {
+                return null;
+            }
+            indexQueue.put(new IndexTask() {
+                @Override
+                public int index() throws IOException {
+                    FormTemplate savedTemplate = formService.getFormTemplateByUuid(formUuid);
+                    if (savedTemplate != null) {
+                        formService.deleteFormTemplate(savedTemplate);
+                    }
+                    formService.saveFormTemplate(formTemplate);
+                    return 1;
+                }
+            });
+            return null;
+        }
+    }
+}
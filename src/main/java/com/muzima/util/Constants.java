@@ -41,6 +41,22 @@ public class Constants {
     public static final String CONNECTION_USERNAME = "connection.openmrs.username";
 
     public static final String CONNECTION_PASSWORD = "connection.openmrs.password";
+
+    public static final String CONNECTION_USE_GZIP = "connection.gzip";
+    /*
+     * Object cache, download and bulk write configuration.
+     */
+    public static final String CACHE_CAPACITY = "configuration.cache.capacity";
+
+    public static final String DOWNLOAD_PATIENT_CHUNK_SIZE = "configuration.download.patient.chunk.size";
+
+    public static final String DOWNLOAD_CONCEPT_CHUNK_SIZE = "configuration.download.concept.chunk.size";
+
+    public static final String DOWNLOAD_THREAD_COUNT = "configuration.download.thread.count";
+
+    public static final String INGEST_BATCH_SIZE = "configuration.ingest.batch.size";
+
+    public static final String HTTP_CACHE_RESOURCES = "configuration.http.cache.resources";
     /*
      * Resource configuration.
      */
@@ -129,4 +145,6 @@ public class Constants {
     public static final String UUID_PROVIDER_RESOURCE = "Uuid Provider Resource";
 
     public static final String SEARCH_PROVIDER_RESOURCE = "Search Provider Resource";
+
+    public static final String STATUS_UPLOADED = "uploaded";
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.muzima.search.api.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Disk cache of the responses downloaded from the server together with their validators (the ETag and the
+ * Last-Modified header). The validators are sent back to the server on the next request of the same url, and the
+ * cached response will be used when the server answers that the response has not been modified.
+ */
+@Singleton
+public class HttpCache {
+
+    private static final String CACHE_DIRECTORY = "http-cache";
+
+    private final Logger logger = LoggerFactory.getLogger(HttpCache.class.getSimpleName());
+
+    private final File directory;
+
+    @Inject
+    public HttpCache(final @Named(Constants.LUCENE_DIRECTORY_PATH) String repositoryPath) {
+        this(new File(repositoryPath, CACHE_DIRECTORY));
+    }
+
+    public HttpCache(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the cached response for the key.
+     *
+     * @param key the key of the response.
+     * @return the cached response or null when there's no usable cached response for the key.
+     */
+    public synchronized Entry get(final String key) throws IOException {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (!key.equals(inputStream.readUTF())) {
+                return null;
+            }
+            String etag = readNullableString(inputStream);
+            String lastModified = readNullableString(inputStream);
+            byte[] body = new byte[inputStream.readInt()];
+            inputStream.readFully(body);
+            return new Entry(etag, lastModified, body);
+        } catch (IOException e) {
+            // a broken cache file must not stop the download, the response will be downloaded again.
+            logger.warn("Unable to read cached response: " + file, e);
+            return null;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Cache the response for the key, replacing the response cached previously.
+     *
+     * @param key   the key of the response.
+     * @param entry the response.
+     */
+    public synchronized void put(final String key, final Entry entry) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create cache directory: " + directory);
+        }
+        File file = getFile(key);
+        File temporaryFile = new File(directory, file.getName() + ".tmp");
+        DataOutputStream outputStream =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+        try {
+            outputStream.writeUTF(key);
+            writeNullableString(outputStream, entry.getEtag());
+            writeNullableString(outputStream, entry.getLastModified());
+            outputStream.writeInt(entry.getBody().length);
+            outputStream.write(entry.getBody());
+        } finally {
+            outputStream.close();
+        }
+        // replace the old entry only after the new entry is completely written.
+        if (file.exists() && !file.delete() || !temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Unable to write cached response: " + file);
+        }
+    }
+
+    /**
+     * Remove the cached response for the key.
+     *
+     * @param key the key of the response.
+     */
+    public synchronized void remove(final String key) throws IOException {
+        File file = getFile(key);
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Unable to remove cached response: " + file);
+        }
+    }
+
+    /**
+     * Remove all cached responses.
+     */
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File getFile(final String key) throws IOException {
+        return new File(directory, DigestUtil.getSHA1Checksum(key));
+    }
+
+    private static String readNullableString(final DataInputStream inputStream) throws IOException {
+        return inputStream.readBoolean() ? inputStream.readUTF() : null;
+    }
+
+    private static void writeNullableString(final DataOutputStream outputStream, final String value)
+            throws IOException {
+        outputStream.writeBoolean(value != null);
+        if (value != null) {
+            outputStream.writeUTF(value);
+        }
+    }
+
+    /**
+     * Cached response with its validators.
+     */
+    public static class Entry {
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final byte[] body;
+
+        public Entry(final String etag, final String lastModified, final byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
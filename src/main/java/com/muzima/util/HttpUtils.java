@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams of the requests made directly by the muzima-api. Gzipped transfers are compressed and decompressed while
+ * the content is being written and read, and the bytes transferred are counted when the stream is closed.
+ */
+public class HttpUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpUtils.class.getSimpleName());
+
+    private static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Ask the server to gzip the response. Must be called before the connection is connected.
+     *
+     * @param connection the connection.
+     */
+    public static void acceptGzip(final HttpURLConnection connection) {
+        connection.setRequestProperty("Accept-Encoding", GZIP);
+    }
+
+    /**
+     * Open the response of the connection, decompressing the response while it's read when the server gzipped it.
+     *
+     * @param connection the connection.
+     * @param statistics the statistics updated when the stream is closed, can be null.
+     * @return the stream of the decompressed response.
+     */
+    public static InputStream openInputStream(final HttpURLConnection connection,
+                                              final TransferStatistics statistics) throws IOException {
+        CountingInputStream wireStream = new CountingInputStream(connection.getInputStream());
+        InputStream contentStream = wireStream;
+        if (GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+            contentStream = new GZIPInputStream(wireStream);
+        }
+        return new ResponseStream(connection, wireStream, contentStream, statistics);
+    }
+
+    /**
+     * Open the request body of the connection, compressing the body while it's written when gzip is requested. Must
+     * be called before the connection is connected.
+     *
+     * @param connection the connection.
+     * @param gzip       whether the request body should be gzipped.
+     * @param statistics the statistics updated when the stream is closed, can be null.
+     * @return the stream of the uncompressed request body.
+     */
+    public static OutputStream openOutputStream(final HttpURLConnection connection, final boolean gzip,
+                                                final TransferStatistics statistics) throws IOException {
+        if (gzip) {
+            connection.setRequestProperty("Content-Encoding", GZIP);
+        }
+        CountingOutputStream wireStream = new CountingOutputStream(connection.getOutputStream());
+        OutputStream contentStream = wireStream;
+        if (gzip) {
+            contentStream = new GZIPOutputStream(wireStream);
+        }
+        return new RequestStream(connection, wireStream, contentStream, statistics);
+    }
+
+    /**
+     * Read the stream until the end and close it.
+     *
+     * @param inputStream the stream.
+     * @return the content of the stream.
+     */
+    public static byte[] readFully(final InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        } finally {
+            inputStream.close();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long length) throws IOException {
+            long skipped = super.skip(length);
+            count += skipped;
+            return skipped;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(final OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    private static class ResponseStream extends CountingInputStream {
+
+        private final HttpURLConnection connection;
+
+        private final CountingInputStream wireStream;
+
+        private final TransferStatistics statistics;
+
+        private boolean closed;
+
+        private ResponseStream(final HttpURLConnection connection, final CountingInputStream wireStream,
+                               final InputStream contentStream, final TransferStatistics statistics) {
+            super(contentStream);
+            this.connection = connection;
+            this.wireStream = wireStream;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                if (statistics != null) {
+                    statistics.received(wireStream.getCount(), getCount());
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Received " + wireStream.getCount() + " bytes (" + getCount() + " bytes content)"
+                            + " from " + connection.getURL());
+                }
+            }
+        }
+    }
+
+    private static class RequestStream extends CountingOutputStream {
+
+        private final HttpURLConnection connection;
+
+        private final CountingOutputStream wireStream;
+
+        private final TransferStatistics statistics;
+
+        private boolean closed;
+
+        private RequestStream(final HttpURLConnection connection, final CountingOutputStream wireStream,
+                              final OutputStream contentStream, final TransferStatistics statistics) {
+            super(contentStream);
+            this.connection = connection;
+            this.wireStream = wireStream;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // closing the gzip stream writes the trailer of the compressed body.
+                super.close();
+            } finally {
+                if (statistics != null) {
+                    statistics.sent(wireStream.getCount(), getCount());
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Sent " + wireStream.getCount() + " bytes (" + getCount() + " bytes content)"
+                            + " to " + connection.getURL());
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,11 @@
 
 package com.muzima.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.jayway.jsonpath.JsonPath;
 import com.muzima.search.api.util.ISO8601Util;
 import com.muzima.search.api.util.StringUtil;
@@ -15,6 +20,10 @@ import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -30,6 +39,18 @@ public class JsonUtils {
     private static final Logger logger = LoggerFactory.getLogger(JsonUtils.class.getSimpleName());
     private static final String DATE_PATTERN = "yyyy-MM-dd";
 
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final int STRING_BUFFER_SIZE = 8 * 1024;
+
+    private static final char[] QUOTE = {'"'};
+
+    static {
+        // keep the same leniency as the json-smart parser used by the path based readers.
+        jsonFactory.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
+        jsonFactory.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+    }
+
     /**
      * Write boolean value into the json object. The method will only write the boolean value if the object passed
      * as the first argument is an instance of <code>{@link JSONObject}</code>.
@@ -284,4 +305,288 @@ public class JsonUtils {
             jsonObject.put(holder, jsonObjectc);
         }
     }
+
+    /**
+     * Create a streaming parser over the serialized json object. The parser is created from a shared factory and
+     * is not positioned on any token yet.
+     *
+     * @param serialized the serialized json object.
+     * @return the parser for the serialized json object.
+     * @throws IOException when the parser can't be created.
+     */
+    public static JsonParser createParser(final String serialized) throws IOException {
+        return jsonFactory.createParser(serialized);
+    }
+
+    /**
+     * Create a streaming parser over the json stream. The parser is created from a shared factory and is not
+     * positioned on any token yet. Closing the parser will also close the stream.
+     *
+     * @param stream the stream of json.
+     * @return the parser for the json stream.
+     * @throws IOException when the parser can't be created.
+     */
+    public static JsonParser createParser(final InputStream stream) throws IOException {
+        return jsonFactory.createParser(stream);
+    }
+
+    /**
+     * Read boolean value from the current token of the parser. Non scalar value will be skipped.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the boolean value of the current token. When the token is not a boolean, by default will return false.
+     * @throws IOException when the parser is unable to skip the current value.
+     */
+    public static boolean readAsBoolean(final JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Read numeric value from the current token of the parser. Non scalar value will be skipped.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the numeric value of the current token. When the token is not a number, by default will return 0.
+     * @throws IOException when the parser is unable to read the current value.
+     */
+    public static double readAsNumeric(final JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    /**
+     * Read integer value from the current token of the parser. Non scalar value will be skipped.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the integer value of the current token. When the token is not an integer, by default will return 0.
+     * @throws IOException when the parser is unable to read the current value.
+     */
+    public static int readAsInteger(final JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    /**
+     * Read string value from the current token of the parser. Non scalar value will be skipped.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the string value of the current token. When the token is null or not a scalar, by default will
+     * return null.
+     * @throws IOException when the parser is unable to read the current value.
+     */
+    public static String readAsString(final JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Read date value from the current token of the parser. The value must conform to the ISO-8601 standard
+     * date format.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the date value of the current token. When the value is invalid, by default will return null.
+     * @throws IOException when the parser is unable to read the current value.
+     */
+    public static Date readAsDateTime(final JsonParser parser) throws IOException {
+        String dateAsString = readAsString(parser);
+        if (StringUtil.isEmpty(dateAsString)) {
+            return null;
+        }
+        try {
+            return ISO8601Util.toCalendar(dateAsString).getTime();
+        } catch (Exception e) {
+            logger.error("Unable to create date value from: " + dateAsString);
+        }
+        return null;
+    }
+
+    /**
+     * Read date value from the current token of the parser. The value must conform to the "yyyy-MM-dd"
+     * date format.
+     *
+     * @param parser the parser positioned on the value token.
+     * @return the date value of the current token. When the value is invalid, by default will return null.
+     * @throws IOException when the parser is unable to read the current value.
+     */
+    public static Date readAsDate(final JsonParser parser) throws IOException {
+        String dateAsString = readAsString(parser);
+        if (StringUtil.isEmpty(dateAsString)) {
+            return null;
+        }
+        try {
+            return new SimpleDateFormat(DATE_PATTERN).parse(dateAsString);
+        } catch (ParseException e) {
+            logger.error("Unable to convert string value from: " + dateAsString);
+        }
+        return null;
+    }
+
+    /**
+     * Create a streaming generator writing the json representation into the writer. Closing the generator will
+     * flush the content into the writer.
+     *
+     * @param writer the writer.
+     * @return the generator for the writer.
+     * @throws IOException when the generator can't be created.
+     */
+    public static JsonGenerator createGenerator(final Writer writer) throws IOException {
+        return jsonFactory.createGenerator(writer);
+    }
+
+    /**
+     * Write boolean field into the generator.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param value     the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsBoolean(final JsonGenerator generator, final String field, final boolean value)
+            throws IOException {
+        generator.writeBooleanField(field, value);
+    }
+
+    /**
+     * Write numeric field into the generator. Null value will be written as json null.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param value     the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsNumeric(final JsonGenerator generator, final String field, final Double value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    /**
+     * Write integer field into the generator. Null value will be written as json null.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param value     the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsInteger(final JsonGenerator generator, final String field, final Integer value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    /**
+     * Write string field into the generator. Null value will be written as json null.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param value     the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsString(final JsonGenerator generator, final String field, final String value)
+            throws IOException {
+        generator.writeStringField(field, value);
+    }
+
+    /**
+     * Write string field into the generator, reading the value from the reader a chunk at a time so the value is
+     * never held in memory as a whole. Null reader will be written as json null. The reader will not be closed.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param reader    the reader of the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field or the reader can't be read.
+     */
+    public static void writeAsString(final JsonGenerator generator, final String field, final Reader reader)
+            throws IOException {
+        if (reader == null) {
+            generator.writeNullField(field);
+            return;
+        }
+        generator.writeFieldName(field);
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        char[] buffer = new char[STRING_BUFFER_SIZE];
+        // the opening quote is written as the value, the rest are written raw inside the value.
+        generator.writeRawValue(QUOTE, 0, QUOTE.length);
+        int carried = 0;
+        int read;
+        while ((read = reader.read(buffer, carried, buffer.length - carried)) != -1) {
+            int length = carried + read;
+            carried = 0;
+            // never split a surrogate pair between two chunks, keep the high surrogate for the next chunk.
+            if (length > 0 && Character.isHighSurrogate(buffer[length - 1])) {
+                length--;
+                carried = 1;
+            }
+            char[] quoted = encoder.quoteAsString(new String(buffer, 0, length));
+            generator.writeRaw(quoted, 0, quoted.length);
+            if (carried > 0) {
+                buffer[0] = buffer[length];
+            }
+        }
+        if (carried > 0) {
+            char[] quoted = encoder.quoteAsString(String.valueOf(buffer[0]));
+            generator.writeRaw(quoted, 0, quoted.length);
+        }
+        generator.writeRaw(QUOTE, 0, QUOTE.length);
+    }
+
+    /**
+     * Write date field into the generator following the ISO-8601 format. Null value will be written as json null.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param value     the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsDateTime(final JsonGenerator generator, final String field, final Date value)
+            throws IOException {
+        String dateValue = null;
+        if (value != null) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(value);
+            dateValue = ISO8601Util.fromCalendar(calendar);
+        }
+        generator.writeStringField(field, dateValue);
+    }
+
+    /**
+     * Write the day string of the date field into the generator following the "yyyy-MM-dd" format. Null value
+     * will not be written.
+     *
+     * @param generator the generator.
+     * @param field     the field name.
+     * @param date      the value to be assigned for the field.
+     * @throws IOException when the generator is unable to write the field.
+     */
+    public static void writeAsDate(final JsonGenerator generator, final String field, final Date date)
+            throws IOException {
+        if (date != null) {
+            generator.writeStringField(field, new SimpleDateFormat(DATE_PATTERN).format(date));
+        }
+    }
 }
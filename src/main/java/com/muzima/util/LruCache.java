@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded cache evicting the least recently used entry when the capacity is reached. Every method is
+ * synchronized on the cache, so the cache can be shared between threads.
+ * <p/>
+ * Values loaded while the cache is being invalidated can be stale, so the loader should take the modification
+ * count before loading the value and only put the value back when the count hasn't changed:
+ * <pre>
+ *     long modificationCount = cache.getModificationCount();
+ *     value = load(key);
+ *     cache.put(key, value, modificationCount);
+ * </pre>
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    private long modificationCount;
+
+    private long hitCount;
+
+    private long missCount;
+
+    public LruCache(final int capacity) {
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the value for the key and mark the entry as the most recently used.
+     *
+     * @param key the key.
+     * @return the cached value or null when the key is not in the cache.
+     */
+    public synchronized V get(final K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Put the value in the cache when the cache hasn't been invalidated since the modification count was taken.
+     *
+     * @param key               the key.
+     * @param value             the value.
+     * @param modificationCount the modification count taken before the value was loaded.
+     * @return true when the value is put in the cache.
+     */
+    public synchronized boolean put(final K key, final V value, final long modificationCount) {
+        if (this.modificationCount != modificationCount) {
+            return false;
+        }
+        entries.put(key, value);
+        return true;
+    }
+
+    /**
+     * Remove the entry for the key from the cache.
+     *
+     * @param key the key.
+     */
+    public synchronized void remove(final K key) {
+        modificationCount++;
+        entries.remove(key);
+    }
+
+    /**
+     * Remove every entry from the cache.
+     */
+    public synchronized void clear() {
+        modificationCount++;
+        entries.clear();
+    }
+
+    /**
+     * Get the number of invalidation performed on this cache.
+     *
+     * @return the number of invalidation performed on this cache.
+     */
+    public synchronized long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Get the number of entries in the cache.
+     *
+     * @return the number of entries in the cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of lookup finding the key in the cache.
+     *
+     * @return the number of lookup finding the key in the cache.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of lookup not finding the key in the cache.
+     *
+     * @return the number of lookup not finding the key in the cache.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+}
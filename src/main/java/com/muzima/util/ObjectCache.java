@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.muzima.api.config.CacheConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Object cache shared by every dao of the same object type, so a change saved through one dao instance invalidates
+ * the cached object for every other dao instance. The objects are cached in their serialized form, and every read
+ * gets its own copy of the object. Changing the returned object doesn't change what the other callers read.
+ */
+@Singleton
+public class ObjectCache {
+
+    private final Logger logger = LoggerFactory.getLogger(ObjectCache.class.getSimpleName());
+
+    private final Map<Class<?>, LruCache<String, byte[]>> caches = new HashMap<Class<?>, LruCache<String, byte[]>>();
+
+    @Inject(optional = true)
+    private CacheConfiguration cacheConfiguration;
+
+    /**
+     * Get the cache of the object type, shared by every caller of the same type.
+     *
+     * @param type the object type.
+     * @return the cache of the object type, or null when objects of the type are not cached.
+     */
+    public synchronized LruCache<String, byte[]> getCache(final Class<?> type) {
+        if (cacheConfiguration == null || !cacheConfiguration.isEnabled(type)) {
+            return null;
+        }
+        LruCache<String, byte[]> cache = caches.get(type);
+        if (cache == null) {
+            cache = new LruCache<String, byte[]>(cacheConfiguration.getCapacity());
+            caches.put(type, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Serialize the object to be put in the cache.
+     *
+     * @param object the object.
+     * @return the serialized object, or null when the object can't be serialized.
+     */
+    public byte[] toBytes(final Serializable object) {
+        try {
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+            ObjectOutputStream outputStream = new ObjectOutputStream(byteStream);
+            try {
+                outputStream.writeObject(object);
+            } finally {
+                outputStream.close();
+            }
+            return byteStream.toByteArray();
+        } catch (IOException e) {
+            logger.warn("Unable to cache object: " + object, e);
+            return null;
+        }
+    }
+
+    /**
+     * Read a new copy of the object from the cached bytes.
+     *
+     * @param bytes the serialized object.
+     * @param type  the object type.
+     * @return the new copy of the object, or null when the object can't be read.
+     */
+    public <T> T fromBytes(final byte[] bytes, final Class<T> type) {
+        try {
+            ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            try {
+                return type.cast(inputStream.readObject());
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to read cached object of type: " + type, e);
+        } catch (ClassNotFoundException e) {
+            logger.warn("Unable to read cached object of type: " + type, e);
+        } catch (ClassCastException e) {
+            logger.warn("Unable to read cached object of type: " + type, e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run at most one call per key at a time. Callers asking for a key while the call for the same key is still running
+ * will wait for that call and get the same result instead of running the call again. Once the call completes, the
+ * next caller for the key will run a new call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, FutureTask<V>> calls = new ConcurrentHashMap<K, FutureTask<V>>();
+
+    private final AtomicLong executionCount = new AtomicLong();
+
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Run the call for the key, or wait for the call for the same key already running in another thread.
+     *
+     * @param key      the key of the call.
+     * @param callable the call to run when there's no call for the key running.
+     * @return the result of the call.
+     * @throws IOException when the call failed or the thread is interrupted while waiting for the call.
+     */
+    public V execute(final K key, final Callable<V> callable) throws IOException {
+        FutureTask<V> task = new FutureTask<V>(callable);
+        FutureTask<V> runningTask = calls.putIfAbsent(key, task);
+        if (runningTask == null) {
+            executionCount.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                calls.remove(key, task);
+            }
+        } else {
+            coalescedCount.incrementAndGet();
+            task = runningTask;
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the call for: " + key);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Unable to complete the call for: " + key, cause);
+        }
+    }
+
+    /**
+     * Get the number of calls actually run.
+     *
+     * @return the number of calls actually run.
+     */
+    public long getExecutionCount() {
+        return executionCount.get();
+    }
+
+    /**
+     * Get the number of callers which got the result of a call already running instead of running their own call.
+     *
+     * @return the number of coalesced callers.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorting of the objects returned by the services on a sort key computed once per object.
+ */
+public class SortUtils {
+
+    /**
+     * Get the key an object is sorted on.
+     */
+    public interface SortKey<T> {
+
+        String getSortKey(final T object);
+    }
+
+    /**
+     * Sort the objects in place on their sort key. The key of each object is computed once instead of on every
+     * comparison, and objects with the same key keep their order.
+     *
+     * @param objects the objects to be sorted.
+     * @param sortKey the key the objects are sorted on.
+     * @return the sorted objects.
+     */
+    public static <T> List<T> sortAscending(final List<T> objects, final SortKey<T> sortKey) {
+        final String[] sortKeys = new String[objects.size()];
+        Integer[] positions = new Integer[objects.size()];
+        for (int i = 0; i < positions.length; i++) {
+            sortKeys[i] = sortKey.getSortKey(objects.get(i));
+            positions[i] = i;
+        }
+        Arrays.sort(positions, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer position, final Integer otherPosition) {
+                return sortKeys[position].compareTo(sortKeys[otherPosition]);
+            }
+        });
+        List<T> unsorted = new ArrayList<T>(objects);
+        for (int i = 0; i < positions.length; i++) {
+            objects.set(i, unsorted.get(positions[i]));
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import com.google.inject.Singleton;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of bytes sent to and received from the server by the requests made directly by the muzima-api. The wire
+ * bytes are the bytes actually transferred, which are smaller than the content bytes when the transfer is gzipped.
+ */
+@Singleton
+public class TransferStatistics {
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong receivedWireBytes = new AtomicLong();
+
+    private final AtomicLong receivedContentBytes = new AtomicLong();
+
+    private final AtomicLong sentWireBytes = new AtomicLong();
+
+    private final AtomicLong sentContentBytes = new AtomicLong();
+
+    private final AtomicLong conditionalRequestCount = new AtomicLong();
+
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    /**
+     * Record the response of a request.
+     *
+     * @param wireBytes    the number of bytes received from the server.
+     * @param contentBytes the number of bytes after decompressing the response.
+     */
+    public void received(final long wireBytes, final long contentBytes) {
+        requestCount.incrementAndGet();
+        receivedWireBytes.addAndGet(wireBytes);
+        receivedContentBytes.addAndGet(contentBytes);
+    }
+
+    /**
+     * Record the body of a request.
+     *
+     * @param wireBytes    the number of bytes sent to the server.
+     * @param contentBytes the number of bytes before compressing the request.
+     */
+    public void sent(final long wireBytes, final long contentBytes) {
+        sentWireBytes.addAndGet(wireBytes);
+        sentContentBytes.addAndGet(contentBytes);
+    }
+
+    /**
+     * Record a conditional request sent with the validators of a cached response.
+     *
+     * @param notModified whether the server answered that the cached response has not been modified.
+     * @param savedBytes  the size of the cached response used instead of downloading the response again.
+     */
+    public void validated(final boolean notModified, final long savedBytes) {
+        conditionalRequestCount.incrementAndGet();
+        if (notModified) {
+            notModifiedCount.incrementAndGet();
+            this.savedBytes.addAndGet(savedBytes);
+        }
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getReceivedWireBytes() {
+        return receivedWireBytes.get();
+    }
+
+    public long getReceivedContentBytes() {
+        return receivedContentBytes.get();
+    }
+
+    public long getSentWireBytes() {
+        return sentWireBytes.get();
+    }
+
+    public long getSentContentBytes() {
+        return sentContentBytes.get();
+    }
+
+    public long getConditionalRequestCount() {
+        return conditionalRequestCount.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    /**
+     * Get the ratio of the conditional requests answered with the cached response.
+     *
+     * @return the ratio of the conditional requests answered with the cached response, zero without any request.
+     */
+    public double getNotModifiedRatio() {
+        long requests = conditionalRequestCount.get();
+        return requests == 0 ? 0 : (double) notModifiedCount.get() / requests;
+    }
+
+    /**
+     * Reset all the counters back to zero.
+     */
+    public void reset() {
+        requestCount.set(0);
+        receivedWireBytes.set(0);
+        receivedContentBytes.set(0);
+        sentWireBytes.set(0);
+        sentContentBytes.set(0);
+        conditionalRequestCount.set(0);
+        notModifiedCount.set(0);
+        savedBytes.set(0);
+    }
+}
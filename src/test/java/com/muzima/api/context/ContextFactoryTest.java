@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import com.muzima.api.config.CacheConfiguration;
+import com.muzima.api.config.DownloadConfiguration;
+import com.muzima.api.config.HttpCacheConfiguration;
+import com.muzima.api.config.IngestConfiguration;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ContextFactoryTest {
+
+    private static final String[] PROPERTIES = {
+            Constants.CONNECTION_USE_GZIP, Constants.CACHE_CAPACITY, Constants.DOWNLOAD_PATIENT_CHUNK_SIZE,
+            Constants.DOWNLOAD_CONCEPT_CHUNK_SIZE, Constants.DOWNLOAD_THREAD_COUNT, Constants.INGEST_BATCH_SIZE,
+            Constants.HTTP_CACHE_RESOURCES
+    };
+
+    @Before
+    public void prepare() {
+        String path = System.getProperty("java.io.tmpdir") + "/muzima/" + UUID.randomUUID().toString();
+        ContextFactory.setProperty(Constants.LUCENE_DIRECTORY_PATH, path);
+    }
+
+    @After
+    public void cleanUp() {
+        for (String property : PROPERTIES) {
+            ContextFactory.setProperty(property, StringUtil.EMPTY);
+        }
+    }
+
+    /**
+     * @verifies configure the module from the properties.
+     * @see ContextFactory#createContext()
+     */
+    @Test
+    public void createContext_shouldConfigureTheModuleFromTheProperties() throws Exception {
+        ContextFactory.setProperty(Constants.CONNECTION_USE_GZIP, "true");
+        ContextFactory.setProperty(Constants.CACHE_CAPACITY, "20");
+        ContextFactory.setProperty(Constants.DOWNLOAD_PATIENT_CHUNK_SIZE, "30");
+        ContextFactory.setProperty(Constants.DOWNLOAD_CONCEPT_CHUNK_SIZE, "40");
+        ContextFactory.setProperty(Constants.DOWNLOAD_THREAD_COUNT, "2");
+        ContextFactory.setProperty(Constants.INGEST_BATCH_SIZE, "100");
+
+        Injector injector = ContextFactory.createContext().getInjector();
+
+        assertThat(injector.getInstance(Key.get(Boolean.class, Names.named(Constants.CONNECTION_USE_GZIP))), is(true));
+        assertThat(injector.getInstance(CacheConfiguration.class).getCapacity(), is(20));
+        DownloadConfiguration downloadConfiguration = injector.getInstance(DownloadConfiguration.class);
+        assertThat(downloadConfiguration.getPatientChunkSize(), is(30));
+        assertThat(downloadConfiguration.getConceptChunkSize(), is(40));
+        assertThat(downloadConfiguration.getThreadCount(), is(2));
+        assertThat(injector.getInstance(IngestConfiguration.class).getBatchSize(), is(100));
+    }
+
+    /**
+     * @verifies use the default configuration without the properties.
+     * @see ContextFactory#createContext()
+     */
+    @Test
+    public void createContext_shouldUseTheDefaultConfigurationWithoutTheProperties() throws Exception {
+        Injector injector = ContextFactory.createContext().getInjector();
+
+        assertThat(injector.getInstance(Key.get(Boolean.class, Names.named(Constants.CONNECTION_USE_GZIP))), is(false));
+        assertThat(injector.getInstance(CacheConfiguration.class).getCapacity(),
+                is(CacheConfiguration.DEFAULT_CAPACITY));
+        assertThat(injector.getInstance(IngestConfiguration.class).getBatchSize(),
+                is(IngestConfiguration.DEFAULT_BATCH_SIZE));
+        assertThat(injector.getInstance(HttpCacheConfiguration.class).isEnabled(Constants.UUID_FORM_RESOURCE),
+                is(false));
+        assertThat(injector.getInstance(Key.get(Boolean.class, Names.named("configuration.lucene.usingEncryption"))),
+                is(false));
+    }
+
+    /**
+     * @verifies enable the http cache of the resources in the property.
+     * @see ContextFactory#createContext()
+     */
+    @Test
+    public void createContext_shouldEnableTheHttpCacheOfTheResourcesInTheProperty() throws Exception {
+        ContextFactory.setProperty(Constants.HTTP_CACHE_RESOURCES,
+                Constants.UUID_FORM_RESOURCE + ", " + Constants.SEARCH_LOCATION_RESOURCE);
+
+        Injector injector = ContextFactory.createContext().getInjector();
+
+        HttpCacheConfiguration httpCacheConfiguration = injector.getInstance(HttpCacheConfiguration.class);
+        assertThat(httpCacheConfiguration.isEnabled(Constants.UUID_FORM_RESOURCE), is(true));
+        assertThat(httpCacheConfiguration.isEnabled(Constants.SEARCH_LOCATION_RESOURCE), is(true));
+        assertThat(httpCacheConfiguration.isEnabled(Constants.UUID_CONCEPT_RESOURCE), is(false));
+    }
+}
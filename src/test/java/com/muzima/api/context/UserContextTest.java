@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.muzima.api.model.Privilege;
+import com.muzima.api.model.Role;
+import com.muzima.api.model.User;
+import com.muzima.util.Constants;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class UserContextTest {
+
+    @Test
+    public void hasAnyPrivilege_shouldCheckPrivilegesFromTheRoles() {
+        UserContext userContext = new UserContext(createUser("Provider", "View Cohort Privilege"));
+        assertThat(userContext.hasAnyPrivilege(new String[]{"View Cohort Privilege"}), is(true));
+        assertThat(userContext.hasAnyPrivilege(new String[]{"Add Patients", "View Cohort Privilege"}), is(true));
+        assertThat(userContext.hasAnyPrivilege(new String[]{"Add Patients"}), is(false));
+    }
+
+    @Test
+    public void hasAnyPrivilege_shouldAllowSuperUserAnyPrivilege() {
+        UserContext userContext = new UserContext(createUser("System Developer", "View Cohort Privilege"));
+        assertThat(userContext.hasAnyPrivilege(new String[]{"Add Patients"}), is(true));
+    }
+
+    @Test
+    public void hasAnyPrivilege_shouldNotAuthorizeWithoutAuthenticatedUser() {
+        UserContext userContext = new UserContext();
+        assertThat(userContext.hasAnyPrivilege(new String[]{}), is(false));
+    }
+
+    @Test
+    public void hasAnyPrivilege_shouldNotAuthorizeAfterDeauthenticate() {
+        UserContext userContext = new UserContext(createUser("Provider", "View Cohort Privilege"));
+        assertThat(userContext.hasAnyPrivilege(new String[]{"View Cohort Privilege"}), is(true));
+        userContext.deauthenticate();
+        assertThat(userContext.hasAnyPrivilege(new String[]{"View Cohort Privilege"}), is(false));
+    }
+
+    @Test
+    public void hasAnyPrivilege_shouldSkipRolesWithoutPrivileges() {
+        Role role = new Role();
+        role.setName("Provider");
+        role.setPrivileges(null);
+        User user = createUser("Clerk", "View Cohort Privilege");
+        user.setRoles(Arrays.asList(role, user.getRoles().get(0)));
+        UserContext userContext = new UserContext(user);
+        assertThat(userContext.hasAnyPrivilege(new String[]{"View Cohort Privilege"}), is(true));
+    }
+
+    @Test
+    public void isCurrentUserAuthorized_shouldCheckTheActiveUserOfTheCurrentThread() throws Exception {
+        assertThat(Context.isCurrentUserAuthorized(new String[]{"View Cohort Privilege"}), is(false));
+        String path = System.getProperty("java.io.tmpdir") + "/muzima/" + UUID.randomUUID().toString();
+        ContextFactory.setProperty(Constants.LUCENE_DIRECTORY_PATH, path);
+        Context context = ContextFactory.createContext();
+        context.setUserContext(new UserContext(createUser("Provider", "View Cohort Privilege")));
+        try {
+            assertThat(Context.isCurrentUserAuthorized(new String[]{"View Cohort Privilege"}), is(true));
+            assertThat(Context.isCurrentUserAuthorized(new String[]{"Add Patients"}), is(false));
+        } finally {
+            context.closeSession();
+        }
+        assertThat(Context.isCurrentUserAuthorized(new String[]{"View Cohort Privilege"}), is(false));
+    }
+
+    private User createUser(final String roleName, final String privilegeName) {
+        Privilege privilege = new Privilege();
+        privilege.setName(privilegeName);
+        Role role = new Role();
+        role.setName(roleName);
+        role.add(privilege);
+        User user = new User();
+        user.setRoles(Arrays.asList(role));
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PagedIterableTest {
+
+    private static PagedIterable<String> pagedIterable(final List<String> objects, final List<Integer> reads) {
+        return new PagedIterable<String>(2) {
+            @Override
+            protected Page<String> getPage(final PageCursor cursor) throws IOException {
+                int start = cursor.isFirst() ? 0 : cursor.getSlice();
+                int end = Math.min(start + cursor.getPageSize(), objects.size());
+                reads.add(start);
+                PageCursor nextCursor = null;
+                if (end < objects.size()) {
+                    nextCursor = new PageCursor(cursor.getPageSize(), 0, end, null);
+                }
+                return new Page<String>(objects.subList(start, end), nextCursor);
+            }
+        };
+    }
+
+    @Test
+    public void iterator_shouldReadThePagesWhileIterating() throws Exception {
+        List<Integer> reads = new ArrayList<Integer>();
+        PagedIterable<String> iterable = pagedIterable(asList("a", "b", "c", "d", "e"), reads);
+
+        Iterator<String> iterator = iterable.iterator();
+        assertThat(iterator.next(), is("a"));
+        assertThat(reads, is(asList(0)));
+
+        List<String> objects = new ArrayList<String>();
+        for (String object : iterable) {
+            objects.add(object);
+        }
+        assertThat(objects, is(asList("a", "b", "c", "d", "e")));
+        assertThat(reads, is(asList(0, 0, 2, 4)));
+    }
+
+    @Test
+    public void iterator_shouldStopReadingWhenClosed() throws Exception {
+        List<Integer> reads = new ArrayList<Integer>();
+        PagedIterable<String> iterable = pagedIterable(asList("a", "b", "c", "d", "e"), reads);
+
+        Iterator<String> iterator = iterable.iterator();
+        iterator.next();
+        iterable.close();
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(reads, is(asList(0)));
+    }
+}
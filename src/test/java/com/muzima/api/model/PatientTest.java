@@ -67,6 +67,18 @@ public class PatientTest {
         assertThat(patient.getSummary(), is("♀ familyName, g m, Identifier1"));
     }
 
+    @Test
+    public void shouldSortPatientsOnTheLowerCaseDisplayName() throws Exception {
+        patient.setNames(asList(personName()));
+        Patient otherPatient = new Patient();
+        PersonName otherName = personName();
+        otherName.setFamilyName("FAMILYNAME");
+        otherName.setGivenName("Zed");
+        otherPatient.setNames(asList(otherName));
+        assertThat(patient.getSortName(), is("familyname, givenname middlename"));
+        assertThat(patient.compareTo(otherPatient) < 0, is(true));
+    }
+
     @Test
     public void shouldCheckWhetherPatientObjIsSerializable() throws Exception {
         assertThat(new Patient() instanceof Serializable, is(true));
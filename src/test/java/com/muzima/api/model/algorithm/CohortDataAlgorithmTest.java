@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortData;
+import com.muzima.api.model.CohortMember;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URL;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class CohortDataAlgorithmTest {
+    private static final String JSON_DIRECTORY = "/com/muzima/api/service/json/cohort_data/";
+
+    private CohortDataAlgorithm cohortDataAlgorithm;
+    private String staticCohortData;
+    private String dynamicCohortData;
+
+    @Before
+    public void setup() throws IOException {
+        URL jsonUri = CohortDataAlgorithm.class.getResource(JSON_DIRECTORY);
+        File jsonDirectory = new File(jsonUri.getPath());
+        staticCohortData = StreamUtil.readAsString(new FileReader(new File(jsonDirectory, "static.json")));
+        dynamicCohortData = StreamUtil.readAsString(new FileReader(new File(jsonDirectory, "dynamic.json")));
+        cohortDataAlgorithm = new CohortDataAlgorithm();
+    }
+
+    @Test
+    public void deserialize_shouldReadStaticCohortData() throws IOException {
+        CohortData cohortData = (CohortData) cohortDataAlgorithm.deserialize(staticCohortData);
+        assertThat(cohortData.getCohort().getUuid(), is("0ca78602-737f-408d-8ced-386ad12367db"));
+        assertThat(cohortData.getCohort().isDynamic(), is(false));
+        assertThat(cohortData.getPatients().size(), is(50));
+        assertThat(cohortData.getCohortMembers().size(), is(50));
+    }
+
+    @Test
+    public void deserialize_shouldReadDynamicCohortData() throws IOException {
+        CohortData cohortData = (CohortData) cohortDataAlgorithm.deserialize(dynamicCohortData);
+        assertThat(cohortData.getCohort().getUuid(), is("8a3b7bbf-cefc-4ea9-8ff1-45b5a274a689"));
+        assertThat(cohortData.getCohort().isDynamic(), is(true));
+        assertThat(cohortData.getPatients().size(), is(44));
+    }
+
+    @Test
+    public void deserialize_shouldLinkMembersToTheCohort() throws IOException {
+        CohortData cohortData = (CohortData) cohortDataAlgorithm.deserialize(staticCohortData);
+        for (CohortMember cohortMember : cohortData.getCohortMembers()) {
+            assertThat(cohortMember.getCohortUuid(), is(cohortData.getCohort().getUuid()));
+        }
+    }
+
+    @Test
+    public void deserialize_shouldReturnEmptyCohortDataForUnknownStructure() throws IOException {
+        CohortData cohortData = (CohortData) cohortDataAlgorithm.deserialize("{\"unknown\": []}");
+        assertThat(cohortData.getCohort(), nullValue());
+        assertThat(cohortData.getPatients().size(), is(0));
+    }
+
+    @Test
+    public void deserialize_shouldHandEachMemberToTheConsumer() throws IOException {
+        CountingConsumer consumer = new CountingConsumer();
+        Cohort cohort = cohortDataAlgorithm.deserialize(
+                new ByteArrayInputStream(staticCohortData.getBytes("UTF-8")), consumer);
+        assertThat(cohort.getUuid(), is("0ca78602-737f-408d-8ced-386ad12367db"));
+        assertThat(consumer.cohort, is(cohort));
+        assertThat(consumer.members, is(50));
+    }
+
+    @Test
+    public void deserialize_shouldHandPatientsReadBeforeTheCohortToTheConsumer() throws IOException {
+        String json = "{\"members\": [{\"uuid\": \"patient-1\"}, {\"uuid\": \"patient-2\"}], " +
+                "\"definition\": {\"uuid\": \"cohort-1\", \"name\": \"Cohort\"}}";
+        CountingConsumer consumer = new CountingConsumer();
+        Cohort cohort = cohortDataAlgorithm.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")), consumer);
+        assertThat(cohort.getUuid(), is("cohort-1"));
+        assertThat(cohort.isDynamic(), is(true));
+        assertThat(consumer.members, is(2));
+    }
+
+    @Test
+    public void deserialize_shouldHandStaticMembersToTheConsumerWithoutNamedCohort() throws IOException {
+        String json = "{\"results\": [" +
+                "{\"cohort\": {\"uuid\": \"cohort-1\"}, \"patient\": {\"uuid\": \"patient-1\"}}, " +
+                "{\"cohort\": {\"uuid\": \"cohort-1\"}, \"patient\": {\"uuid\": \"patient-2\"}}]}";
+        CountingConsumer consumer = new CountingConsumer();
+        Cohort cohort = cohortDataAlgorithm.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")), consumer);
+        assertThat(cohort.getUuid(), is("cohort-1"));
+        assertThat(cohort.isDynamic(), is(false));
+        assertThat(consumer.members, is(2));
+    }
+
+    @Test
+    public void deserialize_shouldHandDynamicMembersToTheConsumerWithoutDefinition() throws IOException {
+        String json = "{\"members\": [{\"uuid\": \"patient-1\"}, {\"uuid\": \"patient-2\"}]}";
+        CountingConsumer consumer = new CountingConsumer();
+        Cohort cohort = cohortDataAlgorithm.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")), consumer);
+        assertThat(cohort.isDynamic(), is(true));
+        assertThat(consumer.members, is(2));
+    }
+
+    private static class CountingConsumer implements CohortDataConsumer {
+
+        private Cohort cohort;
+
+        private int members;
+
+        @Override
+        public void consumeCohort(final Cohort cohort) {
+            this.cohort = cohort;
+        }
+
+        @Override
+        public void consumeCohortMember(final CohortMember cohortMember) {
+            assertThat(cohortMember.getCohort(), is(cohort));
+            members++;
+        }
+    }
+}
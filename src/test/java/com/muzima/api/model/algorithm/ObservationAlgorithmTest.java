@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Observation;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URL;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ObservationAlgorithmTest {
+    private static final String JSON_DIRECTORY = "./";
+
+    private ObservationAlgorithm observationAlgorithm;
+    private String jsonObservation;
+
+    @Before
+    public void setup() throws IOException {
+        readJsonFromFile();
+        observationAlgorithm = new ObservationAlgorithm();
+    }
+
+    private void readJsonFromFile() throws IOException {
+        URL jsonUri = ObservationAlgorithm.class.getResource(JSON_DIRECTORY);
+        File jsonDirectory = new File(jsonUri.getPath());
+        jsonObservation = StreamUtil.readAsString(new FileReader(new File(jsonDirectory, "observation.json")));
+    }
+
+    @Test
+    public void deserialize_shouldReadUuidAndDateFromJson() throws IOException {
+        Observation observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+        assertThat(observation.getUuid(), is("c2f1599b-1691-11df-97a5-7038c432aabf"));
+        assertThat(observation.getObservationDatetime(), notNullValue());
+        assertThat(observation.getValueText(), nullValue());
+    }
+
+    @Test
+    public void deserialize_shouldReadNestedValueCodedFromJson() throws IOException {
+        Observation observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+        assertThat(observation.getValueCoded().getUuid(), is("a89b7908-1350-11df-a1f1-0026b9348838"));
+        assertThat(observation.getValueCoded().getConceptType().getName(), is("N/A"));
+        assertThat(observation.getValueCoded().getName(), is("CONTINUE REGIMEN"));
+    }
+
+    @Test
+    public void deserialize_shouldReadReferencedObjectsFromJson() throws IOException {
+        Observation observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+        assertThat(observation.getPerson().getUuid(), is("dd55e586-1691-11df-97a5-7038c432aabf"));
+        assertThat(observation.getEncounter().getUuid(), is("bf493781-1691-11df-97a5-7038c432aabf"));
+        assertThat(observation.getConcept().getUuid(), is("a89b75d4-1350-11df-a1f1-0026b9348838"));
+    }
+
+    @Test
+    public void deserialize_shouldCreateEmptyChildrenWhenMissingFromJson() throws IOException {
+        Observation observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+        assertThat(observation.getEncounter().getPatient(), notNullValue());
+        assertThat(observation.getEncounter().getPatient().getUuid(), nullValue());
+        assertThat(observation.getEncounter().getLocation(), notNullValue());
+    }
+
+    @Test
+    public void serialize_shouldWriteJsonReadableByDeserialize() throws IOException {
+        Observation observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+        String serialized = observationAlgorithm.serialize(observation);
+        Observation roundTripped = (Observation) observationAlgorithm.deserialize(serialized);
+        assertThat(roundTripped.getUuid(), is(observation.getUuid()));
+        assertThat(roundTripped.getValueCoded().getName(), is("CONTINUE REGIMEN"));
+        assertThat(roundTripped.getEncounter().getUuid(), is("bf493781-1691-11df-97a5-7038c432aabf"));
+        assertThat(observationAlgorithm.serialize(roundTripped), is(serialized));
+    }
+
+    @Test
+    public void serialize_shouldWriteNullChildrenAsJsonNull() throws IOException {
+        String serialized = observationAlgorithm.serialize(new Observation());
+        Observation observation = (Observation) observationAlgorithm.deserialize(serialized);
+        assertThat(observation.getUuid(), nullValue());
+        assertThat(observation.getEncounter(), notNullValue());
+        assertThat(observation.getConcept(), notNullValue());
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.SSLContext;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded stub of the openmrs rest web services, serving the synthetic data set under the same
+ * <code>/ws/rest/v1/...</code> urls used by the resolvers. Use the url of the server as the server of the
+ * configuration, any username and password will be accepted.
+ * <p/>
+ * The served data never changes, so requests with a sync date will get an empty result. Every response can be
+ * delayed by a fixed latency and written at a limited bandwidth, to measure the download path under network
+ * conditions closer to the devices.
+ */
+public class OpenmrsStubServer {
+
+    private static final String WEB_SERVICE_PATH = "/ws/rest/v1/";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final int THREAD_COUNT = 8;
+
+    private final SyntheticDataSet dataSet;
+
+    private final JsonFactory factory = new JsonFactory();
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private volatile long latency;
+
+    private volatile long bandwidth;
+
+    private volatile boolean gzip;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private String url;
+
+    public OpenmrsStubServer(final SyntheticDataSet dataSet) {
+        this.dataSet = dataSet;
+    }
+
+    /**
+     * Set the delay before every response is sent.
+     *
+     * @param latency the delay in milliseconds, zero for no delay.
+     */
+    public void setLatency(final long latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Set the bandwidth of every response.
+     *
+     * @param bandwidth the number of bytes per second of a single response, zero for no limit.
+     */
+    public void setBandwidth(final long bandwidth) {
+        this.bandwidth = bandwidth;
+    }
+
+    /**
+     * Set whether the responses are gzipped when the client accepts gzip.
+     *
+     * @param gzip whether the responses should be gzipped.
+     */
+    public void setGzip(final boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Start serving over http on a free port of the local host.
+     *
+     * @return the url of the server.
+     */
+    public String start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getByName("localhost"), 0), 0);
+        return start("http");
+    }
+
+    /**
+     * Start serving over https on a free port of the local host. The client must trust the certificate of the ssl
+     * context, see the <code>key.store</code> bindings of the module.
+     *
+     * @param sslContext the ssl context holding the certificate of the server.
+     * @return the url of the server.
+     */
+    public String start(final SSLContext sslContext) throws IOException {
+        HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress(InetAddress.getByName("localhost"), 0), 0);
+        httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server = httpsServer;
+        return start("https");
+    }
+
+    private String start(final String scheme) {
+        server.createContext(WEB_SERVICE_PATH, new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                try {
+                    serve(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        server.setExecutor(executor);
+        server.start();
+        url = scheme + "://localhost:" + server.getAddress().getPort();
+        return url;
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String path = exchange.getRequestURI().getPath().substring(WEB_SERVICE_PATH.length());
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        // the data never changes after it's downloaded the first time.
+        boolean changed = !parameters.containsKey("syncDate");
+
+        Response response;
+        if (path.equals("user")) {
+            String username = parameters.containsKey("username") ? parameters.get("username") : parameters.get("q");
+            response = new UserResponse(username);
+        } else if (path.equals("muzima/cohort")) {
+            response = new CohortsResponse(changed);
+        } else if (path.startsWith("muzima/cohort/")) {
+            response = new CohortResponse(path.substring("muzima/cohort/".length()));
+        } else if (path.equals("muzima/member")) {
+            response = new MembersResponse(changed ? parameters.get("uuid") : null);
+        } else if (path.startsWith("patient/")) {
+            response = new PatientResponse(path.substring("patient/".length()));
+        } else if (path.equals("muzima/encounter")) {
+            response = new EncountersResponse(changed ? split(parameters.get("patient")) : new ArrayList<String>());
+        } else if (path.equals("muzima/obs")) {
+            response = new ObservationsResponse(changed ? split(parameters.get("person")) : new ArrayList<String>(),
+                    split(parameters.get("concept")));
+        } else if (path.equals("muzimaforms/form")) {
+            // no forms in the data set, but the forms are downloaded at the end of every sync.
+            response = new EmptyResponse();
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while delaying the response.");
+            }
+        }
+        if (!response.exists()) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        boolean gzipResponse = gzip && String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding"))
+                .contains("gzip");
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (gzipResponse) {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        // the length is not known up front, the response is sent chunked.
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream outputStream = exchange.getResponseBody();
+        if (bandwidth > 0) {
+            outputStream = new ThrottledOutputStream(outputStream, bandwidth);
+        }
+        if (gzipResponse) {
+            outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+        JsonGenerator generator = factory.createGenerator(outputStream);
+        try {
+            response.write(generator);
+        } finally {
+            generator.close();
+            outputStream.close();
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String query) throws IOException {
+        Map<String, String> parameters = new HashMap<String, String>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static List<String> split(final String uuids) {
+        if (uuids == null || uuids.length() == 0) {
+            return new ArrayList<String>();
+        }
+        return Arrays.asList(uuids.split(","));
+    }
+
+    private abstract static class Response {
+
+        public boolean exists() {
+            return true;
+        }
+
+        public abstract void write(final JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Response holding the objects under the results array, the way the search resources are served.
+     */
+    private abstract static class ResultsResponse extends Response {
+
+        @Override
+        public void write(final JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+            writeResults(generator);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        protected abstract void writeResults(final JsonGenerator generator) throws IOException;
+    }
+
+    private static class EmptyResponse extends ResultsResponse {
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+        }
+    }
+
+    private class UserResponse extends ResultsResponse {
+
+        private final String username;
+
+        private UserResponse(final String username) {
+            this.username = username;
+        }
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+            if (username != null) {
+                dataSet.writeUser(generator, username);
+            }
+        }
+    }
+
+    private class CohortsResponse extends ResultsResponse {
+
+        private final boolean changed;
+
+        private CohortsResponse(final boolean changed) {
+            this.changed = changed;
+        }
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+            if (changed) {
+                dataSet.writeCohorts(generator);
+            }
+        }
+    }
+
+    private class CohortResponse extends Response {
+
+        private final String uuid;
+
+        private CohortResponse(final String uuid) {
+            this.uuid = uuid;
+        }
+
+        @Override
+        public boolean exists() {
+            return dataSet.hasCohort(uuid);
+        }
+
+        @Override
+        public void write(final JsonGenerator generator) throws IOException {
+            dataSet.writeCohort(generator, uuid);
+        }
+    }
+
+    private class MembersResponse extends ResultsResponse {
+
+        private final String cohortUuid;
+
+        private MembersResponse(final String cohortUuid) {
+            this.cohortUuid = cohortUuid;
+        }
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+            if (cohortUuid != null) {
+                dataSet.writeCohortMembers(generator, cohortUuid);
+            }
+        }
+    }
+
+    private class PatientResponse extends Response {
+
+        private final String uuid;
+
+        private PatientResponse(final String uuid) {
+            this.uuid = uuid;
+        }
+
+        @Override
+        public boolean exists() {
+            return dataSet.hasPatient(uuid);
+        }
+
+        @Override
+        public void write(final JsonGenerator generator) throws IOException {
+            dataSet.writePatient(generator, uuid);
+        }
+    }
+
+    private class EncountersResponse extends ResultsResponse {
+
+        private final List<String> patientUuids;
+
+        private EncountersResponse(final List<String> patientUuids) {
+            this.patientUuids = patientUuids;
+        }
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+            dataSet.writeEncounters(generator, patientUuids);
+        }
+    }
+
+    private class ObservationsResponse extends ResultsResponse {
+
+        private final List<String> patientUuids;
+
+        private final List<String> conceptUuids;
+
+        private ObservationsResponse(final List<String> patientUuids, final List<String> conceptUuids) {
+            this.patientUuids = patientUuids;
+            this.conceptUuids = conceptUuids;
+        }
+
+        @Override
+        protected void writeResults(final JsonGenerator generator) throws IOException {
+            dataSet.writeObservations(generator, patientUuids, conceptUuids);
+        }
+    }
+
+    /**
+     * Stream writing at most the bandwidth number of bytes per second.
+     */
+    private static class ThrottledOutputStream extends FilterOutputStream {
+
+        private final long bandwidth;
+
+        private final long startTime = System.nanoTime();
+
+        private long written;
+
+        private ThrottledOutputStream(final OutputStream outputStream, final long bandwidth) {
+            super(outputStream);
+            this.bandwidth = bandwidth;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            write(new byte[]{(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+            int position = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                // write in small pieces, so the client sees a steady stream instead of bursts.
+                int size = (int) Math.min(remaining, Math.max(bandwidth / 10, 1));
+                out.write(buffer, position, size);
+                position += size;
+                remaining -= size;
+                written += size;
+                long expectedTime = written * 1000000000L / bandwidth;
+                long sleepTime = (expectedTime - (System.nanoTime() - startTime)) / 1000000L;
+                if (sleepTime > 0) {
+                    try {
+                        Thread.sleep(sleepTime);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while throttling the response.");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.server;
+
+import com.muzima.api.model.Patient;
+import com.muzima.api.model.algorithm.BaseOpenmrsAlgorithm;
+import com.muzima.api.model.algorithm.ObservationAlgorithm;
+import com.muzima.api.model.algorithm.PatientAlgorithm;
+import com.muzima.search.api.model.object.Searchable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class OpenmrsStubServerTest {
+
+    private SyntheticDataSet dataSet;
+
+    private OpenmrsStubServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        dataSet = new SyntheticDataSet(2, 10, 2, 3, 3);
+        server = new OpenmrsStubServer(dataSet);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    private List<Searchable> download(final BaseOpenmrsAlgorithm algorithm, final String path,
+                                      final String rootNode) throws IOException {
+        InputStream inputStream = new URL(server.getUrl() + "/ws/rest/v1/" + path).openStream();
+        try {
+            return algorithm.deserialize(inputStream, rootNode);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * @verifies serve the patient under the patient uuid.
+     * @see OpenmrsStubServer#start()
+     */
+    @Test
+    public void start_shouldServeThePatientUnderThePatientUuid() throws Exception {
+        String patientUuid = dataSet.getPatientUuids(dataSet.getCohortUuids().get(1)).get(0);
+        List<Searchable> patients = download(new PatientAlgorithm(), "patient/" + patientUuid,
+                BaseOpenmrsAlgorithm.OBJECT_ROOT_NODE);
+        assertThat(patients.size(), equalTo(1));
+        assertThat(((Patient) patients.get(0)).getUuid(), equalTo(patientUuid));
+    }
+
+    /**
+     * @verifies serve the observations of every requested patient and concept.
+     * @see OpenmrsStubServer#start()
+     */
+    @Test
+    public void start_shouldServeTheObservationsOfEveryRequestedPatientAndConcept() throws Exception {
+        List<String> patientUuids = dataSet.getPatientUuids(dataSet.getCohortUuids().get(0));
+        List<String> conceptUuids = dataSet.getConceptUuids();
+        String path = "muzima/obs?person=" + patientUuids.get(0) + "," + patientUuids.get(1)
+                + "&concept=" + conceptUuids.get(0) + "," + conceptUuids.get(1) + "," + conceptUuids.get(2);
+        List<Searchable> observations = download(new ObservationAlgorithm(), path,
+                BaseOpenmrsAlgorithm.RESULTS_ROOT_NODE);
+        assertThat(observations.size(), equalTo(2 * 2 * 3));
+    }
+
+    /**
+     * @verifies serve nothing when the request has a sync date.
+     * @see OpenmrsStubServer#start()
+     */
+    @Test
+    public void start_shouldServeNothingWhenTheRequestHasASyncDate() throws Exception {
+        String patientUuid = dataSet.getPatientUuids(dataSet.getCohortUuids().get(0)).get(0);
+        String path = "muzima/obs?person=" + patientUuid + "&concept=" + dataSet.getConceptUuids().get(0)
+                + "&syncDate=2014-01-01T08:00:00.000%2B0000";
+        List<Searchable> observations = download(new ObservationAlgorithm(), path,
+                BaseOpenmrsAlgorithm.RESULTS_ROOT_NODE);
+        assertThat(observations.size(), equalTo(0));
+    }
+
+    /**
+     * @verifies return not found for unknown uuid.
+     * @see OpenmrsStubServer#start()
+     */
+    @Test
+    public void start_shouldReturnNotFoundForUnknownUuid() throws Exception {
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL(server.getUrl() + "/ws/rest/v1/patient/unknown").openConnection();
+        assertThat(connection.getResponseCode(), equalTo(HttpURLConnection.HTTP_NOT_FOUND));
+        connection.disconnect();
+    }
+
+    /**
+     * @verifies delay every response by the latency.
+     * @see OpenmrsStubServer#setLatency(long)
+     */
+    @Test
+    public void setLatency_shouldDelayEveryResponseByTheLatency() throws Exception {
+        server.setLatency(200);
+        String cohortUuid = dataSet.getCohortUuids().get(0);
+        long start = System.currentTimeMillis();
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL(server.getUrl() + "/ws/rest/v1/muzima/cohort/" + cohortUuid).openConnection();
+        assertThat(connection.getResponseCode(), equalTo(HttpURLConnection.HTTP_OK));
+        connection.disconnect();
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(200L));
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synthetic openmrs data served by the stub server. Every object is generated from its index, so the same sizes
+ * always generate the same uuids and the same json, and nothing but the uuid lookup tables is held in memory.
+ * <p/>
+ * Cohort <i>c</i> holds the patients <i>c * patientsPerCohort</i> until <i>(c + 1) * patientsPerCohort - 1</i>,
+ * every patient has <i>encountersPerPatient</i> encounters and every encounter has <i>observationsPerEncounter</i>
+ * numeric observations, spread over <i>conceptCount</i> concepts.
+ */
+public class SyntheticDataSet {
+
+    private static final String DATE_TIME = "2014-01-01T08:00:00.000+0000";
+
+    private static final String BIRTH_DATE = "1980-01-01T00:00:00.000+0000";
+
+    private final int cohortCount;
+
+    private final int patientsPerCohort;
+
+    private final int encountersPerPatient;
+
+    private final int observationsPerEncounter;
+
+    private final int conceptCount;
+
+    private final Map<String, Integer> cohortIndexes = new HashMap<String, Integer>();
+
+    private final Map<String, Integer> patientIndexes = new HashMap<String, Integer>();
+
+    private final Map<String, Integer> conceptIndexes = new HashMap<String, Integer>();
+
+    public SyntheticDataSet(final int cohortCount, final int patientsPerCohort, final int encountersPerPatient,
+                            final int observationsPerEncounter, final int conceptCount) {
+        this.cohortCount = cohortCount;
+        this.patientsPerCohort = patientsPerCohort;
+        this.encountersPerPatient = encountersPerPatient;
+        this.observationsPerEncounter = observationsPerEncounter;
+        this.conceptCount = Math.max(conceptCount, 1);
+        for (int i = 0; i < cohortCount; i++) {
+            cohortIndexes.put(getCohortUuid(i), i);
+        }
+        for (int i = 0; i < cohortCount * patientsPerCohort; i++) {
+            patientIndexes.put(getPatientUuid(i), i);
+        }
+        for (int i = 0; i < this.conceptCount; i++) {
+            conceptIndexes.put(getConceptUuid(i), i);
+        }
+    }
+
+    public int getCohortCount() {
+        return cohortCount;
+    }
+
+    public int getPatientCount() {
+        return cohortCount * patientsPerCohort;
+    }
+
+    public int getEncounterCount() {
+        return getPatientCount() * encountersPerPatient;
+    }
+
+    public int getObservationCount() {
+        return getEncounterCount() * observationsPerEncounter;
+    }
+
+    public List<String> getCohortUuids() {
+        List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i < cohortCount; i++) {
+            uuids.add(getCohortUuid(i));
+        }
+        return uuids;
+    }
+
+    public List<String> getConceptUuids() {
+        List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i < conceptCount; i++) {
+            uuids.add(getConceptUuid(i));
+        }
+        return uuids;
+    }
+
+    public List<String> getPatientUuids(final String cohortUuid) {
+        List<String> uuids = new ArrayList<String>();
+        Integer cohortIndex = cohortIndexes.get(cohortUuid);
+        if (cohortIndex != null) {
+            for (int i = 0; i < patientsPerCohort; i++) {
+                uuids.add(getPatientUuid(cohortIndex * patientsPerCohort + i));
+            }
+        }
+        return uuids;
+    }
+
+    public boolean hasCohort(final String cohortUuid) {
+        return cohortIndexes.containsKey(cohortUuid);
+    }
+
+    public boolean hasPatient(final String patientUuid) {
+        return patientIndexes.containsKey(patientUuid);
+    }
+
+    public boolean writeCohort(final JsonGenerator generator, final String cohortUuid) throws IOException {
+        Integer cohortIndex = cohortIndexes.get(cohortUuid);
+        if (cohortIndex == null) {
+            return false;
+        }
+        writeCohort(generator, cohortIndex);
+        return true;
+    }
+
+    public void writeCohorts(final JsonGenerator generator) throws IOException {
+        for (int i = 0; i < cohortCount; i++) {
+            writeCohort(generator, i);
+        }
+    }
+
+    /**
+     * Write the members of the cohort, each member holding the cohort and the patient.
+     */
+    public void writeCohortMembers(final JsonGenerator generator, final String cohortUuid) throws IOException {
+        Integer cohortIndex = cohortIndexes.get(cohortUuid);
+        if (cohortIndex == null) {
+            return;
+        }
+        for (int i = 0; i < patientsPerCohort; i++) {
+            generator.writeStartObject();
+            generator.writeFieldName("cohort");
+            writeCohort(generator, cohortIndex);
+            generator.writeFieldName("patient");
+            writePatient(generator, cohortIndex * patientsPerCohort + i);
+            generator.writeEndObject();
+        }
+    }
+
+    public boolean writePatient(final JsonGenerator generator, final String patientUuid) throws IOException {
+        Integer patientIndex = patientIndexes.get(patientUuid);
+        if (patientIndex == null) {
+            return false;
+        }
+        writePatient(generator, patientIndex);
+        return true;
+    }
+
+    public void writeEncounters(final JsonGenerator generator, final List<String> patientUuids) throws IOException {
+        for (String patientUuid : patientUuids) {
+            Integer patientIndex = patientIndexes.get(patientUuid);
+            if (patientIndex != null) {
+                for (int i = 0; i < encountersPerPatient; i++) {
+                    writeEncounter(generator, patientIndex, i);
+                }
+            }
+        }
+    }
+
+    public void writeObservations(final JsonGenerator generator, final List<String> patientUuids,
+                                  final List<String> conceptUuids) throws IOException {
+        boolean[] requestedConcepts = new boolean[conceptCount];
+        for (String conceptUuid : conceptUuids) {
+            Integer conceptIndex = conceptIndexes.get(conceptUuid);
+            if (conceptIndex != null) {
+                requestedConcepts[conceptIndex] = true;
+            }
+        }
+        for (String patientUuid : patientUuids) {
+            Integer patientIndex = patientIndexes.get(patientUuid);
+            if (patientIndex != null) {
+                for (int i = 0; i < encountersPerPatient; i++) {
+                    for (int j = 0; j < observationsPerEncounter; j++) {
+                        int conceptIndex = (i * observationsPerEncounter + j) % conceptCount;
+                        if (requestedConcepts[conceptIndex]) {
+                            writeObservation(generator, patientIndex, i, j, conceptIndex);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void writeUser(final JsonGenerator generator, final String username) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", uuid("user", 0));
+        generator.writeStringField("username", username);
+        generator.writeStringField("systemId", username);
+        generator.writeFieldName("person");
+        writePerson(generator, uuid("person", 0), "Super", "User");
+        generator.writeArrayFieldStart("roles");
+        generator.writeStartObject();
+        generator.writeStringField("uuid", uuid("role", 0));
+        generator.writeStringField("name", "System Developer");
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("privileges");
+        generator.writeStartObject();
+        generator.writeStringField("uuid", uuid("privilege", 0));
+        generator.writeStringField("name", "View Cohort Privilege");
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeCohort(final JsonGenerator generator, final int cohortIndex) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", getCohortUuid(cohortIndex));
+        generator.writeBooleanField("voided", false);
+        generator.writeStringField("name", "Cohort " + cohortIndex);
+        generator.writeEndObject();
+    }
+
+    private void writePatient(final JsonGenerator generator, final int patientIndex) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", getPatientUuid(patientIndex));
+        generator.writeBooleanField("voided", false);
+        generator.writeStringField("gender", patientIndex % 2 == 0 ? "F" : "M");
+        generator.writeStringField("birthdate", BIRTH_DATE);
+        generator.writeArrayFieldStart("names");
+        writeName(generator, uuid("name", patientIndex), "Given" + patientIndex, "Family" + patientIndex);
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("identifiers");
+        generator.writeStartObject();
+        generator.writeStringField("uuid", uuid("identifier", patientIndex));
+        generator.writeStringField("identifier", "ID-" + patientIndex);
+        generator.writeBooleanField("preferred", true);
+        generator.writeObjectFieldStart("identifierType");
+        generator.writeStringField("uuid", uuid("identifierType", 0));
+        generator.writeStringField("name", "Synthetic Identifier");
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("attributes");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeEncounter(final JsonGenerator generator, final int patientIndex,
+                                final int encounterIndex) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", getEncounterUuid(patientIndex, encounterIndex));
+        generator.writeBooleanField("voided", false);
+        generator.writeStringField("encounterDatetime", DATE_TIME);
+        generator.writeFieldName("provider");
+        writePerson(generator, uuid("person", 0), "Super", "User");
+        generator.writeObjectFieldStart("location");
+        generator.writeStringField("uuid", uuid("location", 0));
+        generator.writeStringField("name", "Synthetic Location");
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("encounterType");
+        generator.writeStringField("uuid", uuid("encounterType", encounterIndex));
+        generator.writeStringField("name", "Encounter Type " + encounterIndex);
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("patient");
+        generator.writeStringField("uuid", getPatientUuid(patientIndex));
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeObservation(final JsonGenerator generator, final int patientIndex, final int encounterIndex,
+                                  final int observationIndex, final int conceptIndex) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid",
+                uuid("observation", (patientIndex * encountersPerPatient + encounterIndex)
+                        * observationsPerEncounter + observationIndex));
+        generator.writeBooleanField("voided", false);
+        generator.writeStringField("obsDatetime", DATE_TIME);
+        generator.writeNumberField("valueNumeric", patientIndex + observationIndex);
+        generator.writeObjectFieldStart("encounter");
+        generator.writeStringField("uuid", getEncounterUuid(patientIndex, encounterIndex));
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("person");
+        generator.writeStringField("uuid", getPatientUuid(patientIndex));
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("concept");
+        generator.writeStringField("uuid", getConceptUuid(conceptIndex));
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writePerson(final JsonGenerator generator, final String personUuid, final String givenName,
+                             final String familyName) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", personUuid);
+        generator.writeStringField("gender", "F");
+        generator.writeStringField("birthdate", BIRTH_DATE);
+        generator.writeArrayFieldStart("names");
+        writeName(generator, uuid("name", personUuid.hashCode()), givenName, familyName);
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeName(final JsonGenerator generator, final String nameUuid, final String givenName,
+                           final String familyName) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uuid", nameUuid);
+        generator.writeStringField("givenName", givenName);
+        generator.writeStringField("familyName", familyName);
+        generator.writeBooleanField("preferred", true);
+        generator.writeEndObject();
+    }
+
+    private String getCohortUuid(final int cohortIndex) {
+        return uuid("cohort", cohortIndex);
+    }
+
+    private String getPatientUuid(final int patientIndex) {
+        return uuid("patient", patientIndex);
+    }
+
+    private String getEncounterUuid(final int patientIndex, final int encounterIndex) {
+        return uuid("encounter", patientIndex * encountersPerPatient + encounterIndex);
+    }
+
+    private String getConceptUuid(final int conceptIndex) {
+        return uuid("concept", conceptIndex);
+    }
+
+    private static String uuid(final String type, final int index) {
+        return UUID.nameUUIDFromBytes((type + "-" + index).getBytes()).toString();
+    }
+}
@@ -13,6 +13,7 @@ import com.muzima.api.context.ContextFactory;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Patient;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 import org.junit.After;
@@ -24,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -590,4 +592,28 @@ public class CohortServiceTest {
         cohortService.deleteCohortMembers(staticCohort);
         assertThat(cohortService.getCohortMembers(staticCohort), hasSize(0));
     }
+
+    /**
+     * @verifies delete members in more than one batch.
+     * @see CohortService#deleteCohortMembers(String)
+     */
+    @Test
+    public void deleteCohortMembers_shouldDeleteMembersInMoreThanOneBatch() throws Exception {
+        Cohort cohort = new Cohort();
+        cohort.setUuid(UUID.randomUUID().toString());
+        cohort.setName("Batch Delete Cohort");
+        // more than two full delete batches of 500 members and a partial one.
+        int memberCount = 1201;
+        List<CohortMember> cohortMembers = new ArrayList<CohortMember>();
+        for (int i = 0; i < memberCount; i++) {
+            Patient patient = new Patient();
+            patient.setUuid(UUID.randomUUID().toString());
+            cohortMembers.add(new CohortMember(cohort, patient));
+        }
+        cohortService.saveCohortMembers(cohortMembers);
+        assertThat(cohortService.countCohortMembers(cohort.getUuid()), equalTo(memberCount));
+        cohortService.deleteCohortMembers(cohort.getUuid());
+        assertThat(cohortService.countCohortMembers(cohort.getUuid()), equalTo(0));
+        assertThat(cohortService.getCohortMembers(cohort.getUuid()), hasSize(0));
+    }
 }
@@ -99,6 +99,36 @@ public class ConceptServiceTest {
         }
     }
 
+    /**
+     * @verifies not return cached concept changed through another service.
+     * @see ConceptService#getConceptByUuid(String)
+     */
+    @Test
+    public void getConceptByUuid_shouldNotReturnCachedConceptChangedThroughAnotherService() throws Exception {
+        ConceptService otherConceptService = context.getService(ConceptService.class);
+        conceptService.saveConcept(concept);
+        Concept cachedConcept = otherConceptService.getConceptByUuid(concept.getUuid());
+        assertThat(cachedConcept, notNullValue());
+
+        conceptService.deleteConcept(concept);
+        assertThat(otherConceptService.getConceptByUuid(concept.getUuid()), nullValue());
+    }
+
+    /**
+     * @verifies return a copy of the cached concept to every caller.
+     * @see ConceptService#getConceptByUuid(String)
+     */
+    @Test
+    public void getConceptByUuid_shouldReturnACopyOfTheCachedConceptToEveryCaller() throws Exception {
+        conceptService.saveConcept(concept);
+        Concept cachedConcept = conceptService.getConceptByUuid(concept.getUuid());
+        String unit = cachedConcept.getUnit();
+        cachedConcept.setUnit("changed by the caller");
+
+        Concept otherConcept = context.getService(ConceptService.class).getConceptByUuid(concept.getUuid());
+        assertThat(otherConcept.getUnit(), equalTo(unit));
+    }
+
     /**
      * @verifies return concept with matching uuid.
      * @see ConceptService#getConceptByUuid(String)
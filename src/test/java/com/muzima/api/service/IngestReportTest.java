@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import com.muzima.util.Constants;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class IngestReportTest {
+
+    @Test
+    public void getDocumentsPerSecond_shouldCountEveryResourceAgainstTheWallTime() throws Exception {
+        IngestReport report = new IngestReport();
+        report.record(Constants.UUID_PATIENT_RESOURCE, 5000, 400);
+        report.record(Constants.UUID_PATIENT_RESOURCE, 1000, 100);
+        report.record(Constants.LOCAL_COHORT_MEMBER_RESOURCE, 6000, 300);
+        report.setWallTime(2000);
+
+        assertThat(report.getCount(Constants.UUID_PATIENT_RESOURCE), is(6000));
+        assertThat(report.getWriteTime(Constants.UUID_PATIENT_RESOURCE), is(500L));
+        assertThat(report.getDocumentCount(), is(12000));
+        assertThat(report.getBatchCount(), is(3));
+        assertThat(report.getDocumentsPerSecond(), is(6000.0));
+    }
+
+    @Test
+    public void getDocumentsPerSecond_shouldReturnZeroWithoutWallTime() throws Exception {
+        IngestReport report = new IngestReport();
+        assertThat(report.getDocumentsPerSecond(), is(0.0));
+        assertThat(report.getCount(Constants.UUID_ENCOUNTER_RESOURCE), is(0));
+    }
+}
@@ -12,6 +12,8 @@ import com.muzima.api.context.Context;
 import com.muzima.api.context.ContextFactory;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Page;
+import com.muzima.api.model.PageCursor;
 import com.muzima.api.model.Patient;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.util.StringUtil;
@@ -21,10 +23,17 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.util.Arrays.asList;
@@ -177,6 +186,25 @@ public class PatientServiceTest {
         }
     }
 
+    /**
+     * @verifies save new patients and replace existing patients in local data repository.
+     * @see PatientService#upsertPatients(java.util.List)
+     */
+    @Test
+    public void upsertPatients_shouldSaveNewPatientsAndReplaceExistingPatientsInLocalDataRepository() throws Exception {
+        int patientCounter = patientService.countAllPatients();
+        patientService.upsertPatients(patients);
+        assertThat(patientService.countAllPatients(), equalTo(patientCounter + patients.size()));
+        for (Patient patient : patients) {
+            patient.setGender("Upserted Gender");
+        }
+        patientService.upsertPatients(patients);
+        assertThat(patientService.countAllPatients(), equalTo(patientCounter + patients.size()));
+        for (Patient patient : patients) {
+            assertThat(patientService.getPatientByUuid(patient.getUuid()).getGender(), equalTo("Upserted Gender"));
+        }
+    }
+
     /**
      * @verifies return patient with matching uuid
      * @see PatientService#getPatientByUuid(String)
@@ -251,6 +279,82 @@ public class PatientServiceTest {
         assertThat(patientService.countAllPatients(), equalTo(0));
     }
 
+    /**
+     * @verifies return every registered patient once across the pages.
+     * @see PatientService#getPatients(com.muzima.api.model.PageCursor)
+     */
+    @Test
+    public void getPatients_shouldReturnEveryRegisteredPatientOnceAcrossPages() throws Exception {
+        patientService.savePatients(patients);
+        Set<String> uuids = new HashSet<String>();
+        Page<Patient> page = patientService.getPatients(new PageCursor(2));
+        uuids.addAll(getUuids(page.getObjects()));
+        int patientCounter = page.getObjects().size();
+        while (page.hasNext()) {
+            page = patientService.getPatients(page.getNextCursor());
+            assertThat(page.getObjects().size() <= 2, is(true));
+            uuids.addAll(getUuids(page.getObjects()));
+            patientCounter = patientCounter + page.getObjects().size();
+        }
+        assertThat(patientCounter, equalTo(patientService.countAllPatients()));
+        assertThat(uuids.size(), equalTo(patientCounter));
+    }
+
+    /**
+     * @verifies return patients with uuids outside of the hexadecimal alphabet.
+     * @see PatientService#getPatients(com.muzima.api.model.PageCursor)
+     */
+    @Test
+    public void getPatients_shouldReturnPatientsWithUuidsOutsideOfTheHexadecimalAlphabet() throws Exception {
+        // more patients than a single slice holds, so the pages are read from the uuid slices.
+        List<Patient> savedPatients = new ArrayList<Patient>();
+        for (int i = 0; i < 120; i++) {
+            Patient savedPatient = copyOf(patient);
+            savedPatient.setUuid(UUID.randomUUID().toString());
+            savedPatients.add(savedPatient);
+        }
+        for (int i = 0; i < 10; i++) {
+            Patient savedPatient = copyOf(patient);
+            savedPatient.setUuid("local-patient-" + i);
+            savedPatients.add(savedPatient);
+        }
+        patientService.savePatients(savedPatients);
+
+        Set<String> uuids = new HashSet<String>();
+        int patientCounter = 0;
+        PageCursor cursor = new PageCursor(7);
+        while (cursor != null) {
+            Page<Patient> page = patientService.getPatients(cursor);
+            assertThat(page.getObjects().size() <= 7, is(true));
+            uuids.addAll(getUuids(page.getObjects()));
+            patientCounter = patientCounter + page.getObjects().size();
+            cursor = page.getNextCursor();
+        }
+        assertThat(patientCounter, equalTo(savedPatients.size()));
+        assertThat(uuids, equalTo((Set<String>) new HashSet<String>(getUuids(savedPatients))));
+    }
+
+    private static Patient copyOf(final Patient patient) throws Exception {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        ObjectOutputStream outputStream = new ObjectOutputStream(byteStream);
+        outputStream.writeObject(patient);
+        outputStream.close();
+        ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(byteStream.toByteArray()));
+        try {
+            return (Patient) inputStream.readObject();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static List<String> getUuids(final List<Patient> patients) {
+        List<String> uuids = new ArrayList<String>();
+        for (Patient patient : patients) {
+            uuids.add(patient.getUuid());
+        }
+        return uuids;
+    }
+
     /**
      * @verifies return list of all patients with matching name partially.
      * @see PatientService#getPatientsByName(String)
@@ -391,6 +495,33 @@ public class PatientServiceTest {
         assertThat(patientsNotInCohorts.size(), is(0));
     }
 
+    @Test
+    public void shouldMatchCohortMembersIgnoringTheCaseOfThePatientUuid() throws Exception {
+        Cohort cohort = new Cohort();
+        cohort.setUuid("cohortUUID");
+        cohortService.saveCohort(cohort);
+
+        patientService.savePatient(patient("uuid1"));
+        patientService.savePatient(patient("uuid2"));
+        cohortService.saveCohortMember(new CohortMember(cohort, patient("UUID1")));
+
+        List<Patient> patientsNotInCohorts = patientService.getPatientsNotInCohorts();
+        assertThat(patientsNotInCohorts.size(), is(1));
+        assertThat(patientsNotInCohorts.get(0).getUuid(), is("uuid2"));
+        assertThat(patientService.countPatientsNotInCohorts(), is(1));
+    }
+
+    @Test
+    public void shouldReturnAllPatientsNotInCohortsWithoutPage() throws Exception {
+        patientService.savePatient(patient("uuid1"));
+        patientService.savePatient(patient("uuid2"));
+
+        assertThat(patientService.getPatientsNotInCohorts(null, null).size(), is(2));
+        assertThat(patientService.getPatientsNotInCohorts(1, null).size(), is(2));
+        assertThat(patientService.getPatientsNotInCohorts(2, 1).size(), is(1));
+        assertThat(patientService.getPatientsNotInCohorts(3, 1).size(), is(0));
+    }
+
     private Patient patient(String uuid) {
         Patient patient = new Patient();
         patient.setUuid(uuid);
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.api.service;
+
+import com.muzima.api.service.SyncReport.Stage;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SyncReportTest {
+
+    @Test
+    public void getStageTime_shouldSpanFromFirstTaskStartToLastTaskEnd() throws Exception {
+        SyncReport report = new SyncReport();
+        report.record(Stage.ENCOUNTERS, 100, 150, 10);
+        report.record(Stage.ENCOUNTERS, 120, 300, 5);
+        report.record(Stage.ENCOUNTERS, 50, 200, 1);
+
+        assertThat(report.getStageTime(Stage.ENCOUNTERS), is(250L));
+        assertThat(report.getCount(Stage.ENCOUNTERS), is(16));
+    }
+
+    @Test
+    public void getStageTime_shouldReturnZeroForStageWithoutTask() throws Exception {
+        SyncReport report = new SyncReport();
+        assertThat(report.getStageTime(Stage.FORMS), is(0L));
+        assertThat(report.getCount(Stage.FORMS), is(0));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class HttpCacheTest {
+
+    private File directory;
+
+    private HttpCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("http-cache", "");
+        directory.delete();
+        cache = new HttpCache(directory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+        directory.delete();
+    }
+
+    @Test
+    public void get_shouldReturnTheResponseWithItsValidators() throws Exception {
+        byte[] body = "{\"uuid\":\"form-uuid\"}".getBytes("UTF-8");
+        cache.put("admin@http://localhost/ws/rest/v1/form", new HttpCache.Entry("\"etag\"", null, body));
+
+        HttpCache.Entry entry = cache.get("admin@http://localhost/ws/rest/v1/form");
+        assertThat(entry.getEtag(), is("\"etag\""));
+        assertThat(entry.getLastModified(), nullValue());
+        assertThat(entry.getBody(), is(body));
+        assertThat(cache.get("other@http://localhost/ws/rest/v1/form"), nullValue());
+    }
+
+    @Test
+    public void get_shouldReturnNullForRemovedOrBrokenResponse() throws Exception {
+        String key = "admin@http://localhost/ws/rest/v1/location";
+        cache.put(key, new HttpCache.Entry(null, "Wed, 01 Jan 2014 00:00:00 GMT", new byte[10]));
+        cache.remove(key);
+        assertThat(cache.get(key), nullValue());
+
+        cache.put(key, new HttpCache.Entry(null, "Wed, 01 Jan 2014 00:00:00 GMT", new byte[10]));
+        File[] files = directory.listFiles();
+        FileOutputStream outputStream = new FileOutputStream(files[0]);
+        outputStream.write(new byte[]{0, 1});
+        outputStream.close();
+        assertThat(cache.get(key), nullValue());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class HttpUtilsTest {
+
+    private static final byte[] CONTENT = createContent();
+
+    private HttpServer server;
+
+    private URL url;
+
+    private byte[] receivedContent;
+
+    @Before
+    public void setUp() throws Exception {
+        // echo the request body, gzipped when the client accepts gzip.
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                InputStream inputStream = exchange.getRequestBody();
+                if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                    inputStream = new GZIPInputStream(inputStream);
+                }
+                receivedContent = readFully(inputStream);
+                boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+                if (gzip) {
+                    exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                }
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream outputStream = exchange.getResponseBody();
+                if (gzip) {
+                    outputStream = new GZIPOutputStream(outputStream);
+                }
+                outputStream.write(receivedContent);
+                outputStream.close();
+            }
+        });
+        server.start();
+        url = new URL("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void openOutputStream_shouldCompressGzippedRequest() throws Exception {
+        TransferStatistics statistics = new TransferStatistics();
+        HttpURLConnection connection = createConnection();
+        OutputStream outputStream = HttpUtils.openOutputStream(connection, true, statistics);
+        outputStream.write(CONTENT);
+        outputStream.close();
+        readFully(HttpUtils.openInputStream(connection, statistics));
+
+        assertThat(Arrays.equals(receivedContent, CONTENT), is(true));
+        assertThat(statistics.getSentContentBytes(), is((long) CONTENT.length));
+        assertThat(statistics.getSentWireBytes(), lessThan(statistics.getSentContentBytes()));
+    }
+
+    @Test
+    public void openInputStream_shouldDecompressGzippedResponse() throws Exception {
+        TransferStatistics statistics = new TransferStatistics();
+        HttpURLConnection connection = createConnection();
+        HttpUtils.acceptGzip(connection);
+        OutputStream outputStream = HttpUtils.openOutputStream(connection, false, statistics);
+        outputStream.write(CONTENT);
+        outputStream.close();
+        byte[] response = readFully(HttpUtils.openInputStream(connection, statistics));
+
+        assertThat(Arrays.equals(response, CONTENT), is(true));
+        assertThat(statistics.getRequestCount(), is(1L));
+        assertThat(statistics.getSentWireBytes(), is((long) CONTENT.length));
+        assertThat(statistics.getReceivedContentBytes(), is((long) CONTENT.length));
+        assertThat(statistics.getReceivedWireBytes(), lessThan(statistics.getReceivedContentBytes()));
+    }
+
+    private HttpURLConnection createConnection() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        return connection;
+    }
+
+    private static byte[] readFully(final InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        try {
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        } finally {
+            inputStream.close();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] createContent() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("{\"uuid\":\"obs-").append(i).append("\",\"valueNumeric\":").append(i).append("}");
+        }
+        return builder.toString().getBytes();
+    }
+}
@@ -8,9 +8,12 @@
 
 package com.muzima.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.minidev.json.JSONObject;
 import org.junit.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -52,4 +55,26 @@ public class JsonUtilsTest {
         Date actualDate = JsonUtils.readAsDate(serialized, "$['birthdate']");
         assertThat(actualDate, nullValue());
     }
+
+    @Test
+    public void shouldWriteAsStringFromReader() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            builder.append('x');
+        }
+        // surrogate pair across the chunk boundary and characters needing escape.
+        builder.append("\uD83D\uDE00 \"quoted\" back\\slash\nnew line");
+        String value = builder.toString();
+
+        StringWriter writer = new StringWriter();
+        JsonGenerator generator = JsonUtils.createGenerator(writer);
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "payload", new StringReader(value));
+        JsonUtils.writeAsString(generator, "discriminator", "json-encounter");
+        generator.writeEndObject();
+        generator.close();
+
+        assertThat(JsonUtils.readAsString(writer.toString(), "$['payload']"), is(value));
+        assertThat(JsonUtils.readAsString(writer.toString(), "$['discriminator']"), is("json-encounter"));
+    }
 }
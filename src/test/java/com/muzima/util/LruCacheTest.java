@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LruCacheTest {
+
+    @Test
+    public void get_shouldCountHitsAndMisses() {
+        LruCache<String, String> cache = new LruCache<String, String>(2);
+        cache.put("a", "A", cache.getModificationCount());
+        assertThat(cache.get("a"), is("A"));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsedEntry() {
+        LruCache<String, String> cache = new LruCache<String, String>(2);
+        cache.put("a", "A", cache.getModificationCount());
+        cache.put("b", "B", cache.getModificationCount());
+        cache.get("a");
+        cache.put("c", "C", cache.getModificationCount());
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a"), is("A"));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("c"), is("C"));
+    }
+
+    @Test
+    public void put_shouldIgnoreValueLoadedBeforeInvalidation() {
+        LruCache<String, String> cache = new LruCache<String, String>(2);
+        long modificationCount = cache.getModificationCount();
+        cache.remove("a");
+        assertThat(cache.put("a", "stale", modificationCount), is(false));
+        assertThat(cache.get("a"), nullValue());
+    }
+
+    @Test
+    public void clear_shouldRemoveEveryEntry() {
+        LruCache<String, String> cache = new LruCache<String, String>(2);
+        cache.put("a", "A", cache.getModificationCount());
+        cache.clear();
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    @Test
+    public void execute_shouldShareCallRunningForTheSameKey() throws Exception {
+        final SingleFlight<String, Integer> singleFlight = new SingleFlight<String, Integer>();
+        final AtomicInteger callCount = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Integer> call = new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                started.countDown();
+                release.await();
+                return callCount.incrementAndGet();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            futures.add(executor.submit(createCaller(singleFlight, call)));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(createCaller(singleFlight, call)));
+            }
+            // wait for the other callers to join the running call before letting it complete.
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (singleFlight.getCoalescedCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<Integer> future : futures) {
+                assertThat(future.get(), is(1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(callCount.get(), is(1));
+        assertThat(singleFlight.getExecutionCount(), is(1L));
+        assertThat(singleFlight.getCoalescedCount(), is(3L));
+    }
+
+    @Test
+    public void execute_shouldRunNewCallAfterPreviousCallCompleted() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<String, Integer>();
+        final AtomicInteger callCount = new AtomicInteger();
+        Callable<Integer> call = new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return callCount.incrementAndGet();
+            }
+        };
+        assertThat(singleFlight.execute("key", call), is(1));
+        assertThat(singleFlight.execute("key", call), is(2));
+        assertThat(singleFlight.getCoalescedCount(), is(0L));
+    }
+
+    @Test
+    public void execute_shouldRethrowIOExceptionOfTheCall() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<String, Integer>();
+        try {
+            singleFlight.execute("key", new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    throw new IOException("Unable to connect");
+                }
+            });
+            fail("Expecting the exception of the call.");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("Unable to connect"));
+        }
+    }
+
+    private static Callable<Integer> createCaller(final SingleFlight<String, Integer> singleFlight,
+                                                  final Callable<Integer> call) {
+        return new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return singleFlight.execute("key", call);
+            }
+        };
+    }
+}
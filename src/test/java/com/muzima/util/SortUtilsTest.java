@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+package com.muzima.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SortUtilsTest {
+
+    private static final SortUtils.SortKey<String> LOWER_CASE = new SortUtils.SortKey<String>() {
+        @Override
+        public String getSortKey(final String object) {
+            return object.toLowerCase();
+        }
+    };
+
+    @Test
+    public void sortAscending_shouldSortOnTheSortKey() {
+        List<String> names = new ArrayList<String>(Arrays.asList("charlie", "Bravo", "alpha"));
+        List<String> sorted = SortUtils.sortAscending(names, LOWER_CASE);
+        assertThat(sorted, is(Arrays.asList("alpha", "Bravo", "charlie")));
+    }
+
+    @Test
+    public void sortAscending_shouldKeepTheOrderOfObjectsWithTheSameSortKey() {
+        List<String> names = new ArrayList<String>(Arrays.asList("b", "A", "B", "a"));
+        List<String> sorted = SortUtils.sortAscending(names, LOWER_CASE);
+        assertThat(sorted, is(Arrays.asList("A", "a", "b", "B")));
+    }
+}